@@ -0,0 +1,106 @@
+package nl.tudelft.jpacman.group25.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.group25.level.DrivenLevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+/**
+ * Shared inputs of the benchmarks.
+ * Levels are created without NPC timers, so benchmarks measure
+ * the game logic rather than executor overhead.
+ */
+final class BenchmarkFixtures {
+	private static final PacManSprites SPRITES = new PacManSprites();
+	private static final int PELLET_VALUE = 10;
+	private static final int PILLAR_SPACING = 4;
+	private static final int CELLS_PER_GHOST = 1000;
+
+	/**
+	 * Private constructor of this utility class.
+	 */
+	private BenchmarkFixtures() { }
+
+	/**
+	 * @return A parser that creates driven levels.
+	 */
+	static MapParser parser() {
+		GhostFactory ghosts = new GhostFactory(SPRITES);
+		return new MapParser(new DrivenLevelFactory(SPRITES, ghosts), new BoardFactory(SPRITES));
+	}
+
+	/**
+	 * @return A new player.
+	 */
+	static Player player() {
+		return new PlayerFactory(SPRITES).createPacMan();
+	}
+
+	/**
+	 * @return A new pellet that is not on a board.
+	 */
+	static Pellet pellet() {
+		return new Pellet(PELLET_VALUE, SPRITES.getPelletSprite());
+	}
+
+	/**
+	 * Creates a square board surrounded by walls and filled with pellets,
+	 * with a pillar every few squares. The player starts in the top left
+	 * corner, the first ghost in the bottom right corner.
+	 * @param size	the width and height of the board, at least 4
+	 * @return The rows of the board.
+	 */
+	static List<String> syntheticMap(int size) {
+		assert size >= PILLAR_SPACING;
+		List<String> rows = new ArrayList<>(size);
+		int ghosts = Math.max(1, size * size / CELLS_PER_GHOST);
+		for (int y = 0; y < size; y++) {
+			StringBuilder row = new StringBuilder(size);
+			for (int x = 0; x < size; x++) {
+				row.append(cell(size, x, y));
+			}
+			rows.add(row.toString());
+		}
+		placeGhosts(rows, size, ghosts);
+		return rows;
+	}
+
+	/**
+	 * @param size	the width and height of the board
+	 * @param x		the x coordinate
+	 * @param y		the y coordinate
+	 * @return The map character of the cell.
+	 */
+	private static char cell(int size, int x, int y) {
+		boolean border = x == 0 || y == 0 || x == size - 1 || y == size - 1;
+		boolean pillar = x % PILLAR_SPACING == 2 && y % PILLAR_SPACING == 2;
+		if (border || pillar) {
+			return '#';
+		}
+		if (x == 1 && y == 1) {
+			return 'P';
+		}
+		return '.';
+	}
+
+	/**
+	 * Places ghosts along the bottom corridor, starting in the bottom right corner.
+	 * @param rows		the rows of the board
+	 * @param size		the width and height of the board
+	 * @param ghosts	the number of ghosts to place
+	 */
+	private static void placeGhosts(List<String> rows, int size, int ghosts) {
+		StringBuilder bottom = new StringBuilder(rows.get(size - 2));
+		for (int i = 0; i < ghosts && i < size - 2; i++) {
+			bottom.setCharAt(size - 2 - i, 'G');
+		}
+		rows.set(size - 2, bottom.toString());
+	}
+}
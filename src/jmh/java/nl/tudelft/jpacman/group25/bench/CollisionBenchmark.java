@@ -0,0 +1,88 @@
+package nl.tudelft.jpacman.group25.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.group25.level.DrivenLevel;
+import nl.tudelft.jpacman.level.CollisionMap;
+import nl.tudelft.jpacman.level.DefaultPlayerInteractionMap;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PlayerCollisions;
+import nl.tudelft.jpacman.npc.NPC;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the dispatch of the collision maps for the unit pairs of a game.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CollisionBenchmark {
+	private static final int BOARD_SIZE = 10;
+
+	/**
+	 * The collision map under test.
+	 */
+	@Param({"PlayerCollisions", "DefaultPlayerInteractionMap"})
+	public String map;
+
+	private CollisionMap collisions;
+	private Player player;
+	private NPC ghost;
+	private Pellet pellet;
+
+	/**
+	 * Creates the collision map and one unit of every kind.
+	 */
+	@Setup
+	public void setUp() {
+		if ("PlayerCollisions".equals(map)) {
+			collisions = new PlayerCollisions();
+		} else {
+			collisions = new DefaultPlayerInteractionMap();
+		}
+		DrivenLevel level = (DrivenLevel) BenchmarkFixtures.parser()
+				.parseMap(BenchmarkFixtures.syntheticMap(BOARD_SIZE));
+		ghost = level.getNpcs().get(0);
+		player = BenchmarkFixtures.player();
+		pellet = BenchmarkFixtures.pellet();
+	}
+
+	/**
+	 * A player runs into a ghost.
+	 */
+	@Benchmark
+	public void playerOnGhost() {
+		collisions.collide(player, ghost);
+	}
+
+	/**
+	 * A player eats a pellet that is not on the board.
+	 */
+	@Benchmark
+	public void playerOnPellet() {
+		collisions.collide(player, pellet);
+	}
+
+	/**
+	 * A ghost passes a pellet, which does nothing.
+	 */
+	@Benchmark
+	public void ghostOnPellet() {
+		collisions.collide(ghost, pellet);
+	}
+}
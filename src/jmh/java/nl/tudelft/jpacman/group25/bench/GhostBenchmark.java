@@ -0,0 +1,59 @@
+package nl.tudelft.jpacman.group25.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.group25.level.DrivenLevel;
+import nl.tudelft.jpacman.npc.NPC;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the AI of a ghost in the far corner of the board from the player,
+ * so its path finding has to cross the whole board.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GhostBenchmark {
+
+	/**
+	 * The width and height of the synthetic board.
+	 */
+	@Param({"10", "100", "1000", "2000"})
+	public int size;
+
+	private NPC ghost;
+
+	/**
+	 * Creates a level with a registered player and picks its first ghost.
+	 */
+	@Setup
+	public void setUp() {
+		DrivenLevel level = (DrivenLevel) BenchmarkFixtures.parser()
+				.parseMap(BenchmarkFixtures.syntheticMap(size));
+		level.registerPlayer(BenchmarkFixtures.player());
+		ghost = level.getNpcs().get(0);
+	}
+
+	/**
+	 * @return The move the ghost decides on.
+	 */
+	@Benchmark
+	public Direction nextMove() {
+		return ghost.nextMove();
+	}
+}
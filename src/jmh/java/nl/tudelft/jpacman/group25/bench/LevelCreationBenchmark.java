@@ -0,0 +1,79 @@
+package nl.tudelft.jpacman.group25.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.group25.board.CompactBoardFactory;
+import nl.tudelft.jpacman.group25.level.DrivenLevel;
+import nl.tudelft.jpacman.group25.level.DrivenLevelFactory;
+import nl.tudelft.jpacman.group25.level.UnitPools;
+import nl.tudelft.jpacman.group25.npc.ghost.CustomGhostFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures creating and discarding a level on a compact board, with and
+ * without reusing its pellets and ghosts. Run it with <code>-prof gc</code>
+ * to compare the bytes allocated per level.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LevelCreationBenchmark {
+
+	/**
+	 * The width and height of the synthetic board.
+	 */
+	@Param({"100", "1000"})
+	public int size;
+
+	/**
+	 * Whether units are taken from and given back to pools.
+	 */
+	@Param({"false", "true"})
+	public boolean pooled;
+
+	private MapParser parser;
+	private List<String> map;
+
+	/**
+	 * Creates the parser and the synthetic board.
+	 */
+	@Setup
+	public void setUp() {
+		PacManSprites sprites = new PacManSprites();
+		UnitPools pools = null;
+		if (pooled) {
+			pools = new UnitPools();
+		}
+		CustomGhostFactory ghosts = new CustomGhostFactory(sprites, true, pools);
+		parser = new MapParser(new DrivenLevelFactory(sprites, ghosts, null, pools),
+				new CompactBoardFactory(sprites));
+		map = BenchmarkFixtures.syntheticMap(size);
+	}
+
+	/**
+	 * @return The created level, recycled when units are pooled.
+	 */
+	@Benchmark
+	public DrivenLevel createAndDiscard() {
+		DrivenLevel level = (DrivenLevel) parser.parseMap(map);
+		level.recycle();
+		return level;
+	}
+}
@@ -0,0 +1,66 @@
+package nl.tudelft.jpacman.group25.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Player;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Level#move} of a player walking back and forth,
+ * including the win and loss checks that follow every move.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LevelMoveBenchmark {
+
+	/**
+	 * The width and height of the synthetic board.
+	 */
+	@Param({"10", "100", "1000", "2000"})
+	public int size;
+
+	private Level level;
+	private Player player;
+	private boolean east;
+
+	/**
+	 * Creates a started level with a registered player.
+	 */
+	@Setup
+	public void setUp() {
+		level = BenchmarkFixtures.parser().parseMap(BenchmarkFixtures.syntheticMap(size));
+		player = BenchmarkFixtures.player();
+		level.registerPlayer(player);
+		level.start();
+	}
+
+	/**
+	 * Moves the player one square, alternating between east and west.
+	 */
+	@Benchmark
+	public void move() {
+		east = !east;
+		if (east) {
+			level.move(player, Direction.EAST);
+		} else {
+			level.move(player, Direction.WEST);
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package nl.tudelft.jpacman.group25.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.MapParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link MapParser#parseMap(List)} on synthetic boards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MapParserBenchmark {
+
+	/**
+	 * The width and height of the synthetic board.
+	 */
+	@Param({"10", "100", "1000", "2000"})
+	public int size;
+
+	private MapParser parser;
+	private List<String> map;
+
+	/**
+	 * Creates the parser and the synthetic board.
+	 */
+	@Setup
+	public void setUp() {
+		parser = BenchmarkFixtures.parser();
+		map = BenchmarkFixtures.syntheticMap(size);
+	}
+
+	/**
+	 * @return The parsed level.
+	 */
+	@Benchmark
+	public Level parseSynthetic() {
+		return parser.parseMap(map);
+	}
+}
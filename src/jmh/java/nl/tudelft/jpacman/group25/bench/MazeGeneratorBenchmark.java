@@ -0,0 +1,83 @@
+package nl.tudelft.jpacman.group25.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.group25.board.CompactBoardFactory;
+import nl.tudelft.jpacman.group25.level.DrivenLevelFactory;
+import nl.tudelft.jpacman.group25.level.LevelAssembler;
+import nl.tudelft.jpacman.group25.level.MazeGenerator;
+import nl.tudelft.jpacman.group25.npc.ghost.CustomGhostFactory;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building a level from a generated maze directly, against
+ * rendering the same maze to text and parsing the text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MazeGeneratorBenchmark {
+
+	/**
+	 * The width and height of the maze.
+	 */
+	@Param({"100", "1000"})
+	public int size;
+
+	private LevelAssembler assembler;
+	private MazeGenerator maze;
+
+	/**
+	 * Creates the assembler and the maze.
+	 */
+	@Setup
+	public void setUp() {
+		PacManSprites sprites = new PacManSprites();
+		CustomGhostFactory ghosts = new CustomGhostFactory(sprites, true);
+		assembler = new LevelAssembler(new DrivenLevelFactory(sprites, ghosts),
+				new CompactBoardFactory(sprites), ghosts);
+		maze = new MazeGenerator(size, size, 1L);
+	}
+
+	/**
+	 * @return A level built from the maze without text.
+	 */
+	@Benchmark
+	public Level generate() {
+		return maze.load(assembler);
+	}
+
+	/**
+	 * @return A level parsed from the maze rendered as text.
+	 */
+	@Benchmark
+	public Level renderAndParse() {
+		List<String> rows = new ArrayList<String>(size);
+		char[] row = new char[size];
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				row[x] = maze.charAt(x, y);
+			}
+			rows.add(new String(row));
+		}
+		return assembler.parseMap(rows);
+	}
+}
@@ -0,0 +1,72 @@
+package nl.tudelft.jpacman.group25.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.Launcher;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.MapParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link MapParser#parseMap(InputStream)} on the maps shipped as resources.
+ * The resource is read once, so the benchmark excludes class path lookups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ResourceMapBenchmark {
+	private static final int BUFFER_SIZE = 4096;
+
+	/**
+	 * The resource holding the map.
+	 */
+	@Param({"/simplemap.txt", "/simpleghostmap.txt", "/simplemapwithghost.txt"})
+	public String resource;
+
+	private MapParser parser;
+	private byte[] map;
+
+	/**
+	 * Creates the parser and reads the map.
+	 * @throws IOException when the resource cannot be read.
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		parser = BenchmarkFixtures.parser();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (InputStream in = Launcher.class.getResourceAsStream(resource)) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+				bytes.write(buffer, 0, read);
+			}
+		}
+		map = bytes.toByteArray();
+	}
+
+	/**
+	 * @return The parsed level.
+	 * @throws IOException never, the map is read from memory.
+	 */
+	@Benchmark
+	public Level parseResource() throws IOException {
+		return parser.parseMap(new ByteArrayInputStream(map));
+	}
+}
@@ -0,0 +1,34 @@
+package nl.tudelft.jpacman.group25;
+
+import nl.tudelft.jpacman.group25.ui.DirtyRegionUi;
+
+/**
+ * Launcher for multi-level games on a window that only repaints the squares
+ * that changed. The ghosts are moved by the shared NPC scheduler, whose
+ * levels report every move to the window.
+ */
+public class DirtyRegionLauncher extends ScheduledMultiLevelLauncher {
+	private DirtyRegionUi ui;
+
+	/**
+	 * This method is used to start the launcher as standalone java application.
+	 */
+	public static void main() {
+		(new DirtyRegionLauncher()).launch();
+	}
+
+	@Override
+	public void launch() {
+		makeGame();
+		ui = new DirtyRegionUi(getGame());
+		ui.start();
+	}
+
+	@Override
+	public void dispose() {
+		getGame().stop();
+		if (ui != null) {
+			ui.stop();
+		}
+	}
+}
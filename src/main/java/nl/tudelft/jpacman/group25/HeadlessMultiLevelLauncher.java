@@ -0,0 +1,71 @@
+package nl.tudelft.jpacman.group25;
+
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.group25.board.CompactBoardFactory;
+import nl.tudelft.jpacman.group25.level.DrivenLevelFactory;
+import nl.tudelft.jpacman.group25.level.MapSource;
+import nl.tudelft.jpacman.group25.level.UnitPools;
+import nl.tudelft.jpacman.group25.npc.ghost.CustomGhostFactory;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+
+/**
+ * Launcher for multi-level games that are played by a
+ * {@link nl.tudelft.jpacman.group25.game.SimulationEngine} instead of a user.
+ * The levels of its games do not move their NPCs by themselves,
+ * their Blinkies chase the player along precomputed routes and their
+ * boards are compact. The pellets and Blinkies of recycled levels are
+ * reused by the levels of all headless launchers.
+ */
+public class HeadlessMultiLevelLauncher extends MultiLevelLauncher {
+	private static final UnitPools POOLS = new UnitPools();
+
+	/**
+	 * Creates a launcher whose levels are made of the {@link #DEFAULT_MAP}.
+	 */
+	public HeadlessMultiLevelLauncher() {
+		super();
+	}
+
+	/**
+	 * Creates a launcher whose levels are all made of the same map.
+	 * @param map	the map of the levels
+	 */
+	public HeadlessMultiLevelLauncher(MapSource map) {
+		super(map);
+	}
+
+	/**
+	 * Creates a launcher whose games play the levels of a campaign.
+	 * @param campaign	the maps of the levels in order, may be endless
+	 */
+	public HeadlessMultiLevelLauncher(Iterable<? extends MapSource> campaign) {
+		super(campaign);
+	}
+
+	/**
+	 * @return A level factory that creates levels without NPC timers,
+	 * 			reusing pellets.
+	 */
+	@Override
+	protected LevelFactory getLevelFactory() {
+		return new DrivenLevelFactory(getSpriteStore(), getGhostFactory(), null, POOLS);
+	}
+
+	/**
+	 * @return A board factory that shares walls and packs pellets.
+	 */
+	@Override
+	protected BoardFactory getBoardFactory() {
+		return new CompactBoardFactory(getSpriteStore());
+	}
+
+	/**
+	 * @return A ghost factory whose Blinkies use the routes of their level,
+	 * 			reusing Blinkies.
+	 */
+	@Override
+	protected GhostFactory getGhostFactory() {
+		return new CustomGhostFactory(getSpriteStore(), true, POOLS);
+	}
+}
@@ -1,23 +1,78 @@
 package nl.tudelft.jpacman.group25;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 
 import nl.tudelft.jpacman.Launcher;
+import nl.tudelft.jpacman.PacmanConfigurationException;
 import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.group25.game.LevelSupplier;
 import nl.tudelft.jpacman.group25.game.MultiLevelGame;
+import nl.tudelft.jpacman.group25.level.GridMapSource;
+import nl.tudelft.jpacman.group25.level.LevelAssembler;
+import nl.tudelft.jpacman.group25.level.LevelTemplateCache;
+import nl.tudelft.jpacman.group25.level.MapSequence;
+import nl.tudelft.jpacman.group25.level.MapSource;
 import nl.tudelft.jpacman.level.Level;
-import nl.tudelft.jpacman.level.MapParser;
 import nl.tudelft.jpacman.level.PlayerFactory;
 
 /**
  * This is a basic launcher for the multi-level game.
- * The multi-level game allows up to 3 consecutive games to be played.
+ * The multi-level game plays the levels of a campaign of maps one after
+ * the other, by default 3 levels of the same map. Campaigns are read lazily,
+ * so they may be endless, see {@link MapSequence}.
  * @author gerlof
  */
 public class MultiLevelLauncher extends Launcher {
+	/**
+	 * The map every level is made of, unless another map is given.
+	 */
+	public static final MapSource DEFAULT_MAP = new GridMapSource(
+			"#####",
+			"#GP.#",
+			"#####");
+
+	/**
+	 * The number of levels of a game of a single map.
+	 */
+	public static final int LEVELS = 3;
+
+	/**
+	 * The layouts of the maps loaded by all launchers.
+	 */
+	static final LevelTemplateCache TEMPLATES = new LevelTemplateCache();
+
+	private static final Object CREATION_LOCK = new Object();
+
+	private final Iterable<? extends MapSource> campaign;
 	private MultiLevelGame multiGame;
 	private PlayerFactory playerFactory;
 
+	/**
+	 * Creates a launcher whose levels are made of the {@link #DEFAULT_MAP}.
+	 */
+	public MultiLevelLauncher() {
+		this(DEFAULT_MAP);
+	}
+
+	/**
+	 * Creates a launcher whose levels are all made of the same map.
+	 * @param map	the map of the levels
+	 */
+	public MultiLevelLauncher(MapSource map) {
+		this(Collections.nCopies(LEVELS, map));
+		assert map != null;
+	}
+
+	/**
+	 * Creates a launcher whose games play the levels of a campaign.
+	 * @param campaign	the maps of the levels in order, may be endless
+	 */
+	public MultiLevelLauncher(Iterable<? extends MapSource> campaign) {
+		assert campaign != null;
+		this.campaign = campaign;
+	}
+
 	/**
 	 * This method is used to start the launcher as standalone java application.
 	 */
@@ -25,16 +80,32 @@ public class MultiLevelLauncher extends Launcher {
 		(new MultiLevelLauncher()).launch();
 	}
 	
+	/**
+	 * Creates a game. Games and their levels are created under a lock shared
+	 * by all launchers, as the sprite store they share is not thread safe;
+	 * this includes the levels built in the background while a game is played.
+	 * 
+	 * @return A new multi-level game.
+	 */
 	@Override
 	public Game makeGame() {
-		Level[] level = new Level[10];
-		for (int i = 0; i < 3; i++) {
-			level[i] = makeLevel();
+		synchronized (CREATION_LOCK) {
+			playerFactory = super.getPlayerFactory();
+			final MapSequence maps = new MapSequence(campaign);
+			multiGame = new MultiLevelGame(playerFactory.createPacMan(), new LevelSupplier() {
+				@Override
+				public Level createLevel(int index) {
+					MapSource map = maps.get(index);
+					if (map == null) {
+						return null;
+					}
+					synchronized (CREATION_LOCK) {
+						return makeLevel(map);
+					}
+				}
+			});
+			return multiGame;
 		}
-		
-		playerFactory = super.getPlayerFactory();
-		multiGame = new MultiLevelGame(playerFactory.createPacMan(), level);
-		return multiGame;
 	}
 	
 	@Override
@@ -43,18 +114,36 @@ public class MultiLevelLauncher extends Launcher {
 	}
 	
 	/**
-	 * Creates a new level. By default this method will use the map parser to
-	 * parse the default board stored in the <code>board.txt</code> resource.
+	 * Creates a new level from the first map of this launcher.
 	 * 
 	 * @return A new level.
 	 */
 	@Override
 	public Level makeLevel() {
-		MapParser parser = getMapParser();
-		ArrayList<String> grid = new ArrayList<String>();
-		grid.add("#####");
-		grid.add("#GP.#");
-		grid.add("#####");
-		return parser.parseMap(grid);
+		Iterator<? extends MapSource> maps = campaign.iterator();
+		if (!maps.hasNext()) {
+			throw new PacmanConfigurationException("The campaign has no maps.");
+		}
+		return makeLevel(maps.next());
+	}
+
+	/**
+	 * Creates a new level from a map. Recently used maps are only read once,
+	 * later levels copy their remembered layout.
+	 * 
+	 * @param map	the map of the level
+	 * @return A new level.
+	 */
+	protected Level makeLevel(MapSource map) {
+		LevelAssembler assembler = new LevelAssembler(getLevelFactory(),
+				getBoardFactory(), getGhostFactory());
+		return getTemplateCache().load(map, assembler);
+	}
+
+	/**
+	 * @return The cache holding the layouts of the maps of the levels.
+	 */
+	protected LevelTemplateCache getTemplateCache() {
+		return TEMPLATES;
 	}
 }
@@ -0,0 +1,72 @@
+package nl.tudelft.jpacman.group25;
+
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.group25.board.CompactBoardFactory;
+import nl.tudelft.jpacman.group25.level.DrivenLevelFactory;
+import nl.tudelft.jpacman.group25.level.MapSource;
+import nl.tudelft.jpacman.group25.level.NpcScheduler;
+import nl.tudelft.jpacman.group25.level.SharedNpcScheduler;
+import nl.tudelft.jpacman.group25.sprite.AtlasSprites;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+/**
+ * Launcher for multi-level games whose ghosts are moved by a scheduler
+ * shared with other games, rather than by thread pools of their own.
+ * Many games can be hosted in one process this way.
+ * Its sprites come from the {@link AtlasSprites#shared()} store.
+ */
+public class ScheduledMultiLevelLauncher extends MultiLevelLauncher {
+	private final NpcScheduler scheduler;
+
+	/**
+	 * Creates a launcher whose levels are made of the {@link #DEFAULT_MAP}
+	 * and use the {@link SharedNpcScheduler#shared()} scheduler.
+	 */
+	public ScheduledMultiLevelLauncher() {
+		this(DEFAULT_MAP, SharedNpcScheduler.shared());
+	}
+
+	/**
+	 * Creates a launcher whose levels are all made of the same map.
+	 * @param map		the map of the levels
+	 * @param scheduler	the scheduler moving the NPCs of the levels
+	 */
+	public ScheduledMultiLevelLauncher(MapSource map, NpcScheduler scheduler) {
+		super(map);
+		assert scheduler != null;
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * This method is used to start the launcher as standalone java application.
+	 */
+	public static void main() {
+		(new ScheduledMultiLevelLauncher()).launch();
+	}
+
+	/**
+	 * @return The sprite store shared by the process, whose sprites are packed
+	 * 			into one atlas and drawn without scaling them every frame.
+	 */
+	@Override
+	public PacManSprites getSpriteStore() {
+		return AtlasSprites.shared();
+	}
+
+	/**
+	 * @return A level factory whose levels are moved by the scheduler of this launcher.
+	 */
+	@Override
+	protected LevelFactory getLevelFactory() {
+		return new DrivenLevelFactory(getSpriteStore(), getGhostFactory(), scheduler);
+	}
+
+	/**
+	 * @return A board factory that shares walls and packs pellets.
+	 */
+	@Override
+	protected BoardFactory getBoardFactory() {
+		return new CompactBoardFactory(getSpriteStore());
+	}
+}
@@ -1,13 +1,11 @@
 package nl.tudelft.jpacman.group25;
 
-import java.io.IOException;
-
 import nl.tudelft.jpacman.Launcher;
-import nl.tudelft.jpacman.PacmanConfigurationException;
 import nl.tudelft.jpacman.group25.npc.ghost.CustomGhostFactory;
+import nl.tudelft.jpacman.group25.sprite.AtlasSprites;
 import nl.tudelft.jpacman.level.Level;
-import nl.tudelft.jpacman.level.MapParser;
 import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
 
 /**
  * Extend the JPacman framework by subclassing relevant classes.
@@ -27,28 +25,32 @@ public class SimpleGhostMap extends Launcher {
 	}
 	
 	/**
-	 * Creates a new level. By default this method will use the map parser to
-	 * parse the default board stored in the <code>board.txt</code> resource.
+	 * Creates a new level of the map in the <code>simpleghostmap.txt</code> resource.
+	 * The map is only parsed on its first start in a process, later levels
+	 * are built from its remembered layout.
 	 * 
 	 * @return A new level.
 	 */
 	@Override
 	public Level makeLevel() {
-		MapParser parser = getMapParser();
-		try {
-			return parser.parseMap(Launcher.class
-					.getResourceAsStream("/simpleghostmap.txt"));
-		} catch (IOException e) {
-			throw new PacmanConfigurationException("Unable to create level.", e);
-		}
+		return SimpleMaps.load("/simpleghostmap.txt", getLevelFactory(), getBoardFactory(),
+				getGhostFactory());
 	}
 	
 	/**
-	 * @return A new factory using the sprites from {@link #getSpriteStore()}.
+	 * @return The sprite store shared by the process, see {@link AtlasSprites#shared()}.
+	 */
+	@Override
+	public PacManSprites getSpriteStore() {
+		return AtlasSprites.shared();
+	}
+
+	/**
+	 * @return A new factory whose ghosts animate from the shared sprite atlas.
 	 */
 	@Override
 	protected GhostFactory getGhostFactory() {
-		factory = new CustomGhostFactory(getSpriteStore());
+		factory = new CustomGhostFactory();
 		return factory;
 	}
 	
@@ -1,11 +1,7 @@
 package nl.tudelft.jpacman.group25;
 
-import java.io.IOException;
-
 import nl.tudelft.jpacman.Launcher;
-import nl.tudelft.jpacman.PacmanConfigurationException;
 import nl.tudelft.jpacman.level.Level;
-import nl.tudelft.jpacman.level.MapParser;
 
 /**
  * Extend the JPacman framework by subclassing relevant classes.
@@ -24,18 +20,14 @@ public class SimpleMap extends Launcher {
 	}
 	
 	/**
-	 * Creates a new level. By default this method will use the map parser to
-	 * parse the default board stored in the <code>board.txt</code> resource.
+	 * Creates a new level of the map in the <code>simplemap.txt</code> resource.
+	 * The map is only parsed on its first start in a process, later levels
+	 * are built from its remembered layout.
 	 * 
 	 * @return A new level.
 	 */
 	public Level makeLevel() {
-		MapParser parser = getMapParser();
-		try {
-			return parser.parseMap(Launcher.class
-					.getResourceAsStream("/simplemap.txt"));
-		} catch (IOException e) {
-			throw new PacmanConfigurationException("Unable to create level.", e);
-		}
+		return SimpleMaps.load("/simplemap.txt", getLevelFactory(), getBoardFactory(),
+				getGhostFactory());
 	}
 }
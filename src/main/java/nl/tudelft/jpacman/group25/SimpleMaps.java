@@ -0,0 +1,35 @@
+package nl.tudelft.jpacman.group25;
+
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.group25.level.LevelAssembler;
+import nl.tudelft.jpacman.group25.level.ResourceMapSource;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+
+/**
+ * Loads the maps of the simple launchers through the template cache shared by
+ * all launchers, so every map is parsed once per process and later starts
+ * build their level from its remembered layout.
+ */
+final class SimpleMaps {
+
+	/**
+	 * Private constructor of this utility class.
+	 */
+	private SimpleMaps() { }
+
+	/**
+	 * Creates a new level of a map resource.
+	 * @param resource		the absolute name of the resource holding the map
+	 * @param levelFactory	the factory providing pellets and the level
+	 * @param boardFactory	the factory providing squares and the board
+	 * @param ghostFactory	the factory providing ghosts
+	 * @return The new level.
+	 */
+	static Level load(String resource, LevelFactory levelFactory,
+			BoardFactory boardFactory, GhostFactory ghostFactory) {
+		return MultiLevelLauncher.TEMPLATES.load(new ResourceMapSource(resource),
+				new LevelAssembler(levelFactory, boardFactory, ghostFactory));
+	}
+}
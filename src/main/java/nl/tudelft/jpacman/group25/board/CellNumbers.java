@@ -0,0 +1,65 @@
+package nl.tudelft.jpacman.group25.board;
+
+import nl.tudelft.jpacman.board.Square;
+
+/**
+ * The numbers of the squares of a board, looked up by identity without boxing.
+ * Squares do not know their coordinates, so the numbers are kept in an open
+ * addressing hash table with linear probing that is at most half full.
+ */
+public final class CellNumbers {
+	private static final int NONE = -1;
+
+	private final Square[] squares;
+	private final int[] cells;
+	private final int mask;
+
+	/**
+	 * Creates an empty table.
+	 * @param size	the number of squares that will be numbered
+	 */
+	public CellNumbers(int size) {
+		int capacity = Integer.highestOneBit(Math.max(1, size)) << 2;
+		this.squares = new Square[capacity];
+		this.cells = new int[capacity];
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * Numbers a square, replacing its earlier number.
+	 * @param square	the square, not null
+	 * @param cell		the number of the square
+	 */
+	public void put(Square square, int cell) {
+		int slot = slotOf(square);
+		squares[slot] = square;
+		cells[slot] = cell;
+	}
+
+	/**
+	 * @param square	a square, may be null
+	 * @return The number of the square, or -1 if it was not numbered.
+	 */
+	public int get(Square square) {
+		if (square == null) {
+			return NONE;
+		}
+		int slot = slotOf(square);
+		if (squares[slot] == null) {
+			return NONE;
+		}
+		return cells[slot];
+	}
+
+	/**
+	 * @param square	a square
+	 * @return The slot holding the square, or the empty slot it belongs in.
+	 */
+	private int slotOf(Square square) {
+		int slot = System.identityHashCode(square) & mask;
+		while (squares[slot] != null && squares[slot] != square) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+}
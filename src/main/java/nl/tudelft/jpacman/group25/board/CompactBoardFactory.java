@@ -0,0 +1,84 @@
+package nl.tudelft.jpacman.group25.board;
+
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+/**
+ * Board factory for large boards that need little memory per square.
+ * Walls never hold units, so all walls of a board are one shared square.
+ * That square is its own neighbour in every direction, so searches that walk
+ * the board square by square, like
+ * {@link nl.tudelft.jpacman.npc.ghost.Navigation#findNearest}, stop at walls
+ * instead of jumping to wherever the last linked wall was.
+ * Ground squares keep their pellets as bits in a packed layer, which
+ * works together with the pellets of a
+ * {@link nl.tudelft.jpacman.group25.level.CompactLevelFactory}.
+ * A launcher opts in by returning this factory from
+ * <code>getBoardFactory()</code> and that level factory from
+ * <code>getLevelFactory()</code>. Every board needs a factory of its own.
+ */
+public class CompactBoardFactory extends BoardFactory {
+	private final PelletLayer pellets = new PelletLayer();
+	private final Sprite groundSprite;
+	private final Square wall;
+	private int grounds;
+
+	/**
+	 * Creates a new compact board factory.
+	 * @param spriteStore	the sprite provider
+	 */
+	public CompactBoardFactory(PacManSprites spriteStore) {
+		super(spriteStore);
+		this.groundSprite = spriteStore.getGroundSprite();
+		this.wall = new SharedWall(spriteStore.getWallSprite());
+	}
+
+	@Override
+	public Square createGround() {
+		return new CompactGround(pellets, grounds++, groundSprite);
+	}
+
+	/**
+	 * @return The wall shared by all wall squares of the board.
+	 */
+	@Override
+	public Square createWall() {
+		return wall;
+	}
+
+	/**
+	 * A wall that stands in for every wall square of a board.
+	 * The links made by the board factory would leave it with the neighbours
+	 * of the wall linked last, so it leads back to itself instead.
+	 */
+	private static final class SharedWall extends Square {
+		private final Sprite background;
+
+		/**
+		 * Creates the shared wall.
+		 * @param sprite	the sprite of the wall
+		 */
+		private SharedWall(Sprite sprite) {
+			this.background = sprite;
+		}
+
+		@Override
+		public boolean isAccessibleTo(Unit unit) {
+			return false;
+		}
+
+		@Override
+		public Square getSquareAt(Direction direction) {
+			return this;
+		}
+
+		@Override
+		public Sprite getSprite() {
+			return background;
+		}
+	}
+}
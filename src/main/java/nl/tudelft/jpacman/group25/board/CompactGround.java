@@ -0,0 +1,148 @@
+package nl.tudelft.jpacman.group25.board;
+
+import java.util.BitSet;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A ground square whose pellet is a bit in the {@link PelletLayer} of its board.
+ * The pellet only becomes a unit when the occupants of the square are asked for,
+ * and eating that unit clears the bit. That unit is made once per square and
+ * reused whenever the square holds its pellet again.
+ */
+public class CompactGround extends Square {
+	private final PelletLayer pellets;
+	private final int cell;
+	private final Sprite background;
+	private List<Unit> pelletOnly;
+
+	/**
+	 * Creates a new ground square.
+	 * @param pellets		the pellet layer of the board
+	 * @param cell			the number of this square in the layer
+	 * @param background	the sprite of this square
+	 */
+	CompactGround(PelletLayer pellets, int cell, Sprite background) {
+		this.pellets = pellets;
+		this.cell = cell;
+		this.background = background;
+	}
+
+	/**
+	 * Puts a pellet on this square without keeping the pellet itself.
+	 * @param pellet	the pellet to put on this square
+	 * @return true if the pellet was absorbed, false if it has to occupy
+	 * 			this square as a regular unit.
+	 */
+	public boolean absorb(Pellet pellet) {
+		return pellets.absorb(cell, pellet);
+	}
+
+	/**
+	 * @return The number of this square in the pellet layer of its board.
+	 */
+	public int getCell() {
+		return cell;
+	}
+
+	/**
+	 * @return true if this square holds an absorbed pellet.
+	 */
+	public boolean hasPellet() {
+		return pellets.has(cell);
+	}
+
+	/**
+	 * Copies the absorbed pellets of the whole board this square is on.
+	 * @return The numbers of the squares holding an absorbed pellet.
+	 */
+	public BitSet copyPellets() {
+		return pellets.copy();
+	}
+
+	/**
+	 * Puts back the absorbed pellets of the whole board this square is on,
+	 * as they were when they were copied.
+	 * @param copy	the result of an earlier {@link #copyPellets()} on this board
+	 */
+	public void restorePellets(BitSet copy) {
+		pellets.restore(copy);
+	}
+
+	/**
+	 * @return The units occupying this square, leaving out the absorbed pellet.
+	 */
+	public List<Unit> getUnits() {
+		return super.getOccupants();
+	}
+
+	@Override
+	public List<Unit> getOccupants() {
+		if (!pellets.has(cell)) {
+			return super.getOccupants();
+		}
+		List<Unit> occupants = super.getOccupants();
+		if (occupants.isEmpty()) {
+			return pelletOnly();
+		}
+		return ImmutableList.<Unit>builder()
+				.addAll(occupants)
+				.add(pelletOnly().get(0))
+				.build();
+	}
+
+	/**
+	 * @return The unit standing in for the pellet of this square, alone in a list.
+	 */
+	private synchronized List<Unit> pelletOnly() {
+		if (pelletOnly == null) {
+			pelletOnly = ImmutableList.<Unit>of(
+					new CellPellet(pellets.getValue(), pellets.getSprite()));
+		}
+		return pelletOnly;
+	}
+
+	@Override
+	public boolean isAccessibleTo(Unit unit) {
+		return true;
+	}
+
+	@Override
+	public Sprite getSprite() {
+		return background;
+	}
+
+	/**
+	 * The unit standing in for the absorbed pellet of this square.
+	 */
+	private final class CellPellet extends Pellet {
+
+		/**
+		 * Creates the stand-in for the pellet of this square.
+		 * @param points	the value of the pellet
+		 * @param sprite	the sprite of the pellet
+		 */
+		private CellPellet(int points, Sprite sprite) {
+			super(points, sprite);
+		}
+
+		@Override
+		public Square getSquare() {
+			if (pellets.has(cell)) {
+				return CompactGround.this;
+			}
+			return null;
+		}
+
+		@Override
+		public void leaveSquare() {
+			pellets.clear(cell);
+		}
+	}
+}
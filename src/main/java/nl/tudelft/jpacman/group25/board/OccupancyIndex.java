@@ -0,0 +1,155 @@
+package nl.tudelft.jpacman.group25.board;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.Pellet;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The kinds of units on every square of a board, one bit per kind, so asking
+ * whether a square holds a ghost or a pellet is a single bit test instead of a
+ * walk over its occupants. Squares are numbered like in the {@link RoutingIndex}.
+ * The index does not see units move by itself: whoever moves units has to
+ * {@link #update} the squares they leave and enter.
+ */
+public class OccupancyIndex {
+
+	/**
+	 * The maximum number of unit kinds an index can tell apart.
+	 */
+	public static final int MAX_KINDS = Integer.SIZE;
+
+	private final List<Class<? extends Unit>> kinds;
+	private final Map<Class<?>, Integer> kindMasks = new ConcurrentHashMap<>();
+	private final CellNumbers cellIds;
+	private final int[] masks;
+
+	/**
+	 * Creates an index of a board and fills it with the units on the board.
+	 * @param board	the board to index
+	 * @param kinds	the kinds of units to tell apart, a unit belongs to every
+	 * 				kind it is an instance of
+	 */
+	public OccupancyIndex(Board board, List<Class<? extends Unit>> kinds) {
+		assert board != null;
+		assert kinds.size() <= MAX_KINDS;
+
+		this.kinds = ImmutableList.copyOf(kinds);
+		int width = board.getWidth();
+		int cells = width * board.getHeight();
+		this.cellIds = new CellNumbers(cells);
+		this.masks = new int[cells];
+		for (int cell = 0; cell < cells; cell++) {
+			Square square = board.squareAt(cell % width, cell / width);
+			cellIds.put(square, cell);
+			masks[cell] = scan(square);
+		}
+	}
+
+	/**
+	 * @return The kinds of units this index tells apart, in the order of
+	 * 			their bits.
+	 */
+	public List<Class<? extends Unit>> getKinds() {
+		return kinds;
+	}
+
+	/**
+	 * @param square	a square
+	 * @return The number of the square, or -1 if it is not on the board.
+	 */
+	public int cellOf(Square square) {
+		return cellIds.get(square);
+	}
+
+	/**
+	 * @param kind	a kind of unit given to this index
+	 * @return The bit of the kind, or 0 if this index does not know the kind.
+	 */
+	public int bitOf(Class<? extends Unit> kind) {
+		int index = kinds.indexOf(kind);
+		if (index < 0) {
+			return 0;
+		}
+		return 1 << index;
+	}
+
+	/**
+	 * @param square	a square of the board
+	 * @return The bits of the kinds of units on the square.
+	 */
+	public int maskOf(Square square) {
+		int cell = cellIds.get(square);
+		if (cell < 0) {
+			return 0;
+		}
+		return masks[cell];
+	}
+
+	/**
+	 * @param square	a square of the board
+	 * @param kind		a kind of unit given to this index
+	 * @return true if the square holds a unit of the kind.
+	 */
+	public boolean holds(Square square, Class<? extends Unit> kind) {
+		return (maskOf(square) & bitOf(kind)) != 0;
+	}
+
+	/**
+	 * Looks at the units on a square again, after units entered or left it.
+	 * @param square	the square whose units changed, may be null
+	 */
+	public void update(Square square) {
+		int cell = cellIds.get(square);
+		if (cell >= 0) {
+			masks[cell] = scan(square);
+		}
+	}
+
+	/**
+	 * @param square	a square
+	 * @return The bits of the kinds of units on the square.
+	 */
+	private int scan(Square square) {
+		int mask = 0;
+		List<Unit> units;
+		if (square instanceof CompactGround) {
+			CompactGround ground = (CompactGround) square;
+			units = ground.getUnits();
+			if (ground.hasPellet()) {
+				mask |= kindMask(Pellet.class);
+			}
+		} else {
+			units = square.getOccupants();
+		}
+		for (Unit unit : units) {
+			mask |= kindMask(unit.getClass());
+		}
+		return mask;
+	}
+
+	/**
+	 * @param type	the class of a unit
+	 * @return The bits of all kinds the class belongs to.
+	 */
+	private int kindMask(Class<?> type) {
+		Integer mask = kindMasks.get(type);
+		if (mask == null) {
+			int bits = 0;
+			for (int i = 0; i < kinds.size(); i++) {
+				if (kinds.get(i).isAssignableFrom(type)) {
+					bits |= 1 << i;
+				}
+			}
+			mask = bits;
+			kindMasks.put(type, mask);
+		}
+		return mask;
+	}
+}
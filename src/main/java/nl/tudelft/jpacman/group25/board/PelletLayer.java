@@ -0,0 +1,80 @@
+package nl.tudelft.jpacman.group25.board;
+
+import java.util.BitSet;
+
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+/**
+ * The pellets on the ground squares of one board, one bit per square.
+ * All pellets of the layer have the value and sprite of the first pellet
+ * it absorbed.
+ */
+class PelletLayer {
+	private final BitSet pellets = new BitSet();
+	private int value;
+	private Sprite sprite;
+
+	/**
+	 * Puts a pellet on a square, unless it differs from the pellets already in this layer.
+	 * @param cell		the number of the square
+	 * @param pellet	the pellet to put on the square
+	 * @return true if the pellet was absorbed into this layer.
+	 */
+	synchronized boolean absorb(int cell, Pellet pellet) {
+		if (sprite == null) {
+			value = pellet.getValue();
+			sprite = pellet.getSprite();
+		} else if (value != pellet.getValue() || sprite != pellet.getSprite()) {
+			return false;
+		}
+		pellets.set(cell);
+		return true;
+	}
+
+	/**
+	 * @param cell	the number of the square
+	 * @return true if the square holds a pellet.
+	 */
+	synchronized boolean has(int cell) {
+		return pellets.get(cell);
+	}
+
+	/**
+	 * Removes the pellet from a square.
+	 * @param cell	the number of the square
+	 */
+	synchronized void clear(int cell) {
+		pellets.clear(cell);
+	}
+
+	/**
+	 * @return The squares holding a pellet, as a copy.
+	 */
+	synchronized BitSet copy() {
+		return (BitSet) pellets.clone();
+	}
+
+	/**
+	 * Puts back the pellets of an earlier copy.
+	 * @param copy	the squares that hold a pellet from now on
+	 */
+	synchronized void restore(BitSet copy) {
+		pellets.clear();
+		pellets.or(copy);
+	}
+
+	/**
+	 * @return The value of every pellet in this layer.
+	 */
+	synchronized int getValue() {
+		return value;
+	}
+
+	/**
+	 * @return The sprite of every pellet in this layer.
+	 */
+	synchronized Sprite getSprite() {
+		return sprite;
+	}
+}
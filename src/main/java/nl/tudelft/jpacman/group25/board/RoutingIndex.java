@@ -0,0 +1,284 @@
+package nl.tudelft.jpacman.group25.board;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * Shortest-path routes between all squares of a board.
+ * Squares are numbered <code>y * width + x</code>. The route towards a target
+ * square holds, for every square, the direction of the first step towards the
+ * target and the distance to it, so a lookup is a single array access.
+ * Routes are computed on demand with one breadth-first search each and kept in
+ * a cache bounded by {@link #DEFAULT_CACHE_CELLS}. Boards small enough for all
+ * routes to fit in that cache keep them in an array indexed by target, which
+ * is only filled up front for boards of at most {@link #EAGER_TABLE_CELLS}
+ * squares. Distances saturate at {@link Short#MAX_VALUE}. Squares are found by
+ * identity in a primitive table, so looking up a move allocates nothing.
+ */
+public class RoutingIndex {
+
+	/**
+	 * The default number of squares that cached routes may cover in total.
+	 * Every square of a route costs three bytes.
+	 */
+	public static final int DEFAULT_CACHE_CELLS = 1 << 20;
+
+	/**
+	 * The largest number of squares of a board whose routes are all computed
+	 * when the index is created.
+	 */
+	public static final int EAGER_TABLE_CELLS = 1 << 8;
+
+	private static final Direction[] DIRECTIONS = Direction.values();
+	private static final int[] OPPOSITE = opposites();
+	private static final byte NO_MOVE = -1;
+	private static final int NONE = -1;
+
+	private final int cells;
+	private final CellNumbers cellIds;
+	private final int[] neighbours;
+	private final RouteCache routes;
+	private final AtomicReferenceArray<Route> table;
+	private final int[] queue;
+
+	/**
+	 * Creates a routing index with the default cache size.
+	 * @param board		the board to route on
+	 * @param traveller	the unit whose access to squares determines the routes
+	 */
+	public RoutingIndex(Board board, Unit traveller) {
+		this(board, traveller, DEFAULT_CACHE_CELLS);
+	}
+
+	/**
+	 * Creates a new routing index.
+	 * @param board			the board to route on
+	 * @param traveller		the unit whose access to squares determines the routes
+	 * @param cacheCells	the number of squares cached routes may cover in total
+	 */
+	public RoutingIndex(Board board, Unit traveller, int cacheCells) {
+		assert board != null;
+		assert traveller != null;
+
+		int width = board.getWidth();
+		this.cells = width * board.getHeight();
+		this.cellIds = new CellNumbers(cells);
+		Square[] squares = new Square[cells];
+		for (int cell = 0; cell < cells; cell++) {
+			squares[cell] = board.squareAt(cell % width, cell / width);
+			cellIds.put(squares[cell], cell);
+		}
+		this.neighbours = link(squares, traveller);
+		this.queue = new int[cells];
+		this.routes = new RouteCache(Math.max(1, cacheCells / Math.max(1, cells)));
+		if (routes.capacity < cells) {
+			this.table = null;
+		} else {
+			this.table = new AtomicReferenceArray<Route>(cells);
+			fillTable();
+		}
+	}
+
+	/**
+	 * Computes all routes up front if the board is small enough.
+	 */
+	private void fillTable() {
+		if (cells <= EAGER_TABLE_CELLS) {
+			for (int target = 0; target < cells; target++) {
+				table.set(target, compute(target));
+			}
+		}
+	}
+
+	/**
+	 * @param square	a square of the board
+	 * @return The number of the square, or -1 if it is not on the board.
+	 */
+	public int cellOf(Square square) {
+		return cellIds.get(square);
+	}
+
+	/**
+	 * @param from	the square to start from
+	 * @param to	the square to go to
+	 * @return The first step of a shortest path, or <code>null</code> if there
+	 * 			is no path or both squares are the same.
+	 */
+	public Direction nextMove(Square from, Square to) {
+		int start = cellOf(from);
+		int target = cellOf(to);
+		if (start == NONE || target == NONE) {
+			return null;
+		}
+		byte move = route(target).next[start];
+		if (move == NO_MOVE) {
+			return null;
+		}
+		return DIRECTIONS[move];
+	}
+
+	/**
+	 * @param from	the square to start from
+	 * @param to	the square to go to
+	 * @return The length of a shortest path, or -1 if there is no path.
+	 */
+	public int distance(Square from, Square to) {
+		int start = cellOf(from);
+		int target = cellOf(to);
+		if (start == NONE || target == NONE) {
+			return NONE;
+		}
+		return route(target).distance[start];
+	}
+
+	/**
+	 * @param target	the number of the target square
+	 * @return The route towards the target.
+	 */
+	private Route route(int target) {
+		if (table != null) {
+			Route route = table.get(target);
+			if (route != null) {
+				return route;
+			}
+		}
+		return cachedRoute(target);
+	}
+
+	/**
+	 * @param target	the number of the target square
+	 * @return The route towards the target, computed if it was not cached.
+	 */
+	private synchronized Route cachedRoute(int target) {
+		if (table != null) {
+			Route route = table.get(target);
+			if (route == null) {
+				route = compute(target);
+				table.set(target, route);
+			}
+			return route;
+		}
+		Route route = routes.get(target);
+		if (route == null) {
+			route = compute(target);
+			routes.put(target, route);
+		}
+		return route;
+	}
+
+	/**
+	 * Computes the route towards a square by searching backwards from it.
+	 * The queue of the search is shared, so only one route is computed at a time.
+	 * @param target	the number of the target square
+	 * @return The route towards the target.
+	 */
+	private Route compute(int target) {
+		Route route = new Route(cells);
+		int head = 0;
+		int tail = 0;
+		route.distance[target] = 0;
+		queue[tail++] = target;
+		while (head < tail) {
+			int cell = queue[head++];
+			for (int d = 0; d < DIRECTIONS.length; d++) {
+				int from = neighbours[cell * DIRECTIONS.length + d];
+				int back = OPPOSITE[d];
+				if (from != NONE && route.distance[from] == NONE
+						&& neighbours[from * DIRECTIONS.length + back] == cell) {
+					route.distance[from] = (short) Math.min(route.distance[cell] + 1,
+							Short.MAX_VALUE);
+					route.next[from] = (byte) back;
+					queue[tail++] = from;
+				}
+			}
+		}
+		return route;
+	}
+
+	/**
+	 * @param squares	the squares of the board by number
+	 * @param traveller	the unit whose access to squares determines the routes
+	 * @return For every square and direction, the number of the accessible
+	 * 			neighbour in that direction or -1.
+	 */
+	private int[] link(Square[] squares, Unit traveller) {
+		int[] result = new int[squares.length * DIRECTIONS.length];
+		Arrays.fill(result, NONE);
+		for (int cell = 0; cell < squares.length; cell++) {
+			for (int d = 0; d < DIRECTIONS.length; d++) {
+				Square neighbour = squares[cell].getSquareAt(DIRECTIONS[d]);
+				if (neighbour != null && neighbour.isAccessibleTo(traveller)) {
+					result[cell * DIRECTIONS.length + d] = cellOf(neighbour);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return For every direction, the index of the opposite direction.
+	 */
+	private static int[] opposites() {
+		int[] result = new int[DIRECTIONS.length];
+		for (int d = 0; d < DIRECTIONS.length; d++) {
+			for (int o = 0; o < DIRECTIONS.length; o++) {
+				if (DIRECTIONS[o].getDeltaX() == -DIRECTIONS[d].getDeltaX()
+						&& DIRECTIONS[o].getDeltaY() == -DIRECTIONS[d].getDeltaY()) {
+					result[d] = o;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The first steps and distances of all squares towards one target.
+	 */
+	private static final class Route {
+		private final byte[] next;
+		private final short[] distance;
+
+		/**
+		 * Creates a route in which no square can reach the target.
+		 * @param cells	the number of squares on the board
+		 */
+		private Route(int cells) {
+			next = new byte[cells];
+			distance = new short[cells];
+			Arrays.fill(next, NO_MOVE);
+			Arrays.fill(distance, (short) NONE);
+		}
+	}
+
+	/**
+	 * Keeps the most recently used routes.
+	 */
+	private static final class RouteCache extends LinkedHashMap<Integer, Route> {
+		private static final long serialVersionUID = 1L;
+		private static final float LOAD_FACTOR = 0.75f;
+		private static final int INITIAL_CAPACITY = 16;
+
+		private final int capacity;
+
+		/**
+		 * Creates an empty cache.
+		 * @param capacity	the maximum number of routes to keep
+		 */
+		private RouteCache(int capacity) {
+			super(INITIAL_CAPACITY, LOAD_FACTOR, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, Route> eldest) {
+			return size() > capacity;
+		}
+	}
+}
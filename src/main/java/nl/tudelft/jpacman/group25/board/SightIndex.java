@@ -0,0 +1,316 @@
+package nl.tudelft.jpacman.group25.board;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * Bitboards of the walls and the kinds of units of a board, so a unit can
+ * look along a row or column a word of 64 squares at a time instead of
+ * walking from neighbour to neighbour. Every row and every column is kept
+ * as its own run of bits, one bit per square, for the walls and for every
+ * kind of unit of an {@link OccupancyIndex}. Sight wraps around the edges
+ * of the board like moves do, and is blocked by walls, not by units.
+ * The index copies the kinds of units from its occupancy index, so whoever
+ * moves units has to {@link #update} the squares they leave and enter after
+ * updating the occupancy index. Updates of different squares may share a
+ * word of bits, so they must not run at the same time; a {@link
+ * nl.tudelft.jpacman.group25.level.DrivenLevel} makes them under its move lock.
+ */
+public class SightIndex {
+	private static final int WORD_SHIFT = 6;
+	private static final int WORD_MASK = Long.SIZE - 1;
+	private static final int WALLS = 0;
+
+	private final OccupancyIndex occupancy;
+	private final int kinds;
+	private final int width;
+	private final int height;
+	private final int rowWords;
+	private final int columnWords;
+	private final long[][] rows;
+	private final long[][] columns;
+
+	/**
+	 * Creates an index of a board and fills it with its walls and units.
+	 * @param board		the board to index
+	 * @param occupancy	the up to date kinds of units on the board
+	 */
+	public SightIndex(Board board, OccupancyIndex occupancy) {
+		assert board != null;
+		assert occupancy != null;
+
+		this.occupancy = occupancy;
+		this.kinds = occupancy.getKinds().size();
+		this.width = board.getWidth();
+		this.height = board.getHeight();
+		this.rowWords = words(width);
+		this.columnWords = words(height);
+		this.rows = new long[kinds + 1][height * rowWords];
+		this.columns = new long[kinds + 1][width * columnWords];
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				Square square = board.squareAt(x, y);
+				set(WALLS, x, y, !square.isAccessibleTo(null));
+				copyKinds(x, y, occupancy.maskOf(square));
+			}
+		}
+	}
+
+	/**
+	 * @param from		the square to look from
+	 * @param direction	the direction to look in
+	 * @return The number of squares that can be seen before the first wall,
+	 * 			all other squares of the row or column if there is no wall,
+	 * 			or 0 for squares of other boards.
+	 */
+	public int wallDistance(Square from, Direction direction) {
+		int cell = occupancy.cellOf(from);
+		if (cell < 0) {
+			return 0;
+		}
+		int wall = scan(WALLS, cell, direction);
+		if (wall < 0) {
+			return lineLength(direction) - 1;
+		}
+		return wall - 1;
+	}
+
+	/**
+	 * @param from		the square to look from
+	 * @param direction	the direction to look in
+	 * @param kind		a kind of unit of the occupancy index
+	 * @return The number of steps to the nearest square holding a unit of the
+	 * 			kind that can be seen, or -1 if no such square can be seen.
+	 */
+	public int distanceTo(Square from, Direction direction, Class<? extends Unit> kind) {
+		int layer = layerOf(kind);
+		int cell = occupancy.cellOf(from);
+		if (layer < 0 || cell < 0) {
+			return -1;
+		}
+		int found = scan(layer, cell, direction);
+		int wall = scan(WALLS, cell, direction);
+		if (found < 0 || (wall >= 0 && wall < found)) {
+			return -1;
+		}
+		return found;
+	}
+
+	/**
+	 * @param from	the square to look from
+	 * @param kind	a kind of unit of the occupancy index
+	 * @return The direction of the nearest square holding a unit of the kind
+	 * 			that can be seen, or <code>null</code> if none can be seen.
+	 */
+	public Direction lookFor(Square from, Class<? extends Unit> kind) {
+		Direction nearest = null;
+		int nearestDistance = Integer.MAX_VALUE;
+		for (Direction direction : Direction.values()) {
+			int distance = distanceTo(from, direction, kind);
+			if (distance >= 0 && distance < nearestDistance) {
+				nearest = direction;
+				nearestDistance = distance;
+			}
+		}
+		return nearest;
+	}
+
+	/**
+	 * Looks at the units on a square again, after units entered or left it.
+	 * @param square	the square whose units changed, may be null
+	 */
+	public void update(Square square) {
+		int cell = occupancy.cellOf(square);
+		if (cell >= 0) {
+			copyKinds(cell % width, cell / width, occupancy.maskOf(square));
+		}
+	}
+
+	/**
+	 * @param x		the x coordinate of a square
+	 * @param y		the y coordinate of the square
+	 * @param mask	the bits of the kinds of units on the square
+	 */
+	private void copyKinds(int x, int y, int mask) {
+		for (int kind = 0; kind < kinds; kind++) {
+			set(kind + 1, x, y, (mask & (1 << kind)) != 0);
+		}
+	}
+
+	/**
+	 * @param layer	the bits of the walls or of a kind of unit
+	 * @param x		the x coordinate of a square
+	 * @param y		the y coordinate of the square
+	 * @param on	whether the bit of the square is set
+	 */
+	private void set(int layer, int x, int y, boolean on) {
+		setBit(rows[layer], y * rowWords, x, on);
+		setBit(columns[layer], x * columnWords, y, on);
+	}
+
+	/**
+	 * @param kind	a kind of unit
+	 * @return The layer of the kind, or -1 if the occupancy index does not
+	 * 			know it.
+	 */
+	private int layerOf(Class<? extends Unit> kind) {
+		int bit = occupancy.bitOf(kind);
+		if (bit == 0) {
+			return -1;
+		}
+		return Integer.numberOfTrailingZeros(bit) + 1;
+	}
+
+	/**
+	 * @param direction	a direction
+	 * @return The number of squares in a line along the direction.
+	 */
+	private int lineLength(Direction direction) {
+		if (direction == Direction.EAST || direction == Direction.WEST) {
+			return width;
+		}
+		return height;
+	}
+
+	/**
+	 * @param layer		the bits of the walls or of a kind of unit
+	 * @param cell		the number of the square to look from
+	 * @param direction	the direction to look in
+	 * @return The number of steps to the nearest other square whose bit is set,
+	 * 			or -1 if there is none in the row or column.
+	 */
+	private int scan(int layer, int cell, Direction direction) {
+		int x = cell % width;
+		int y = cell / width;
+		switch (direction) {
+			case EAST:
+				return forward(rows[layer], y * rowWords, width, x);
+			case WEST:
+				return backward(rows[layer], y * rowWords, width, x);
+			case SOUTH:
+				return forward(columns[layer], x * columnWords, height, y);
+			default:
+				return backward(columns[layer], x * columnWords, height, y);
+		}
+	}
+
+	/**
+	 * @param bits		the bits of all lines
+	 * @param base		the first word of the line
+	 * @param length	the number of squares of the line
+	 * @param position	the square to look from
+	 * @return The number of steps to the next set bit, wrapping around,
+	 * 			or -1 if no other bit is set.
+	 */
+	private static int forward(long[] bits, int base, int length, int position) {
+		int found = first(bits, base, position + 1, length);
+		if (found < 0) {
+			found = first(bits, base, 0, position);
+		}
+		if (found < 0) {
+			return -1;
+		}
+		return (found - position + length) % length;
+	}
+
+	/**
+	 * @param bits		the bits of all lines
+	 * @param base		the first word of the line
+	 * @param length	the number of squares of the line
+	 * @param position	the square to look from
+	 * @return The number of steps to the previous set bit, wrapping around,
+	 * 			or -1 if no other bit is set.
+	 */
+	private static int backward(long[] bits, int base, int length, int position) {
+		int found = last(bits, base, 0, position);
+		if (found < 0) {
+			found = last(bits, base, position + 1, length);
+		}
+		if (found < 0) {
+			return -1;
+		}
+		return (position - found + length) % length;
+	}
+
+	/**
+	 * @param bits	the bits of all lines
+	 * @param base	the first word of the line
+	 * @param from	the first square to look at
+	 * @param to	the square after the last square to look at
+	 * @return The first set bit from <code>from</code> up to
+	 * 			<code>to</code>, or -1 if there is none.
+	 */
+	private static int first(long[] bits, int base, int from, int to) {
+		if (from >= to) {
+			return -1;
+		}
+		int word = from >>> WORD_SHIFT;
+		long value = bits[base + word] & (-1L << from);
+		while (value == 0) {
+			word++;
+			if (word << WORD_SHIFT >= to) {
+				return -1;
+			}
+			value = bits[base + word];
+		}
+		int found = (word << WORD_SHIFT) + Long.numberOfTrailingZeros(value);
+		if (found >= to) {
+			return -1;
+		}
+		return found;
+	}
+
+	/**
+	 * @param bits	the bits of all lines
+	 * @param base	the first word of the line
+	 * @param from	the first square to look at
+	 * @param to	the square after the last square to look at
+	 * @return The last set bit from <code>from</code> up to
+	 * 			<code>to</code>, or -1 if there is none.
+	 */
+	private static int last(long[] bits, int base, int from, int to) {
+		if (from >= to) {
+			return -1;
+		}
+		int word = (to - 1) >>> WORD_SHIFT;
+		long value = bits[base + word] & (-1L >>> (WORD_MASK - ((to - 1) & WORD_MASK)));
+		while (value == 0) {
+			if (word << WORD_SHIFT <= from) {
+				return -1;
+			}
+			word--;
+			value = bits[base + word];
+		}
+		int found = (word << WORD_SHIFT) + WORD_MASK - Long.numberOfLeadingZeros(value);
+		if (found < from) {
+			return -1;
+		}
+		return found;
+	}
+
+	/**
+	 * @param bits		the bits of all lines
+	 * @param base		the first word of the line
+	 * @param position	the square whose bit is set or cleared
+	 * @param on		whether the bit is set
+	 */
+	private static void setBit(long[] bits, int base, int position, boolean on) {
+		int word = base + (position >>> WORD_SHIFT);
+		long bit = 1L << position;
+		if (on) {
+			bits[word] |= bit;
+		} else {
+			bits[word] &= ~bit;
+		}
+	}
+
+	/**
+	 * @param squares	the number of squares of a line
+	 * @return The number of words holding a bit for every square.
+	 */
+	private static int words(int squares) {
+		return (squares + WORD_MASK) >>> WORD_SHIFT;
+	}
+}
@@ -0,0 +1,161 @@
+package nl.tudelft.jpacman.group25.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.group25.HeadlessMultiLevelLauncher;
+import nl.tudelft.jpacman.group25.level.DrivenLevel;
+import nl.tudelft.jpacman.group25.level.MapSource;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.npc.NPC;
+
+/**
+ * Plays many independent multi-level games in parallel.
+ * Every game gets its own launcher and {@link SimulationEngine}, so games
+ * share no state while they are played and throughput scales with the
+ * number of cores.
+ */
+public class BatchRunner {
+
+	/**
+	 * The default maximum number of ticks a single game may last.
+	 */
+	public static final long DEFAULT_MAX_TICKS = 100000L;
+
+	/**
+	 * The cause of death reported when the player died without an NPC on its square.
+	 */
+	public static final String UNKNOWN_CAUSE = "unknown";
+
+	private final int parallelism;
+	private final long maxTicks;
+
+	/**
+	 * Creates a runner that uses all available processors.
+	 */
+	public BatchRunner() {
+		this(Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_TICKS);
+	}
+
+	/**
+	 * Creates a new runner.
+	 * @param parallelism	the number of games played at the same time
+	 * @param maxTicks		the maximum number of ticks a single game may last
+	 */
+	public BatchRunner(int parallelism, long maxTicks) {
+		assert parallelism > 0;
+		assert maxTicks > 0;
+
+		this.parallelism = parallelism;
+		this.maxTicks = maxTicks;
+	}
+
+	/**
+	 * Plays a game for every combination of map and seed.
+	 * @param maps	the maps to play
+	 * @param seeds	the seeds of the player's random moves
+	 * @return The results, ordered by map and then by seed.
+	 */
+	public List<GameResult> run(List<MapSource> maps, long... seeds) {
+		List<Callable<GameResult>> games = new ArrayList<>();
+		for (MapSource map : maps) {
+			for (long seed : seeds) {
+				games.add(new BatchGame(map, seed));
+			}
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			return collect(pool.invokeAll(games));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Plays a single game without user interface. The units of its levels,
+	 * including a next level that was built but never played, are recycled
+	 * for the games played after it.
+	 * @param map	the map of the levels
+	 * @param seed	the seed of the player's random moves
+	 * @return The result of the game.
+	 */
+	public GameResult play(MapSource map, long seed) {
+		MultiLevelGame game = (MultiLevelGame) new HeadlessMultiLevelLauncher(map).makeGame();
+		game.setRecycling(true);
+		SimulationEngine engine = new SimulationEngine(game);
+		long ticks = engine.run(new RandomPlayerController(seed), maxTicks);
+
+		Player player = game.getPlayers().get(0);
+		GameResult result = new GameResult(map, seed, player.getScore(), game.getLevelsWon(),
+				ticks, causeOfDeath(player));
+		game.discardNext();
+		((DrivenLevel) game.getLevel()).recycle();
+		return result;
+	}
+
+	/**
+	 * Waits for all games to finish.
+	 * @param futures	the games that are being played
+	 * @return The results of the games.
+	 */
+	private static List<GameResult> collect(List<Future<GameResult>> futures) {
+		List<GameResult> results = new ArrayList<>(futures.size());
+		try {
+			for (Future<GameResult> future : futures) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while playing games.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("A game could not be played.", e.getCause());
+		}
+		return results;
+	}
+
+	/**
+	 * @param player	the player of a finished game
+	 * @return The simple class name of the NPC that killed the player,
+	 * 			or <code>null</code> if the player is alive.
+	 */
+	static String causeOfDeath(Player player) {
+		if (player.isAlive()) {
+			return null;
+		}
+		for (Unit unit : player.getSquare().getOccupants()) {
+			if (unit instanceof NPC) {
+				return unit.getClass().getSimpleName();
+			}
+		}
+		return UNKNOWN_CAUSE;
+	}
+
+	/**
+	 * A single game of the batch.
+	 */
+	private final class BatchGame implements Callable<GameResult> {
+		private final MapSource map;
+		private final long seed;
+
+		/**
+		 * Creates a new game of the batch.
+		 * @param map	the map of the levels
+		 * @param seed	the seed of the player's random moves
+		 */
+		private BatchGame(MapSource map, long seed) {
+			this.map = map;
+			this.seed = seed;
+		}
+
+		@Override
+		public GameResult call() {
+			return play(map, seed);
+		}
+	}
+}
@@ -0,0 +1,394 @@
+package nl.tudelft.jpacman.group25.game;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.group25.board.CellNumbers;
+import nl.tudelft.jpacman.group25.board.OccupancyIndex;
+import nl.tudelft.jpacman.group25.level.DrivenLevel;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.npc.NPC;
+
+/**
+ * A copy of the position on a {@link DrivenLevel} that can be played on and
+ * forked cheaply, for searches that try many moves from the same position.
+ * The layout of the board is shared by all forks. The pellets are a bit set
+ * split into chunks that forks share until one of them eats a pellet in a
+ * chunk, which then gets copied for that fork only. So forking costs a copy
+ * of the unit positions and one reference per chunk, however large the board.
+ * The rules are those of the framework: the player eats pellets and dies on
+ * meeting a ghost. All pellets are taken to be worth the same, as they are on
+ * levels made from maps. A state is not thread-safe, but its forks can be
+ * played on by different threads.
+ */
+public final class ForkableState {
+	private static final Direction[] DIRECTIONS = Direction.values();
+	private static final int NONE = -1;
+	private static final int CHUNK_SHIFT = 10;
+	private static final int CHUNK_CELLS = 1 << CHUNK_SHIFT;
+	private static final int WORD_SHIFT = 6;
+
+	private final Layout layout;
+	private final long[][] chunks;
+	private final boolean[] owned;
+	private final int[] ghosts;
+	private int player;
+	private boolean alive;
+	private long score;
+	private int remaining;
+
+	/**
+	 * Creates a state on a layout, whose pellets still have to be set.
+	 * @param layout	the layout of the board
+	 * @param ghosts	the squares of the ghosts
+	 */
+	private ForkableState(Layout layout, int[] ghosts) {
+		this.layout = layout;
+		int chunkCount = (layout.cells + CHUNK_CELLS - 1) >> CHUNK_SHIFT;
+		this.chunks = new long[chunkCount][];
+		this.owned = new boolean[chunkCount];
+		this.ghosts = ghosts;
+	}
+
+	/**
+	 * Creates a fork of a state.
+	 * @param original	the state to fork
+	 */
+	private ForkableState(ForkableState original) {
+		this.layout = original.layout;
+		this.chunks = original.chunks.clone();
+		this.owned = new boolean[chunks.length];
+		this.ghosts = original.ghosts.clone();
+		this.player = original.player;
+		this.alive = original.alive;
+		this.score = original.score;
+		this.remaining = original.remaining;
+	}
+
+	/**
+	 * Copies the position on a level, as seen by its first player.
+	 * Nothing may move on the level meanwhile.
+	 * @param level	the level to copy
+	 * @return The copy of the position.
+	 */
+	public static ForkableState of(DrivenLevel level) {
+		List<Player> players = level.getPlayers();
+		if (players.isEmpty()) {
+			throw new IllegalArgumentException("The level has no player.");
+		}
+		Player first = players.get(0);
+		Layout layout = new Layout(level, first);
+		List<NPC> npcs = level.getNpcs();
+		int[] ghostCells = new int[npcs.size()];
+		for (int i = 0; i < ghostCells.length; i++) {
+			ghostCells[i] = layout.cellOf(npcs.get(i).getSquare());
+		}
+		ForkableState state = new ForkableState(layout, ghostCells);
+		state.player = layout.cellOf(first.getSquare());
+		state.alive = first.isAlive();
+		state.score = first.getScore();
+		state.remaining = layout.placePellets(state, level.getOccupancy());
+		return state;
+	}
+
+	/**
+	 * Forks this state. Both states can be played on independently afterwards.
+	 * @return The fork.
+	 */
+	public ForkableState fork() {
+		Arrays.fill(owned, false);
+		return new ForkableState(this);
+	}
+
+	/**
+	 * Moves the player, if the square in that direction is accessible.
+	 * Nothing happens once the game is over.
+	 * @param direction	the direction to move in
+	 * @return true if the player moved.
+	 */
+	public boolean movePlayer(Direction direction) {
+		int target = layout.neighbour(player, direction);
+		if (isOver() || target == NONE) {
+			return false;
+		}
+		player = target;
+		if (ghostOn(target)) {
+			alive = false;
+		} else if (hasPellet(target)) {
+			clearPellet(target);
+			score += layout.pelletValue;
+			remaining--;
+		}
+		return true;
+	}
+
+	/**
+	 * Moves a ghost, if the square in that direction is accessible.
+	 * Nothing happens once the game is over.
+	 * @param ghost		the number of the ghost, in the order of the NPCs of the level
+	 * @param direction	the direction to move in
+	 * @return true if the ghost moved.
+	 */
+	public boolean moveGhost(int ghost, Direction direction) {
+		int target = layout.neighbour(ghosts[ghost], direction);
+		if (isOver() || target == NONE) {
+			return false;
+		}
+		ghosts[ghost] = target;
+		if (target == player) {
+			alive = false;
+		}
+		return true;
+	}
+
+	/**
+	 * Plays random moves until the game is over or a number of rounds passed.
+	 * Every round the player moves first, followed by all ghosts.
+	 * @param random	the source of the moves
+	 * @param rounds	the maximum number of rounds
+	 * @return The number of rounds played.
+	 */
+	public int playOut(Random random, int rounds) {
+		int played = 0;
+		while (played < rounds && !isOver()) {
+			movePlayer(layout.randomMove(player, random));
+			for (int i = 0; i < ghosts.length && !isOver(); i++) {
+				moveGhost(i, layout.randomMove(ghosts[i], random));
+			}
+			played++;
+		}
+		return played;
+	}
+
+	/**
+	 * @param from		the number of a square
+	 * @param direction	a direction
+	 * @return true if a unit on the square can move in the direction.
+	 */
+	public boolean canMove(int from, Direction direction) {
+		return layout.neighbour(from, direction) != NONE;
+	}
+
+	/**
+	 * @return The number of the square of the player, <code>y * width + x</code>.
+	 */
+	public int getPlayerCell() {
+		return player;
+	}
+
+	/**
+	 * @param ghost	the number of a ghost
+	 * @return The number of the square of the ghost.
+	 */
+	public int getGhostCell(int ghost) {
+		return ghosts[ghost];
+	}
+
+	/**
+	 * @return The number of ghosts.
+	 */
+	public int getGhostCount() {
+		return ghosts.length;
+	}
+
+	/**
+	 * @param cell	the number of a square
+	 * @return true if the square holds a pellet.
+	 */
+	public boolean hasPellet(int cell) {
+		long[] chunk = chunks[cell >> CHUNK_SHIFT];
+		int bit = cell & (CHUNK_CELLS - 1);
+		return chunk != null && (chunk[bit >> WORD_SHIFT] & (1L << bit)) != 0L;
+	}
+
+	/**
+	 * @return The score of the player.
+	 */
+	public long getScore() {
+		return score;
+	}
+
+	/**
+	 * @return The number of pellets left.
+	 */
+	public int getRemainingPellets() {
+		return remaining;
+	}
+
+	/**
+	 * @return true if the player is alive.
+	 */
+	public boolean isAlive() {
+		return alive;
+	}
+
+	/**
+	 * @return true if the player died or ate all pellets.
+	 */
+	public boolean isOver() {
+		return !alive || remaining == 0;
+	}
+
+	/**
+	 * @param cell	the number of a square
+	 * @return true if a ghost is on the square.
+	 */
+	private boolean ghostOn(int cell) {
+		for (int ghost : ghosts) {
+			if (ghost == cell) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Puts a pellet on a square, copying its chunk if it is shared.
+	 * @param cell	the number of the square
+	 */
+	private void setPellet(int cell) {
+		long[] chunk = writableChunk(cell >> CHUNK_SHIFT);
+		int bit = cell & (CHUNK_CELLS - 1);
+		chunk[bit >> WORD_SHIFT] |= 1L << bit;
+	}
+
+	/**
+	 * Removes the pellet from a square, copying its chunk if it is shared.
+	 * @param cell	the number of the square
+	 */
+	private void clearPellet(int cell) {
+		long[] chunk = writableChunk(cell >> CHUNK_SHIFT);
+		int bit = cell & (CHUNK_CELLS - 1);
+		chunk[bit >> WORD_SHIFT] &= ~(1L << bit);
+	}
+
+	/**
+	 * @param index	the number of a chunk
+	 * @return The chunk, owned by this state only.
+	 */
+	private long[] writableChunk(int index) {
+		long[] chunk = chunks[index];
+		if (chunk == null) {
+			chunk = new long[CHUNK_CELLS >> WORD_SHIFT];
+		} else if (!owned[index]) {
+			chunk = chunk.clone();
+		} else {
+			return chunk;
+		}
+		chunks[index] = chunk;
+		owned[index] = true;
+		return chunk;
+	}
+
+	/**
+	 * The squares of a board and how they connect, shared by all forks.
+	 */
+	private static final class Layout {
+		private final int cells;
+		private final Square[] squares;
+		private final CellNumbers cellIds;
+		private final int[] neighbours;
+		private int pelletValue;
+
+		/**
+		 * Numbers the squares of the board of a level and links them.
+		 * @param level		the level to lay out
+		 * @param traveller	the unit whose access to squares determines the links
+		 */
+		private Layout(DrivenLevel level, Player traveller) {
+			Board board = level.getBoard();
+			int width = board.getWidth();
+			this.cells = width * board.getHeight();
+			this.squares = new Square[cells];
+			this.cellIds = new CellNumbers(cells);
+			for (int cell = 0; cell < cells; cell++) {
+				squares[cell] = board.squareAt(cell % width, cell / width);
+				cellIds.put(squares[cell], cell);
+			}
+			this.neighbours = new int[cells * DIRECTIONS.length];
+			for (int cell = 0; cell < cells; cell++) {
+				for (int d = 0; d < DIRECTIONS.length; d++) {
+					Square next = squares[cell].getSquareAt(DIRECTIONS[d]);
+					neighbours[cell * DIRECTIONS.length + d] = NONE;
+					if (next != null && next.isAccessibleTo(traveller)) {
+						neighbours[cell * DIRECTIONS.length + d] = cellIds.get(next);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Puts the pellets of the level on a state.
+		 * @param state		the state to put the pellets on
+		 * @param occupancy	the units on the squares of the level
+		 * @return The number of pellets.
+		 */
+		private int placePellets(ForkableState state, OccupancyIndex occupancy) {
+			int count = 0;
+			for (int cell = 0; cell < cells; cell++) {
+				if (occupancy.holds(squares[cell], Pellet.class)) {
+					state.setPellet(cell);
+					count++;
+					pelletValue = Math.max(pelletValue, valueOf(squares[cell]));
+				}
+			}
+			return count;
+		}
+
+		/**
+		 * @param square	a square holding a pellet
+		 * @return The value of a pellet on the square.
+		 */
+		private static int valueOf(Square square) {
+			for (Unit unit : square.getOccupants()) {
+				if (unit instanceof Pellet) {
+					return ((Pellet) unit).getValue();
+				}
+			}
+			return 0;
+		}
+
+		/**
+		 * @param square	a square of the board
+		 * @return The number of the square, or -1 if it is not on the board.
+		 */
+		private int cellOf(Square square) {
+			return cellIds.get(square);
+		}
+
+		/**
+		 * @param cell		the number of a square
+		 * @param direction	a direction
+		 * @return The number of the accessible neighbour in the direction, or -1.
+		 */
+		private int neighbour(int cell, Direction direction) {
+			if (cell == NONE) {
+				return NONE;
+			}
+			return neighbours[cell * DIRECTIONS.length + direction.ordinal()];
+		}
+
+		/**
+		 * @param cell		the number of a square
+		 * @param random	the source of the choice
+		 * @return A random direction in which the square has an accessible
+		 * 			neighbour, or any direction if there is none.
+		 */
+		private Direction randomMove(int cell, Random random) {
+			int start = random.nextInt(DIRECTIONS.length);
+			for (int i = 0; i < DIRECTIONS.length; i++) {
+				Direction direction = DIRECTIONS[(start + i) % DIRECTIONS.length];
+				if (neighbour(cell, direction) != NONE) {
+					return direction;
+				}
+			}
+			return DIRECTIONS[start];
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package nl.tudelft.jpacman.group25.game;
+
+import nl.tudelft.jpacman.group25.level.MapSource;
+
+/**
+ * The outcome of a game that was played by a {@link BatchRunner}.
+ */
+public class GameResult {
+	private final MapSource map;
+	private final long seed;
+	private final int score;
+	private final int levelsWon;
+	private final long ticks;
+	private final String causeOfDeath;
+
+	/**
+	 * Creates a new result.
+	 * @param map			the map the game was played on
+	 * @param seed			the seed of the player's moves
+	 * @param score			the final score of the player
+	 * @param levelsWon		the number of levels the player won
+	 * @param ticks			the number of ticks the game lasted
+	 * @param causeOfDeath	the kind of unit that killed the player,
+	 * 						or <code>null</code> if the player survived
+	 */
+	public GameResult(MapSource map, long seed, int score, int levelsWon, long ticks,
+			String causeOfDeath) {
+		this.map = map;
+		this.seed = seed;
+		this.score = score;
+		this.levelsWon = levelsWon;
+		this.ticks = ticks;
+		this.causeOfDeath = causeOfDeath;
+	}
+
+	/**
+	 * @return The map the game was played on.
+	 */
+	public MapSource getMap() {
+		return map;
+	}
+
+	/**
+	 * @return The seed of the player's moves.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * @return The final score of the player.
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	/**
+	 * @return The number of levels the player won.
+	 */
+	public int getLevelsWon() {
+		return levelsWon;
+	}
+
+	/**
+	 * @return The number of ticks the game lasted.
+	 */
+	public long getTicks() {
+		return ticks;
+	}
+
+	/**
+	 * @return The simple class name of the unit that killed the player,
+	 * 			or <code>null</code> if the player survived.
+	 */
+	public String getCauseOfDeath() {
+		return causeOfDeath;
+	}
+
+	/**
+	 * @return true if the player survived the game.
+	 */
+	public boolean isAlive() {
+		return causeOfDeath == null;
+	}
+
+	@Override
+	public String toString() {
+		return map + " seed " + seed + ": score " + score + ", " + levelsWon
+				+ " levels won in " + ticks + " ticks, killed by " + causeOfDeath;
+	}
+}
@@ -0,0 +1,68 @@
+package nl.tudelft.jpacman.group25.game;
+
+import nl.tudelft.jpacman.group25.level.LevelSnapshot;
+
+/**
+ * The state of a {@link MultiLevelGame} at one moment: the level being
+ * played, how far the game got and a {@link LevelSnapshot} of the level.
+ * It can only be restored on the game it was taken of.
+ */
+public final class GameSnapshot {
+	private final MultiLevelGame game;
+	private final int levelIndex;
+	private final int levelsWon;
+	private final boolean inProgress;
+	private final LevelSnapshot level;
+
+	/**
+	 * Creates a snapshot.
+	 * @param game			the game the snapshot was taken of
+	 * @param levelIndex	the number of the level being played, from 0
+	 * @param levelsWon		the number of levels won
+	 * @param inProgress	whether the game was in progress
+	 * @param level			the snapshot of the level being played
+	 */
+	GameSnapshot(MultiLevelGame game, int levelIndex, int levelsWon, boolean inProgress,
+			LevelSnapshot level) {
+		this.game = game;
+		this.levelIndex = levelIndex;
+		this.levelsWon = levelsWon;
+		this.inProgress = inProgress;
+		this.level = level;
+	}
+
+	/**
+	 * @return The game this snapshot was taken of.
+	 */
+	public MultiLevelGame getGame() {
+		return game;
+	}
+
+	/**
+	 * @return The number of the level that was being played, from 0.
+	 */
+	public int getLevelIndex() {
+		return levelIndex;
+	}
+
+	/**
+	 * @return The number of levels that had been won.
+	 */
+	public int getLevelsWon() {
+		return levelsWon;
+	}
+
+	/**
+	 * @return true if the game was in progress.
+	 */
+	public boolean wasInProgress() {
+		return inProgress;
+	}
+
+	/**
+	 * @return The snapshot of the level that was being played.
+	 */
+	public LevelSnapshot getLevelSnapshot() {
+		return level;
+	}
+}
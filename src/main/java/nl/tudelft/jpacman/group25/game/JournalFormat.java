@@ -0,0 +1,105 @@
+package nl.tudelft.jpacman.group25.game;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import nl.tudelft.jpacman.board.Direction;
+
+/**
+ * Layout of replay journals. A journal starts with the magic number, the
+ * format version byte and the seed of the game as a long, followed by
+ * records that are each
+ * a single unsigned varint. The lowest three bits of a record hold its kind:
+ * the ordinal of the direction of a move, {@link #LEVEL} or {@link #TICKS}.
+ * The other bits hold the number of the unit that moved, the number of the
+ * level that started, or the number of ticks that passed.
+ * Players are numbered first, followed by the NPCs of the level.
+ * Only moves made while a level is in progress are recorded.
+ */
+final class JournalFormat {
+
+	/**
+	 * The first four bytes of every journal, "JPRJ" in ASCII.
+	 */
+	static final int MAGIC = 0x4A50524A;
+
+	/**
+	 * The version of the format.
+	 */
+	static final int VERSION = 2;
+
+	/**
+	 * The kind of a record telling that a level of the game started.
+	 */
+	static final int LEVEL = 4;
+
+	/**
+	 * The kind of a record counting the ticks that passed.
+	 */
+	static final int TICKS = 7;
+
+	/**
+	 * The number of bits holding the kind of a record.
+	 */
+	static final int KIND_BITS = 3;
+
+	/**
+	 * The mask of the bits holding the kind of a record.
+	 */
+	static final int KIND_MASK = (1 << KIND_BITS) - 1;
+
+	/**
+	 * The directions, indexed by their kind.
+	 */
+	static final Direction[] DIRECTIONS = Direction.values();
+
+	private static final int BYTE_BITS = 7;
+	private static final int PAYLOAD = 0x7F;
+	private static final int MORE = 0x80;
+
+	/**
+	 * Private constructor of this utility class.
+	 */
+	private JournalFormat() { }
+
+	/**
+	 * Writes an unsigned varint: seven bits per byte, lowest bits first.
+	 * @param out	the stream to write to
+	 * @param value	the value, treated as unsigned
+	 * @throws IOException when the stream cannot be written.
+	 */
+	static void writeVarint(OutputStream out, long value) throws IOException {
+		long rest = value;
+		while ((rest & ~PAYLOAD) != 0L) {
+			out.write((int) (rest & PAYLOAD) | MORE);
+			rest >>>= BYTE_BITS;
+		}
+		out.write((int) rest);
+	}
+
+	/**
+	 * Reads an unsigned varint.
+	 * @param in	the stream to read from
+	 * @return The value, or -1 at the end of the stream.
+	 * @throws IOException when the stream cannot be read or ends inside a varint.
+	 */
+	static long readVarint(InputStream in) throws IOException {
+		long value = 0L;
+		for (int shift = 0; shift < Long.SIZE; shift += BYTE_BITS) {
+			int next = in.read();
+			if (next < 0 && shift == 0) {
+				return -1L;
+			}
+			if (next < 0) {
+				throw new EOFException("Journal ends inside a record.");
+			}
+			value |= (long) (next & PAYLOAD) << shift;
+			if ((next & MORE) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Journal record is too long.");
+	}
+}
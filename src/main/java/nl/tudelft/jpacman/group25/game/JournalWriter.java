@@ -0,0 +1,146 @@
+package nl.tudelft.jpacman.group25.game;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.group25.level.DrivenLevel;
+import nl.tudelft.jpacman.group25.level.MoveListener;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.npc.NPC;
+
+/**
+ * Writes every move of a game played by a {@link SimulationEngine} to an
+ * append-only journal, which a {@link Replayer} can play back exactly.
+ * The moves of the NPCs are written as well, since they may be random.
+ * A move takes one or two bytes, and a run of ticks without moves takes one.
+ * Writing errors do not interrupt the game; the first one is thrown by
+ * {@link #close()}.
+ */
+public class JournalWriter implements MoveListener, Closeable {
+	private final DataOutputStream out;
+	private final Map<Unit, Integer> unitIds = new IdentityHashMap<>();
+	private DrivenLevel level;
+	private long pendingTicks;
+	private long levels;
+	private IOException failure;
+
+	/**
+	 * Creates a journal and writes its header.
+	 * @param target	the stream to write the journal to
+	 * @param seed		the seed of the game, kept for reference
+	 * @throws IOException when the header cannot be written.
+	 */
+	public JournalWriter(OutputStream target, long seed) throws IOException {
+		this.out = new DataOutputStream(new BufferedOutputStream(target));
+		out.writeInt(JournalFormat.MAGIC);
+		out.writeByte(JournalFormat.VERSION);
+		out.writeLong(seed);
+	}
+
+	/**
+	 * Records that a level started, starts journaling the moves on it and
+	 * stops journaling the level before it. Levels are numbered in the order
+	 * they are attached.
+	 * @param current	the level being played
+	 * @param players	the players of the game
+	 */
+	public synchronized void attach(DrivenLevel current, List<Player> players) {
+		detach();
+		flushTicks();
+		write(((long) levels++ << JournalFormat.KIND_BITS) | JournalFormat.LEVEL);
+		level = current;
+		for (Player player : players) {
+			unitIds.put(player, unitIds.size());
+		}
+		for (NPC npc : current.getNpcs()) {
+			unitIds.put(npc, unitIds.size());
+		}
+		current.addMoveListener(this);
+	}
+
+	/**
+	 * Records that a tick started.
+	 */
+	public synchronized void tick() {
+		pendingTicks++;
+	}
+
+	@Override
+	public synchronized void unitMoved(Unit unit, Direction direction, Square from,
+			Square to) {
+		Integer id = unitIds.get(unit);
+		if (direction == null || id == null) {
+			return;
+		}
+		flushTicks();
+		write(((long) id << JournalFormat.KIND_BITS) | direction.ordinal());
+	}
+
+	/**
+	 * Writes the last ticks and closes the journal.
+	 * @throws IOException when the journal could not be written completely.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		detach();
+		flushTicks();
+		try {
+			out.close();
+		} catch (IOException e) {
+			fail(e);
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * Stops listening to the current level.
+	 */
+	private void detach() {
+		if (level != null) {
+			level.removeMoveListener(this);
+			level = null;
+		}
+		unitIds.clear();
+	}
+
+	/**
+	 * Writes the ticks that passed since the last record.
+	 */
+	private void flushTicks() {
+		if (pendingTicks > 0) {
+			write((pendingTicks << JournalFormat.KIND_BITS) | JournalFormat.TICKS);
+			pendingTicks = 0;
+		}
+	}
+
+	/**
+	 * @param record	the record to write
+	 */
+	private void write(long record) {
+		try {
+			JournalFormat.writeVarint(out, record);
+		} catch (IOException e) {
+			fail(e);
+		}
+	}
+
+	/**
+	 * @param e	an error writing the journal, only the first is kept
+	 */
+	private void fail(IOException e) {
+		if (failure == null) {
+			failure = e;
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package nl.tudelft.jpacman.group25.game;
+
+import nl.tudelft.jpacman.level.Level;
+
+/**
+ * Provides the levels of a {@link MultiLevelGame} one at a time,
+ * when the game gets to them.
+ */
+public interface LevelSupplier {
+
+	/**
+	 * Creates a level of the game. It may be called from another thread
+	 * than the one playing the game, but never for two levels at once.
+	 * @param index	the number of the level, starting at 0
+	 * @return The new level, or <code>null</code> if the game has no level
+	 * 			with this number and ends after the one before it.
+	 */
+	Level createLevel(int index);
+}
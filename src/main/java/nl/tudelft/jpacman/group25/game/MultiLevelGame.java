@@ -1,40 +1,98 @@
 package nl.tudelft.jpacman.group25.game;
 
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.group25.level.DrivenLevel;
+import nl.tudelft.jpacman.group25.metrics.GameMetrics;
 import nl.tudelft.jpacman.level.Level;
 import nl.tudelft.jpacman.level.Player;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * This class contains a basic implementation of a multi-level game.
- * You can win a game, and then start a new one, up to three times.
+ * You can win a game, and then start a new one, up to a given number of times
+ * or until the supplier runs out of levels, so campaigns may be endless.
+ * Levels are only created when they are needed: the next level is built in
+ * the background while the current one is played, and is never built at all
+ * when the game is lost before it gets started. Only the current and the next
+ * level are held, so the length of a campaign does not affect its memory.
+ * When a level is won before the next one is built, the game moves on once
+ * the build is done, on the thread that built it, so the thread that won the
+ * level never waits; {@link #awaitTransition()} waits for it.
+ * When its levels are {@link DrivenLevel}s, a {@link GameSnapshot} of the game
+ * can be taken and restored, even after the game moved on to other levels.
  * @author gerlof
  */
 public class MultiLevelGame extends Game {
-	private Level[] levels;
-	private Player player;
-	private int count = 0;
+	private static final ExecutorService PREFETCHER = Executors.newCachedThreadPool(
+			new ThreadFactoryBuilder().setNameFormat("level-prefetch-%d")
+					.setDaemon(true).build());
+
+	/**
+	 * The level count of games that go on until their supplier runs out.
+	 */
+	public static final int UNLIMITED = Integer.MAX_VALUE;
+
+	private final LevelSupplier levels;
+	private final Object creationLock = new Object();
+	private final Object transitionLock = new Object();
+	private final int levelCount;
+	private final Player player;
+	private volatile Level level;
+	private volatile Prefetch next;
+	private volatile Transition transition;
+	private volatile int count = 0;
+	private int won = 0;
+	private int transitions = 0;
+	private volatile boolean recycling;
 	
+	/**
+	 * Constructor for a multi-level game that goes on as long as the supplier
+	 * has levels.
+	 * @param p			the player
+	 * @param supplier	the supplier of the levels
+	 */
+	public MultiLevelGame(Player p, LevelSupplier supplier) {
+		this(p, supplier, UNLIMITED);
+	}
+
 	/**
 	 * Constructor for the multi-level game.
-	 * @param p	the player
-	 * @param l	the level
+	 * @param p				the player
+	 * @param supplier		the supplier of the levels
+	 * @param levelCount	the largest number of levels, or {@link #UNLIMITED}
 	 */
-	public MultiLevelGame(Player p, Level[] l) {
+	public MultiLevelGame(Player p, LevelSupplier supplier, int levelCount) {
 		assert p != null;
-		assert l != null;
+		assert supplier != null;
+		assert levelCount > 0;
 
 		this.player = p;
-		this.levels = l;
-		levels[count].registerPlayer(p);
+		this.levels = supplier;
+		this.levelCount = levelCount;
+		Level first = supplier.createLevel(count);
+		if (first == null) {
+			throw new PacmanConfigurationException("The game has no levels.");
+		}
+		enter(first);
 	}
 	
 	@Override
 	public Level getLevel() {
-		return this.levels[count];
+		return level;
 	}
 
 	@Override
@@ -42,12 +100,353 @@ public class MultiLevelGame extends Game {
 		return ImmutableList.of(player);
 	}
 	
+	/**
+	 * Moves the player. On levels whose NPCs are moved by a scheduler the
+	 * move is submitted to the level and made by its driver, so the caller,
+	 * such as the event thread of the user interface, never waits for the
+	 * ghosts to move.
+	 * @param p			the player to move
+	 * @param direction	the direction to move in
+	 */
+	@Override
+	public void move(Player p, Direction direction) {
+		Level current = level;
+		if (isInProgress() && current instanceof DrivenLevel
+				&& ((DrivenLevel) current).isScheduled()) {
+			((DrivenLevel) current).submitMove(p, direction);
+		} else {
+			super.move(p, direction);
+		}
+	}
+
+	/**
+	 * @return The number of levels the player has won so far.
+	 */
+	public int getLevelsWon() {
+		return won;
+	}
+	
+	/**
+	 * Lets won levels give their units back to the pools of their factory
+	 * once the next level is entered. Snapshots of recycled levels can no
+	 * longer be restored, so this is off by default.
+	 * @param recycle	whether won levels should be recycled
+	 */
+	public void setRecycling(boolean recycle) {
+		this.recycling = recycle;
+	}
+
+	/**
+	 * @return The number of the level being played, from 0.
+	 */
+	public int getLevelIndex() {
+		return count;
+	}
+
+	/**
+	 * Takes a snapshot of this game. Nothing may move on the level meanwhile.
+	 * @return The snapshot.
+	 */
+	public GameSnapshot snapshot() {
+		Level current;
+		int index;
+		synchronized (transitionLock) {
+			current = level;
+			index = count;
+		}
+		if (!(current instanceof DrivenLevel)) {
+			throw new PacmanConfigurationException(
+					"Only games of driven levels can take snapshots.");
+		}
+		return new GameSnapshot(this, index, won, isInProgress(),
+				((DrivenLevel) current).snapshot());
+	}
+
+	/**
+	 * Puts this game back in the state of a snapshot of it, going back to the
+	 * level of the snapshot if the game moved on. The game is stopped while
+	 * it is restored, and started again if it was in progress.
+	 * @param snapshot	a snapshot taken of this game
+	 */
+	public void restore(GameSnapshot snapshot) {
+		if (snapshot.getGame() != this) {
+			throw new IllegalArgumentException("The snapshot belongs to another game.");
+		}
+		stop();
+		DrivenLevel target = snapshot.getLevelSnapshot().getLevel();
+		synchronized (transitionLock) {
+			transitions++;
+			transition = null;
+			if (target != level) {
+				count = snapshot.getLevelIndex();
+				level = target;
+				prefetch();
+			} else if (next == null) {
+				prefetch();
+			}
+			won = snapshot.getLevelsWon();
+		}
+		target.restore(snapshot.getLevelSnapshot());
+		if (snapshot.wasInProgress()) {
+			start();
+		}
+	}
+
+	/**
+	 * Moves on to the next level, right away if it has been built and
+	 * otherwise as soon as it is, without waiting for it.
+	 */
 	@Override
 	public void levelWon() {
 		super.levelWon();
-		if (count < 2) {
-			count++;
-			levels[count].registerPlayer(player);
+		GameMetrics.LEVELS_WON.increment();
+		won++;
+		Prefetch pending = next;
+		next = null;
+		if (pending != null) {
+			Transition step;
+			synchronized (transitionLock) {
+				step = new Transition(pending, ++transitions);
+				transition = step;
+			}
+			pending.whenDone(step);
+		}
+	}
+
+	/**
+	 * Starts the game. While the level after a won level is still being
+	 * built, the game is started as soon as that level is entered.
+	 */
+	@Override
+	public void start() {
+		Transition step = transition;
+		if (step != null) {
+			step.startWhenEntered = true;
+			if (step.entered.getCount() > 0) {
+				return;
+			}
+		}
+		super.start();
+	}
+
+	/**
+	 * Waits until the game moved on to the level after a won level, if that
+	 * level was still being built when the level was won. Drivers that go on
+	 * playing right after a level, like the {@link SimulationEngine}, call
+	 * this first. It must not be called from within a move.
+	 * @throws PacmanConfigurationException when the next level could not be built.
+	 */
+	public void awaitTransition() {
+		Transition step = transition;
+		if (step == null) {
+			return;
+		}
+		try {
+			step.entered.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PacmanConfigurationException("Interrupted while creating level.", e);
+		}
+		if (step.failure != null) {
+			throw step.failure;
+		}
+	}
+
+	@Override
+	public void levelLost() {
+		super.levelLost();
+		GameMetrics.LEVELS_LOST.increment();
+		discardNext();
+	}
+
+	/**
+	 * Stops building the level after the current one. If it was built
+	 * already, it gives its units back to the pools of its factory; a level
+	 * that failed to build is ignored.
+	 * Games that are over call this so their next level does not hold on to
+	 * pooled units; it is also done when a level is lost.
+	 */
+	public void discardNext() {
+		Future<Level> pending = next;
+		next = null;
+		if (pending == null || pending.cancel(false)) {
+			return;
+		}
+		Level built;
+		try {
+			built = pending.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		} catch (ExecutionException e) {
+			return;
+		}
+		if (built instanceof DrivenLevel) {
+			((DrivenLevel) built).recycle();
+		}
+	}
+
+	/**
+	 * Registers the player on a level and starts building the level after it.
+	 * @param current	the level to be played now
+	 */
+	private void enter(Level current) {
+		level = current;
+		current.registerPlayer(player);
+		GameMetrics.LEVELS_STARTED.increment();
+		prefetch();
+	}
+
+	/**
+	 * Starts building the level after the current one, if there is one,
+	 * instead of the level that was being built. A cancelled level that is
+	 * already being built is finished first, so the supplier never builds
+	 * two levels of this game at once.
+	 */
+	private void prefetch() {
+		discardNext();
+		final int index = count + 1;
+		if (count < levelCount - 1) {
+			Prefetch build = new Prefetch(new Callable<Level>() {
+				@Override
+				public Level call() {
+					synchronized (creationLock) {
+						return levels.createLevel(index);
+					}
+				}
+			});
+			next = build;
+			PREFETCHER.execute(build);
+		}
+	}
+
+	/**
+	 * Enters the level built for a transition, unless the game was restored
+	 * since the level was won; that level is given back to its pools.
+	 * @param step	the transition whose level has been built
+	 * @return Whether the transition was still current.
+	 */
+	private boolean advance(Transition step) {
+		Level following = await(step.pending);
+		Level previous = level;
+		boolean current;
+		synchronized (transitionLock) {
+			current = step.generation == transitions;
+			if (current) {
+				transition = null;
+				if (following != null) {
+					count++;
+					enter(following);
+				}
+			}
+		}
+		if (!current) {
+			recycle(following);
+		} else if (following != null && recycling) {
+			recycle(previous);
+		}
+		return current;
+	}
+
+	/**
+	 * @param done	a level that is no longer played, may be null
+	 */
+	private static void recycle(Level done) {
+		if (done instanceof DrivenLevel) {
+			((DrivenLevel) done).recycle();
+		}
+	}
+
+	/**
+	 * Waits for a level that is being built in the background.
+	 * @param pending	the level being built
+	 * @return The level.
+	 */
+	private static Level await(Future<Level> pending) {
+		try {
+			return pending.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PacmanConfigurationException("Interrupted while creating level.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new PacmanConfigurationException("Unable to create level.", e.getCause());
+		}
+	}
+
+	/**
+	 * The build of the level after the current one, which tells a transition
+	 * when it is done.
+	 */
+	private static final class Prefetch extends FutureTask<Level> {
+		private volatile Runnable onDone;
+
+		/**
+		 * @param build	builds the level
+		 */
+		private Prefetch(Callable<Level> build) {
+			super(build);
+		}
+
+		/**
+		 * Runs a task once the level is built, or right away if it is.
+		 * The task may run twice and has to ignore the second run.
+		 * @param task	the task to run
+		 */
+		private void whenDone(Runnable task) {
+			onDone = task;
+			if (isDone()) {
+				task.run();
+			}
+		}
+
+		@Override
+		protected void done() {
+			Runnable task = onDone;
+			if (task != null) {
+				task.run();
+			}
+		}
+	}
+
+	/**
+	 * Moving on from a won level to the level after it.
+	 */
+	private final class Transition implements Runnable {
+		private final Prefetch pending;
+		private final int generation;
+		private final CountDownLatch entered = new CountDownLatch(1);
+		private final AtomicBoolean claimed = new AtomicBoolean();
+		private volatile boolean startWhenEntered;
+		private volatile RuntimeException failure;
+
+		/**
+		 * @param pending		the build of the next level
+		 * @param generation	the number of the transition
+		 */
+		private Transition(Prefetch pending, int generation) {
+			this.pending = pending;
+			this.generation = generation;
+		}
+
+		@Override
+		public void run() {
+			if (!claimed.compareAndSet(false, true)) {
+				return;
+			}
+			boolean current = false;
+			try {
+				current = advance(this);
+			} catch (RuntimeException e) {
+				failure = e;
+			} finally {
+				entered.countDown();
+			}
+			if (current && startWhenEntered) {
+				start();
+			}
 		}
 	}
 }
@@ -0,0 +1,19 @@
+package nl.tudelft.jpacman.group25.game;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Player;
+
+/**
+ * Decides the moves of a player in a game that is played without a user interface.
+ */
+public interface PlayerController {
+
+	/**
+	 * Decides the next move of the player.
+	 * @param level		the level that is being played
+	 * @param player	the player to move
+	 * @return The direction to move in, or <code>null</code> to stay put.
+	 */
+	Direction nextMove(Level level, Player player);
+}
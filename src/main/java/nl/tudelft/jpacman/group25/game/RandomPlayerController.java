@@ -0,0 +1,30 @@
+package nl.tudelft.jpacman.group25.game;
+
+import java.util.Random;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Player;
+
+/**
+ * Moves the player in a random direction every tick.
+ * Controllers created with the same seed make the same sequence of moves.
+ */
+public class RandomPlayerController implements PlayerController {
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private final Random random;
+
+	/**
+	 * Creates a new random controller.
+	 * @param seed	the seed of the random moves
+	 */
+	public RandomPlayerController(long seed) {
+		this.random = new Random(seed);
+	}
+
+	@Override
+	public Direction nextMove(Level level, Player player) {
+		return DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+	}
+}
@@ -0,0 +1,101 @@
+package nl.tudelft.jpacman.group25.game;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.group25.HeadlessMultiLevelLauncher;
+import nl.tudelft.jpacman.group25.level.DrivenLevel;
+import nl.tudelft.jpacman.group25.level.MapSource;
+import nl.tudelft.jpacman.level.Player;
+
+/**
+ * Plays back a journal written by a {@link JournalWriter}, as fast as
+ * possible and without any timing: every move of the journal is made again on
+ * a new headless game of the same map, players and NPCs alike.
+ */
+public class Replayer {
+	private final MapSource map;
+
+	/**
+	 * Creates a replayer for games of a map.
+	 * @param map	the map the journaled games were played on
+	 */
+	public Replayer(MapSource map) {
+		assert map != null;
+		this.map = map;
+	}
+
+	/**
+	 * Plays back a journal.
+	 * @param journal	the stream holding the journal
+	 * @return The outcome of the game, as it was when the journal ended.
+	 * @throws IOException when the journal cannot be read or is not a journal.
+	 */
+	public GameResult replay(InputStream journal) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(journal));
+		if (in.readInt() != JournalFormat.MAGIC
+				|| in.readUnsignedByte() != JournalFormat.VERSION) {
+			throw new IOException("Not a replay journal.");
+		}
+		long seed = in.readLong();
+		MultiLevelGame game = (MultiLevelGame) new HeadlessMultiLevelLauncher(map).makeGame();
+		long ticks = 0L;
+		for (long record = JournalFormat.readVarint(in); record >= 0L;
+				record = JournalFormat.readVarint(in)) {
+			int kind = (int) (record & JournalFormat.KIND_MASK);
+			long payload = record >>> JournalFormat.KIND_BITS;
+			if (kind == JournalFormat.TICKS) {
+				ticks += payload;
+			} else if (kind == JournalFormat.LEVEL) {
+				startLevel(game, payload);
+			} else {
+				move(game, (int) payload, JournalFormat.DIRECTIONS[kind]);
+			}
+		}
+		Player player = game.getPlayers().get(0);
+		return new GameResult(map, seed, player.getScore(), game.getLevelsWon(), ticks,
+				BatchRunner.causeOfDeath(player));
+	}
+
+	/**
+	 * Starts a journaled level, which the game should have moved on to.
+	 * @param game	the game being replayed
+	 * @param index	the number of the level that started
+	 * @throws IOException when the game is at another level.
+	 */
+	private static void startLevel(MultiLevelGame game, long index) throws IOException {
+		game.awaitTransition();
+		if (game.getLevelIndex() != index) {
+			throw new IOException("Journal starts level " + index + " while the game is at "
+					+ game.getLevelIndex());
+		}
+		game.start();
+	}
+
+	/**
+	 * Makes a journaled move.
+	 * @param game		the game being replayed
+	 * @param unitId	the number of the unit that moved
+	 * @param direction	the direction it moved in
+	 * @throws IOException when the unit does not exist.
+	 */
+	private static void move(MultiLevelGame game, int unitId, Direction direction)
+			throws IOException {
+		DrivenLevel level = (DrivenLevel) game.getLevel();
+		List<Player> players = game.getPlayers();
+		Unit unit;
+		if (unitId < players.size()) {
+			unit = players.get(unitId);
+		} else if (unitId - players.size() < level.getNpcs().size()) {
+			unit = level.getNpcs().get(unitId - players.size());
+		} else {
+			throw new IOException("Journal moves unknown unit " + unitId);
+		}
+		level.move(unit, direction);
+	}
+}
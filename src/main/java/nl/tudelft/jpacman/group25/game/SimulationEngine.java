@@ -0,0 +1,237 @@
+package nl.tudelft.jpacman.group25.game;
+
+import java.util.List;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.group25.level.DrivenLevel;
+import nl.tudelft.jpacman.group25.metrics.GameMetrics;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.npc.NPC;
+
+/**
+ * Plays a game without user interface and without timers.
+ * Time is a logical clock that advances a fixed number of milliseconds per
+ * {@link #tick}. NPCs move whenever their interval has elapsed on that clock,
+ * so a game runs as fast as the CPU allows and the order of moves only
+ * depends on the intervals of the NPCs.
+ * All levels of the game have to be {@link DrivenLevel}s.
+ * With a {@link JournalWriter} every tick and move is recorded, so the game
+ * can be played back by a {@link Replayer}.
+ */
+public class SimulationEngine {
+
+	/**
+	 * The default number of logical milliseconds that pass per tick.
+	 */
+	public static final long DEFAULT_TICK_LENGTH = 50L;
+
+	private final Game game;
+	private final long tickLength;
+	private long clock;
+	private long ticks;
+
+	private DrivenLevel level;
+	private NPC[] npcs;
+	private long[] due;
+	private JournalWriter journal;
+
+	/**
+	 * Creates an engine that uses the default tick length.
+	 * @param game	the game to play
+	 */
+	public SimulationEngine(Game game) {
+		this(game, DEFAULT_TICK_LENGTH);
+	}
+
+	/**
+	 * Creates a new engine.
+	 * @param game			the game to play
+	 * @param tickLength	the number of logical milliseconds per tick
+	 */
+	public SimulationEngine(Game game, long tickLength) {
+		assert game != null;
+		assert tickLength > 0;
+
+		this.game = game;
+		this.tickLength = tickLength;
+	}
+
+	/**
+	 * @return The game played by this engine.
+	 */
+	public Game getGame() {
+		return game;
+	}
+
+	/**
+	 * @return The logical time in milliseconds.
+	 */
+	public long getClock() {
+		return clock;
+	}
+
+	/**
+	 * @return The number of ticks played so far.
+	 */
+	public long getTicks() {
+		return ticks;
+	}
+
+	/**
+	 * Records the ticks and moves of the game from now on.
+	 * Closing the journal is left to the caller.
+	 * @param writer	the journal to write to, or <code>null</code> to stop recording
+	 */
+	public void setJournal(JournalWriter writer) {
+		this.journal = writer;
+		if (writer != null && level != null) {
+			writer.attach(level, game.getPlayers());
+		}
+	}
+
+	/**
+	 * Starts the game, or continues it with the next level after a level
+	 * has been won. It does not wait for that level to be built: a
+	 * {@link MultiLevelGame} is then started once it moved on to the level.
+	 * @return true if the game is in progress afterwards.
+	 */
+	public boolean resume() {
+		if (!game.isInProgress()) {
+			game.start();
+		}
+		return game.isInProgress();
+	}
+
+	/**
+	 * Moves a player at the start of the next tick. It can be called from any
+	 * thread, such as an input thread, without waiting for the tick to end.
+	 * The move is ignored when the game is not in progress.
+	 * @param player	the player to move
+	 * @param direction	the direction to move in
+	 */
+	public void move(Player player, Direction direction) {
+		Level current = game.getLevel();
+		if (game.isInProgress() && current instanceof DrivenLevel) {
+			((DrivenLevel) current).submitMove(player, direction);
+		}
+	}
+
+	/**
+	 * Advances the clock by one tick, first making the moves submitted through
+	 * {@link #move}, then moving the players as decided by the controller,
+	 * then moving all NPCs whose interval has elapsed and finally publishing the
+	 * changes of the tick to the change listeners of the level.
+	 * @param controller	decides the moves of the players, may be null
+	 * @return true if the game is still in progress after this tick.
+	 */
+	public boolean tick(PlayerController controller) {
+		if (!game.isInProgress()) {
+			return false;
+		}
+		long start = GameMetrics.startTimer();
+		schedule(game.getLevel());
+		clock += tickLength;
+		ticks++;
+		if (journal != null) {
+			journal.tick();
+		}
+		level.applySubmittedMoves();
+		if (controller != null && game.isInProgress()) {
+			movePlayers(controller);
+		}
+		for (int i = 0; i < npcs.length && game.isInProgress(); i++) {
+			moveWhenDue(i);
+		}
+		level.publishChanges();
+		GameMetrics.TICK_TIME.recordSince(start);
+		GameMetrics.TICKS.increment();
+		return game.isInProgress();
+	}
+
+	/**
+	 * Plays the game until it is over or the maximum number of ticks is reached.
+	 * Won levels are followed by the next level of the game, if there is one.
+	 * @param controller	decides the moves of the players, may be null
+	 * @param maxTicks		the maximum number of ticks to play
+	 * @return The number of ticks that were played.
+	 */
+	public long run(PlayerController controller, long maxTicks) {
+		long played = 0;
+		while (played < maxTicks && resumeWhenEntered()) {
+			tick(controller);
+			played++;
+		}
+		return played;
+	}
+
+	/**
+	 * Resumes the game once a multi-level game moved on to the level after
+	 * a won level.
+	 * @return true if the game is in progress afterwards.
+	 */
+	private boolean resumeWhenEntered() {
+		if (game instanceof MultiLevelGame) {
+			((MultiLevelGame) game).awaitTransition();
+		}
+		return resume();
+	}
+
+	/**
+	 * Moves all players as decided by the controller.
+	 * @param controller	the controller of the players
+	 */
+	private void movePlayers(PlayerController controller) {
+		List<Player> players = game.getPlayers();
+		for (Player player : players) {
+			Direction direction = controller.nextMove(level, player);
+			if (direction != null) {
+				game.move(player, direction);
+			}
+		}
+	}
+
+	/**
+	 * Moves an NPC as often as its interval has elapsed on the clock.
+	 * @param index	the index of the NPC
+	 */
+	private void moveWhenDue(int index) {
+		NPC npc = npcs[index];
+		while (due[index] <= clock && game.isInProgress()) {
+			long start = GameMetrics.startTimer();
+			Direction nextMove = npc.nextMove();
+			GameMetrics.GHOST_AI_TIME.recordSince(start);
+			if (nextMove != null) {
+				level.move(npc, nextMove);
+			}
+			due[index] += npc.getInterval();
+		}
+	}
+
+	/**
+	 * Plans the first moves of the NPCs when the game switched to a new level.
+	 * Like a regular level, NPCs make their first move after half their interval.
+	 * @param current	the level that is being played
+	 */
+	private void schedule(Level current) {
+		if (current == level) {
+			return;
+		}
+		if (!(current instanceof DrivenLevel)) {
+			throw new PacmanConfigurationException(
+					"The simulation engine can only play driven levels.");
+		}
+		level = (DrivenLevel) current;
+		List<NPC> levelNpcs = level.getNpcs();
+		npcs = levelNpcs.toArray(new NPC[levelNpcs.size()]);
+		due = new long[npcs.length];
+		if (journal != null) {
+			journal.attach(level, game.getPlayers());
+		}
+		for (int i = 0; i < npcs.length; i++) {
+			due[i] = clock + npcs[i].getInterval() / 2;
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package nl.tudelft.jpacman.group25.level;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+
+/**
+ * Layout of compiled levels. A compiled level starts with the magic number,
+ * the format version, the width and the height, followed by one four-bit code
+ * per square, row by row, with the first square of every byte in its high bits.
+ */
+final class BinaryLevelFormat {
+
+	/**
+	 * The first four bytes of every compiled level, "JPLV" in ASCII.
+	 */
+	static final int MAGIC = 0x4A504C56;
+
+	/**
+	 * The version of the format.
+	 */
+	static final byte VERSION = 1;
+
+	/**
+	 * The number of bytes before the codes of the squares.
+	 */
+	static final int HEADER_SIZE = 13;
+
+	/**
+	 * The map characters, indexed by their code.
+	 */
+	private static final String CHARACTERS = " #.GP";
+
+	/**
+	 * Private constructor of this utility class.
+	 */
+	private BinaryLevelFormat() { }
+
+	/**
+	 * @param x	the x coordinate of the square
+	 * @param y	the y coordinate of the square
+	 * @param c	a map character
+	 * @return The code of the character.
+	 */
+	static int encode(int x, int y, char c) {
+		int code = CHARACTERS.indexOf(c);
+		if (code < 0) {
+			throw new PacmanConfigurationException("Invalid character at "
+					+ x + "," + y + ": " + c);
+		}
+		return code;
+	}
+
+	/**
+	 * @param code	the code of a square
+	 * @return The map character of the code.
+	 */
+	static char decode(int code) {
+		if (code >= CHARACTERS.length()) {
+			throw new PacmanConfigurationException("Invalid square code: " + code);
+		}
+		return CHARACTERS.charAt(code);
+	}
+
+	/**
+	 * @param width		the width of the board
+	 * @param height	the height of the board
+	 * @return The number of bytes holding the codes of the squares.
+	 */
+	static int dataSize(int width, int height) {
+		long cells = (long) width * height;
+		if (width <= 0 || height <= 0 || cells > 2L * (Integer.MAX_VALUE - HEADER_SIZE)) {
+			throw new PacmanConfigurationException("Invalid board size: "
+					+ width + "x" + height);
+		}
+		return (int) ((cells + 1) / 2);
+	}
+}
@@ -0,0 +1,88 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.Level;
+
+/**
+ * Builds levels straight from the binary format written by the
+ * {@link LevelCompiler}, without any text processing.
+ */
+public final class BinaryLevelLoader {
+	private static final int NIBBLE = 4;
+	private static final int NIBBLE_MASK = 0xF;
+
+	/**
+	 * Private constructor of this utility class.
+	 */
+	private BinaryLevelLoader() { }
+
+	/**
+	 * Loads a compiled level from a file, which is memory-mapped.
+	 * @param file		the file holding the compiled level
+	 * @param assembler	the assembler of the new level
+	 * @return The new level.
+	 * @throws IOException when the file cannot be read.
+	 */
+	public static Level load(Path file, LevelAssembler assembler) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			MappedByteBuffer data = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			return load(data, assembler);
+		}
+	}
+
+	/**
+	 * Loads a compiled level from the remaining bytes of a buffer.
+	 * @param data		the compiled level
+	 * @param assembler	the assembler of the new level
+	 * @return The new level.
+	 */
+	public static Level load(ByteBuffer data, LevelAssembler assembler) {
+		if (data.remaining() < BinaryLevelFormat.HEADER_SIZE
+				|| data.getInt() != BinaryLevelFormat.MAGIC) {
+			throw new PacmanConfigurationException("Not a compiled level.");
+		}
+		if (data.get() != BinaryLevelFormat.VERSION) {
+			throw new PacmanConfigurationException("Unsupported compiled level version.");
+		}
+		int width = data.getInt();
+		int height = data.getInt();
+		if (data.remaining() < BinaryLevelFormat.dataSize(width, height)) {
+			throw new PacmanConfigurationException("Compiled level is truncated.");
+		}
+
+		Square[][] grid = new Square[width][height];
+		int base = data.position();
+		int cell = 0;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				char c = BinaryLevelFormat.decode(code(data, base, cell));
+				grid[x][y] = assembler.makeSquare(x, y, c);
+				cell++;
+			}
+		}
+		return assembler.createLevel(grid);
+	}
+
+	/**
+	 * @param data	the compiled level
+	 * @param base	the position of the first code
+	 * @param cell	the number of the square
+	 * @return The code of the square.
+	 */
+	private static int code(ByteBuffer data, int base, int cell) {
+		int packed = data.get(base + cell / 2);
+		if (cell % 2 == 0) {
+			return (packed >> NIBBLE) & NIBBLE_MASK;
+		}
+		return packed & NIBBLE_MASK;
+	}
+}
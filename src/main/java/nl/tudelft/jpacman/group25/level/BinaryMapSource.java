@@ -0,0 +1,55 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.level.Level;
+
+/**
+ * A map compiled by the {@link LevelCompiler}, loaded by memory-mapping its file.
+ */
+public class BinaryMapSource implements MapSource {
+	private final Path file;
+
+	/**
+	 * Creates a map from a compiled level file.
+	 * @param file	the file holding the compiled level
+	 */
+	public BinaryMapSource(Path file) {
+		assert file != null;
+		this.file = file;
+	}
+
+	/**
+	 * @return The file holding the compiled level.
+	 */
+	public Path getFile() {
+		return file;
+	}
+
+	@Override
+	public Level load(LevelAssembler assembler) {
+		try {
+			return BinaryLevelLoader.load(file, assembler);
+		} catch (IOException e) {
+			throw new PacmanConfigurationException("Unable to create level.", e);
+		}
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof BinaryMapSource
+				&& file.equals(((BinaryMapSource) other).file);
+	}
+
+	@Override
+	public int hashCode() {
+		return file.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return file.toString();
+	}
+}
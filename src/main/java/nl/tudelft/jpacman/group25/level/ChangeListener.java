@@ -0,0 +1,16 @@
+package nl.tudelft.jpacman.group25.level;
+
+/**
+ * Is told what changed on a {@link DrivenLevel} during each tick.
+ */
+public interface ChangeListener {
+
+	/**
+	 * Called when the driver of the level ends a tick, by the thread of the
+	 * driver. The change set is reused for the next tick, so it is only valid
+	 * during this call; listeners that need it later have to copy it.
+	 * @param level		the level that changed
+	 * @param changes	what changed during the tick
+	 */
+	void tickCompleted(DrivenLevel level, ChangeSet changes);
+}
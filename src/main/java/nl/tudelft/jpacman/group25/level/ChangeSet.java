@@ -0,0 +1,215 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.Player;
+
+/**
+ * What changed on a {@link DrivenLevel} during one tick: the units that moved,
+ * the pellets that were eaten and how the scores of the players changed.
+ * A unit that moved several times is listed once, from the square it started
+ * the tick on to the square it ended on; units that tried to move but stayed
+ * where they were are left out. Units are numbered like in replay
+ * journals: the players in the order they registered, followed by the NPCs.
+ * A change set is a buffer that the level fills again every tick; its arrays
+ * only grow when a tick has more changes than any tick before, so recording
+ * changes does not allocate in the long run.
+ */
+public final class ChangeSet {
+	private static final int INITIAL_SIZE = 16;
+	private static final int NONE = -1;
+
+	private Unit[] units = new Unit[INITIAL_SIZE];
+	private int[] unitIndices = new int[INITIAL_SIZE];
+	private Square[] from = new Square[INITIAL_SIZE];
+	private Square[] to = new Square[INITIAL_SIZE];
+	private int moveCount;
+	private int[] moveOf = new int[0];
+	private Square[] eaten = new Square[INITIAL_SIZE];
+	private int eatenCount;
+	private long pointsEaten;
+	private List<Player> players = Collections.emptyList();
+	private int[] startScores = new int[0];
+
+	/**
+	 * Creates an empty change set.
+	 */
+	ChangeSet() {
+	}
+
+	/**
+	 * @return The number of units that moved.
+	 */
+	public int getMoveCount() {
+		return moveCount;
+	}
+
+	/**
+	 * @param move	the number of the move, below {@link #getMoveCount()}
+	 * @return The unit that moved.
+	 */
+	public Unit getUnit(int move) {
+		return units[move];
+	}
+
+	/**
+	 * @param move	the number of the move, below {@link #getMoveCount()}
+	 * @return The number of the unit that moved.
+	 */
+	public int getUnitIndex(int move) {
+		return unitIndices[move];
+	}
+
+	/**
+	 * @param move	the number of the move, below {@link #getMoveCount()}
+	 * @return The square the unit started the tick on, or <code>null</code> if it
+	 * 			was put on the board during the tick.
+	 */
+	public Square getFrom(int move) {
+		return from[move];
+	}
+
+	/**
+	 * @param move	the number of the move, below {@link #getMoveCount()}
+	 * @return The square the unit ended the tick on, may be <code>null</code>.
+	 */
+	public Square getTo(int move) {
+		return to[move];
+	}
+
+	/**
+	 * @return The number of pellets eaten.
+	 */
+	public int getEatenCount() {
+		return eatenCount;
+	}
+
+	/**
+	 * @param pellet	the number of the eaten pellet, below {@link #getEatenCount()}
+	 * @return The square the pellet was eaten on.
+	 */
+	public Square getEatenSquare(int pellet) {
+		return eaten[pellet];
+	}
+
+	/**
+	 * @return The total value of the pellets eaten.
+	 */
+	public long getPointsEaten() {
+		return pointsEaten;
+	}
+
+	/**
+	 * @return The number of players of the level.
+	 */
+	public int getPlayerCount() {
+		return players.size();
+	}
+
+	/**
+	 * @param player	the number of a player, below {@link #getPlayerCount()}
+	 * @return How much the score of the player changed.
+	 */
+	public int getScoreDelta(int player) {
+		int start = 0;
+		if (player < startScores.length) {
+			start = startScores[player];
+		}
+		return players.get(player).getScore() - start;
+	}
+
+	/**
+	 * @return true if nothing changed.
+	 */
+	public boolean isEmpty() {
+		return moveCount == 0 && eatenCount == 0;
+	}
+
+	/**
+	 * Forgets all changes and starts recording a new tick.
+	 * @param levelPlayers	the players of the level
+	 * @param unitCount		the number of units of the level
+	 */
+	void reset(List<Player> levelPlayers, int unitCount) {
+		for (int i = 0; i < moveCount; i++) {
+			moveOf[unitIndices[i]] = NONE;
+			units[i] = null;
+			from[i] = null;
+			to[i] = null;
+		}
+		Arrays.fill(eaten, 0, eatenCount, null);
+		moveCount = 0;
+		eatenCount = 0;
+		pointsEaten = 0L;
+		if (moveOf.length < unitCount) {
+			moveOf = new int[unitCount];
+			Arrays.fill(moveOf, NONE);
+		}
+		players = levelPlayers;
+		if (startScores.length < levelPlayers.size()) {
+			startScores = new int[levelPlayers.size()];
+		}
+		for (int i = 0; i < levelPlayers.size(); i++) {
+			startScores[i] = levelPlayers.get(i).getScore();
+		}
+	}
+
+	/**
+	 * Records a move, merging it with an earlier move of the unit.
+	 * @param index		the number of the unit
+	 * @param unit		the unit that moved
+	 * @param source	the square it left, may be null
+	 * @param target	the square it is on now, may be null
+	 */
+	void recordMove(int index, Unit unit, Square source, Square target) {
+		if (index >= moveOf.length) {
+			int old = moveOf.length;
+			moveOf = Arrays.copyOf(moveOf, index + 1);
+			Arrays.fill(moveOf, old, moveOf.length, NONE);
+		}
+		int move = moveOf[index];
+		if (move == NONE && source == target) {
+			return;
+		}
+		if (move == NONE) {
+			move = moveCount++;
+			ensureMoves(moveCount);
+			moveOf[index] = move;
+			units[move] = unit;
+			unitIndices[move] = index;
+			from[move] = source;
+		}
+		to[move] = target;
+	}
+
+	/**
+	 * Records an eaten pellet.
+	 * @param square	the square the pellet was on
+	 * @param points	the value of the pellet
+	 */
+	void recordEaten(Square square, long points) {
+		if (eatenCount == eaten.length) {
+			eaten = Arrays.copyOf(eaten, eaten.length * 2);
+		}
+		eaten[eatenCount++] = square;
+		pointsEaten += points;
+	}
+
+	/**
+	 * @param size	the number of moves to make room for
+	 */
+	private void ensureMoves(int size) {
+		if (size <= units.length) {
+			return;
+		}
+		int length = Math.max(size, units.length * 2);
+		units = Arrays.copyOf(units, length);
+		unitIndices = Arrays.copyOf(unitIndices, length);
+		from = Arrays.copyOf(from, length);
+		to = Arrays.copyOf(to, length);
+	}
+}
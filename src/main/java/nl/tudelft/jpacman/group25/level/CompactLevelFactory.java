@@ -0,0 +1,69 @@
+package nl.tudelft.jpacman.group25.level;
+
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+/**
+ * Level factory whose pellets are absorbed by the ground squares of a
+ * {@link nl.tudelft.jpacman.group25.board.CompactBoardFactory}, so they
+ * cost no memory of their own. On other boards they are regular pellets.
+ * Given {@link UnitPools}, pellets with the sprite of this factory are taken
+ * from the pools when they can be, so a board never mixes the sprites of
+ * different sprite stores.
+ */
+public class CompactLevelFactory extends LevelFactory {
+
+	/**
+	 * The value of a pellet, the same as that of the framework's pellets.
+	 */
+	public static final int PELLET_VALUE = 10;
+
+	private final PacManSprites sprites;
+	private final UnitPools pools;
+
+	/**
+	 * Creates a new level factory.
+	 * @param spriteStore	the sprite provider
+	 * @param ghostFactory	the factory providing ghosts
+	 */
+	public CompactLevelFactory(PacManSprites spriteStore, GhostFactory ghostFactory) {
+		this(spriteStore, ghostFactory, null);
+	}
+
+	/**
+	 * Creates a new level factory that reuses pellets.
+	 * @param spriteStore	the sprite provider
+	 * @param ghostFactory	the factory providing ghosts
+	 * @param pools			the pools to take pellets from, may be null
+	 */
+	public CompactLevelFactory(PacManSprites spriteStore, GhostFactory ghostFactory,
+			UnitPools pools) {
+		super(spriteStore, ghostFactory);
+		this.sprites = spriteStore;
+		this.pools = pools;
+	}
+
+	/**
+	 * @return The pools units are taken from, or <code>null</code> if units
+	 * 			are not reused.
+	 */
+	protected UnitPools getPools() {
+		return pools;
+	}
+
+	@Override
+	public Pellet createPellet() {
+		if (pools == null) {
+			return new CompactPellet(PELLET_VALUE, sprites.getPelletSprite());
+		}
+		Sprite sprite = sprites.getPelletSprite();
+		CompactPellet pellet = pools.acquire(CompactPellet.class, sprite);
+		if (pellet == null) {
+			pellet = new CompactPellet(PELLET_VALUE, sprite, pools);
+		}
+		return pellet;
+	}
+}
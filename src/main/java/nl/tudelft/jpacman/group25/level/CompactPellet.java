@@ -0,0 +1,56 @@
+package nl.tudelft.jpacman.group25.level;
+
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.group25.board.CompactGround;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+/**
+ * A pellet that dissolves into the pellet layer when placed on a
+ * {@link CompactGround}, and behaves like a regular pellet elsewhere.
+ * A dissolved pellet goes back to its pool right away, so filling a compact
+ * board with pooled pellets takes a single pellet. Pooled pellets are kept
+ * apart by their sprite.
+ */
+public class CompactPellet extends Pellet implements Pooled {
+	private final UnitPools pool;
+
+	/**
+	 * Creates a new pellet.
+	 * @param points	the value of the pellet
+	 * @param sprite	the sprite of the pellet
+	 */
+	public CompactPellet(int points, Sprite sprite) {
+		this(points, sprite, null);
+	}
+
+	/**
+	 * Creates a new pellet that goes back to a pool when it dissolves.
+	 * @param points	the value of the pellet
+	 * @param sprite	the sprite of the pellet
+	 * @param pool		the pool to return to, may be null
+	 */
+	public CompactPellet(int points, Sprite sprite, UnitPools pool) {
+		super(points, sprite);
+		this.pool = pool;
+	}
+
+	/**
+	 * @return The sprite of this pellet.
+	 */
+	@Override
+	public Object getSpriteOrigin() {
+		return getSprite();
+	}
+
+	@Override
+	public void occupy(Square target) {
+		if (target instanceof CompactGround && ((CompactGround) target).absorb(this)) {
+			if (pool != null) {
+				pool.release(this);
+			}
+			return;
+		}
+		super.occupy(target);
+	}
+}
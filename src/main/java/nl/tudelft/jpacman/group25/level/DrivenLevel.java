@@ -0,0 +1,507 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.group25.board.OccupancyIndex;
+import nl.tudelft.jpacman.group25.board.RoutingIndex;
+import nl.tudelft.jpacman.group25.board.SightIndex;
+import nl.tudelft.jpacman.group25.metrics.GameMetrics;
+import nl.tudelft.jpacman.group25.npc.ghost.RoutedBlinky;
+import nl.tudelft.jpacman.level.CollisionMap;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.npc.NPC;
+import nl.tudelft.jpacman.npc.ghost.Ghost;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A level whose NPCs are not moved by executors of their own.
+ * Starting and stopping this level only toggles its state, moving the
+ * NPCs is left to an external driver such as the
+ * {@link nl.tudelft.jpacman.group25.game.SimulationEngine}, or to an
+ * {@link NpcScheduler} shared with other levels.
+ * When the level holds {@link RoutedBlinky}s, it builds the routing index
+ * they share while the level is loaded.
+ * Moves can also be submitted from other threads without blocking; the
+ * driver makes them all from its own thread, so only one thread ever
+ * waits for the move lock. A scheduler is woken as soon as a move is
+ * submitted.
+ * Units are moved under a lock of the level, together with the updates of
+ * its indices, so the indices stay right when units move from several threads.
+ * The pellets on the board are counted once, after that the count is kept
+ * up to date by the collisions that eat them.
+ * A {@link LevelSnapshot} of the level can be taken and restored at any
+ * time; moves wait meanwhile.
+ * NPCs can look along rows and columns through its {@link SightIndex}.
+ * Whoever drives the level can {@link #publishChanges() publish} what changed
+ * during each tick as a {@link ChangeSet} to {@link ChangeListener}s; changes
+ * are only recorded while there are change listeners.
+ * Levels created with {@link UnitPools} give their pellets and ghosts back to
+ * the pools when they are {@link #recycle() recycled}.
+ */
+public class DrivenLevel extends Level {
+	private static final List<Class<? extends Unit>> UNIT_KINDS =
+			ImmutableList.<Class<? extends Unit>>of(Player.class, Ghost.class, Pellet.class);
+
+	private final List<NPC> npcs;
+	private final PelletTracker pellets;
+	private final List<Player> players = new CopyOnWriteArrayList<>();
+	private final List<Player> playerView = Collections.unmodifiableList(players);
+	private final RoutingIndex routes;
+	private final MoveQueue submitted = new MoveQueue();
+	private final List<MoveListener> moveListeners = new CopyOnWriteArrayList<>();
+	private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+	private final ChangeSet changes = new ChangeSet();
+	private final Map<Unit, Integer> npcIndices = new IdentityHashMap<>();
+	private final NpcScheduler scheduler;
+	private final Object startStopLock = new Object();
+	private final Object unitLock = new Object();
+	private volatile boolean inProgress;
+	private volatile OccupancyIndex occupancy;
+	private volatile SightIndex sight;
+	private volatile UnitPools pools;
+	private boolean recycled;
+
+	/**
+	 * Creates a new level for the board.
+	 * @param b					the board of this level
+	 * @param ghosts			the NPCs on the board
+	 * @param startPositions	the squares on which players start
+	 * @param collisionMap		the collision rules of this level
+	 */
+	public DrivenLevel(Board b, List<NPC> ghosts, List<Square> startPositions,
+			CollisionMap collisionMap) {
+		this(b, ghosts, startPositions, collisionMap, null);
+	}
+
+	/**
+	 * Creates a new level for the board whose NPCs are moved by a scheduler.
+	 * @param b					the board of this level
+	 * @param ghosts			the NPCs on the board
+	 * @param startPositions	the squares on which players start
+	 * @param collisionMap		the collision rules of this level
+	 * @param scheduler			the scheduler moving the NPCs while this level
+	 * 							is in progress, or <code>null</code> to leave
+	 * 							that to an external driver
+	 */
+	public DrivenLevel(Board b, List<NPC> ghosts, List<Square> startPositions,
+			CollisionMap collisionMap, NpcScheduler scheduler) {
+		this(new PelletTracker(collisionMap), b, ghosts, startPositions, scheduler);
+	}
+
+	/**
+	 * Creates a new level whose collisions go through a pellet tracker.
+	 * @param tracker			the collision rules, counting eaten pellets
+	 * @param b					the board of this level
+	 * @param ghosts			the NPCs on the board
+	 * @param startPositions	the squares on which players start
+	 * @param scheduler			the scheduler moving the NPCs, may be null
+	 */
+	private DrivenLevel(PelletTracker tracker, Board b, List<NPC> ghosts,
+			List<Square> startPositions, NpcScheduler scheduler) {
+		super(b, ghosts, startPositions, tracker);
+		tracker.count(b);
+		this.pellets = tracker;
+		this.npcs = ImmutableList.copyOf(ghosts);
+		for (NPC npc : npcs) {
+			npcIndices.put(npc, npcIndices.size());
+		}
+		this.scheduler = scheduler;
+		this.inProgress = false;
+		this.routes = attachRoutedGhosts(b);
+	}
+
+	/**
+	 * Builds the routing index of the board if any NPC uses it.
+	 * @param b	the board of this level
+	 * @return The routing index, or <code>null</code> if no NPC uses it.
+	 */
+	private RoutingIndex attachRoutedGhosts(Board b) {
+		RoutingIndex index = null;
+		for (NPC npc : npcs) {
+			if (npc instanceof RoutedBlinky) {
+				if (index == null) {
+					index = new RoutingIndex(b, npc);
+				}
+				((RoutedBlinky) npc).attach(this);
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * @return The routing index of the board, or <code>null</code> if no NPC
+	 * 			of this level uses it.
+	 */
+	public RoutingIndex getRoutingIndex() {
+		return routes;
+	}
+
+	/**
+	 * @return The players registered on this level.
+	 */
+	public List<Player> getPlayers() {
+		return playerView;
+	}
+
+	@Override
+	public void registerPlayer(Player p) {
+		synchronized (unitLock) {
+			super.registerPlayer(p);
+			if (!players.contains(p)) {
+				players.add(p);
+			}
+			moved(p, null, null, p.getSquare());
+		}
+	}
+
+	/**
+	 * Gives the kinds of units on every square: players, ghosts and pellets.
+	 * The index is built the first time it is asked for and kept up to date
+	 * by the moves made on this level from then on.
+	 * @return The occupancy index of the board.
+	 */
+	public OccupancyIndex getOccupancy() {
+		OccupancyIndex index = occupancy;
+		if (index == null) {
+			synchronized (unitLock) {
+				if (occupancy == null) {
+					occupancy = new OccupancyIndex(getBoard(), UNIT_KINDS);
+				}
+				index = occupancy;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Gives the walls and the kinds of units along every row and column, for
+	 * NPCs that look down corridors. Like the occupancy index, it is built the
+	 * first time it is asked for and kept up to date from then on.
+	 * @return The sight index of the board.
+	 */
+	public SightIndex getSightIndex() {
+		SightIndex index = sight;
+		if (index == null) {
+			OccupancyIndex units = getOccupancy();
+			synchronized (unitLock) {
+				if (sight == null) {
+					sight = new SightIndex(getBoard(), units);
+				}
+				index = sight;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Moves a unit and updates the indices of this level in one step, so
+	 * units moved from several threads never leave the indices behind.
+	 * Moves on a level that is not in progress are ignored, and the move
+	 * listeners are not told about them.
+	 */
+	@Override
+	public void move(Unit unit, Direction direction) {
+		long start = GameMetrics.startTimer();
+		synchronized (unitLock) {
+			if (!isInProgress()) {
+				return;
+			}
+			Square from = unit.getSquare();
+			int before = pellets.getRemaining();
+			long pointsBefore = pellets.getPointsEaten();
+			super.move(unit, direction);
+			Square to = unit.getSquare();
+			moved(unit, direction, from, to);
+			if (pellets.getRemaining() < before && !changeListeners.isEmpty()) {
+				synchronized (changes) {
+					changes.recordEaten(to, pellets.getPointsEaten() - pointsBefore);
+				}
+			}
+		}
+		GameMetrics.MOVE_TIME.recordSince(start);
+		GameMetrics.MOVES.increment();
+	}
+
+	/**
+	 * Registers a listener that is told about every move on this level.
+	 * @param listener	the listener to register
+	 */
+	public void addMoveListener(MoveListener listener) {
+		moveListeners.add(listener);
+	}
+
+	/**
+	 * Unregisters a move listener.
+	 * @param listener	the listener to unregister
+	 */
+	public void removeMoveListener(MoveListener listener) {
+		moveListeners.remove(listener);
+	}
+
+	/**
+	 * Updates the occupancy index and the move listeners after a unit moved.
+	 * @param unit		the unit that moved
+	 * @param direction	the direction it moved in, may be null
+	 * @param from		the square it left, may be null
+	 * @param to		the square it is on now, may be null
+	 */
+	private void moved(Unit unit, Direction direction, Square from, Square to) {
+		updateIndices(from);
+		updateIndices(to);
+		for (MoveListener listener : moveListeners) {
+			listener.unitMoved(unit, direction, from, to);
+		}
+		if (!changeListeners.isEmpty()) {
+			int index = indexOf(unit);
+			if (index >= 0) {
+				synchronized (changes) {
+					changes.recordMove(index, unit, from, to);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Updates the occupancy and sight indices, if built, after the units on a
+	 * square changed.
+	 * @param square	the square whose units changed, may be null
+	 */
+	private void updateIndices(Square square) {
+		OccupancyIndex index = occupancy;
+		if (index != null) {
+			index.update(square);
+		}
+		SightIndex lines = sight;
+		if (lines != null) {
+			lines.update(square);
+		}
+	}
+
+	/**
+	 * @param unit	a unit of this level
+	 * @return The number of the unit in change sets: the players in the order
+	 * 			they registered, followed by the NPCs. -1 for other units.
+	 */
+	private int indexOf(Unit unit) {
+		int player = players.indexOf(unit);
+		if (player >= 0) {
+			return player;
+		}
+		Integer npc = npcIndices.get(unit);
+		if (npc == null) {
+			return -1;
+		}
+		return players.size() + npc;
+	}
+
+	/**
+	 * Registers a listener that is told what changed during every tick.
+	 * Changes are recorded from the moment the first listener registers.
+	 * @param listener	the listener to register
+	 */
+	public void addChangeListener(ChangeListener listener) {
+		synchronized (changes) {
+			if (changeListeners.isEmpty()) {
+				changes.reset(playerView, players.size() + npcs.size());
+			}
+			changeListeners.add(listener);
+		}
+	}
+
+	/**
+	 * Unregisters a change listener.
+	 * @param listener	the listener to unregister
+	 */
+	public void removeChangeListener(ChangeListener listener) {
+		changeListeners.remove(listener);
+	}
+
+	/**
+	 * Ends a tick: tells the change listeners what changed since the last
+	 * tick and starts recording the next one. Only the driver of this level
+	 * should call this, once per tick.
+	 */
+	public void publishChanges() {
+		synchronized (changes) {
+			for (ChangeListener listener : changeListeners) {
+				listener.tickCompleted(this, changes);
+			}
+			changes.reset(playerView, players.size() + npcs.size());
+		}
+	}
+
+	/**
+	 * @return The NPCs of this level, in the order in which they were parsed.
+	 */
+	public List<NPC> getNpcs() {
+		return npcs;
+	}
+
+	/**
+	 * Submits a move without waiting for the move lock of this level.
+	 * It is made by the next call to {@link #applySubmittedMoves()},
+	 * which is left to the driver of this level; the scheduler of this
+	 * level, if any, is told to make it right away.
+	 * @param unit		the unit to move
+	 * @param direction	the direction to move in
+	 */
+	public void submitMove(Unit unit, Direction direction) {
+		submitted.submit(unit, direction);
+		if (scheduler != null) {
+			scheduler.movesSubmitted(this);
+		}
+	}
+
+	/**
+	 * @return true if the NPCs of this level are moved by a scheduler, which
+	 * 			then also makes the moves submitted to it while it is in progress.
+	 */
+	public boolean isScheduled() {
+		return scheduler != null;
+	}
+
+	/**
+	 * Makes the moves submitted so far, in the order they were submitted.
+	 * Only the driver of this level should call this.
+	 * @return The number of moves that were made.
+	 */
+	public int applySubmittedMoves() {
+		return submitted.apply(this);
+	}
+
+	/**
+	 * Gives the number of pellets left without looking at the board,
+	 * which is what decides whether this level is won after every move.
+	 * @return The number of pellets on the board.
+	 */
+	@Override
+	public int remainingPellets() {
+		return pellets.getRemaining();
+	}
+
+	/**
+	 * @return The total value of the pellets eaten on this level.
+	 */
+	public long getPointsEaten() {
+		return pellets.getPointsEaten();
+	}
+
+	/**
+	 * Takes a snapshot of this level. Moves wait until it is taken.
+	 * @return The snapshot.
+	 */
+	public LevelSnapshot snapshot() {
+		synchronized (unitLock) {
+			return new LevelSnapshot(this, players, pellets);
+		}
+	}
+
+	/**
+	 * Puts this level back in the state of a snapshot of it, starting or
+	 * stopping it if needed. Moves wait until it is restored.
+	 * Move listeners are told about every unit that changed squares.
+	 * @param snapshot	a snapshot taken of this level
+	 */
+	public void restore(LevelSnapshot snapshot) {
+		if (snapshot.getLevel() != this) {
+			throw new IllegalArgumentException("The snapshot belongs to another level.");
+		}
+		synchronized (unitLock) {
+			if (recycled) {
+				throw new IllegalStateException("The level has been recycled.");
+			}
+			for (Square square : pellets.restore(snapshot)) {
+				updateIndices(square);
+			}
+			snapshot.restoreUnits(new MoveListener() {
+				@Override
+				public void unitMoved(Unit unit, Direction direction, Square from, Square to) {
+					moved(unit, direction, from, to);
+				}
+			});
+		}
+		if (snapshot.wasInProgress()) {
+			start();
+		} else {
+			stop();
+		}
+	}
+
+	/**
+	 * @param unitPools	the pools to recycle the units of this level into, may be null
+	 */
+	void recycleInto(UnitPools unitPools) {
+		this.pools = unitPools;
+	}
+
+	/**
+	 * Gives the pellets and routed ghosts of this level back to its pools, once
+	 * this level is no longer played. The level is stopped, and cannot be
+	 * played or restored afterwards. Nothing happens for levels without pools.
+	 * @return true if units were given back.
+	 */
+	public boolean recycle() {
+		UnitPools target = pools;
+		if (target == null) {
+			return false;
+		}
+		stop();
+		synchronized (unitLock) {
+			synchronized (startStopLock) {
+				if (recycled) {
+					return false;
+				}
+				recycled = true;
+				for (NPC npc : npcs) {
+					if (npc instanceof RoutedBlinky) {
+						((RoutedBlinky) npc).attach(null);
+						target.release(npc);
+					}
+				}
+				pellets.recycle(target);
+				occupancy = null;
+				sight = null;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void start() {
+		synchronized (startStopLock) {
+			if (inProgress || recycled) {
+				return;
+			}
+			inProgress = true;
+			if (scheduler != null) {
+				scheduler.start(this);
+			}
+		}
+	}
+
+	@Override
+	public void stop() {
+		synchronized (startStopLock) {
+			inProgress = false;
+			if (scheduler != null) {
+				scheduler.stop(this);
+			}
+		}
+	}
+
+	@Override
+	public boolean isInProgress() {
+		return inProgress;
+	}
+}
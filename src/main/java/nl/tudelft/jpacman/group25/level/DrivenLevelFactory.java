@@ -0,0 +1,73 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.CollisionMap;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.npc.NPC;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+/**
+ * Level factory that creates {@link DrivenLevel}s instead of self-timed levels.
+ * Given {@link UnitPools}, its levels can {@link DrivenLevel#recycle() recycle}
+ * their pellets and ghosts into the pools when they are no longer played.
+ */
+public class DrivenLevelFactory extends CompactLevelFactory {
+	private final NpcScheduler scheduler;
+
+	/**
+	 * Creates a new level factory.
+	 * @param spriteStore	the sprite provider
+	 * @param ghostFactory	the factory providing ghosts
+	 */
+	public DrivenLevelFactory(PacManSprites spriteStore, GhostFactory ghostFactory) {
+		this(spriteStore, ghostFactory, null);
+	}
+
+	/**
+	 * Creates a new level factory whose levels have their NPCs moved by a scheduler.
+	 * @param spriteStore	the sprite provider
+	 * @param ghostFactory	the factory providing ghosts
+	 * @param scheduler		the scheduler moving the NPCs, or <code>null</code>
+	 * 						to leave that to an external driver
+	 */
+	public DrivenLevelFactory(PacManSprites spriteStore, GhostFactory ghostFactory,
+			NpcScheduler scheduler) {
+		this(spriteStore, ghostFactory, scheduler, null);
+	}
+
+	/**
+	 * Creates a new level factory whose levels reuse pellets and ghosts.
+	 * @param spriteStore	the sprite provider
+	 * @param ghostFactory	the factory providing ghosts, which should take its
+	 * 						ghosts from the same pools
+	 * @param scheduler		the scheduler moving the NPCs, may be null
+	 * @param pools			the pools to take units from and recycle them
+	 * 						into, may be null
+	 */
+	public DrivenLevelFactory(PacManSprites spriteStore, GhostFactory ghostFactory,
+			NpcScheduler scheduler, UnitPools pools) {
+		super(spriteStore, ghostFactory, pools);
+		this.scheduler = scheduler;
+	}
+
+	@Override
+	public Level createLevel(Board board, List<NPC> ghosts, List<Square> startPositions) {
+		DrivenLevel level = new DrivenLevel(board, ghosts, startPositions,
+				createCollisionMap(), scheduler);
+		level.recycleInto(getPools());
+		return level;
+	}
+
+	/**
+	 * Creates the collision rules of a new level. Override this to add rules
+	 * for more kinds of units.
+	 * @return The player collision rules, looked up by the classes of the units.
+	 */
+	protected CollisionMap createCollisionMap() {
+		return TypeIndexedCollisions.playerCollisions();
+	}
+}
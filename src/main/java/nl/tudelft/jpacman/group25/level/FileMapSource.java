@@ -0,0 +1,55 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.level.Level;
+
+/**
+ * A text map stored in a file, read by the {@link StreamingMapParser}.
+ */
+public class FileMapSource implements MapSource {
+	private final Path file;
+
+	/**
+	 * Creates a map from a text file.
+	 * @param file	the file holding the text of the map
+	 */
+	public FileMapSource(Path file) {
+		assert file != null;
+		this.file = file;
+	}
+
+	/**
+	 * @return The file holding the text of the map.
+	 */
+	public Path getFile() {
+		return file;
+	}
+
+	@Override
+	public Level load(LevelAssembler assembler) {
+		try {
+			return assembler.getStreamingParser().parseMap(file);
+		} catch (IOException e) {
+			throw new PacmanConfigurationException("Unable to create level.", e);
+		}
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof FileMapSource
+				&& file.equals(((FileMapSource) other).file);
+	}
+
+	@Override
+	public int hashCode() {
+		return file.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return file.toString();
+	}
+}
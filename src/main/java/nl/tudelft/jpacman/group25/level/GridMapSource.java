@@ -0,0 +1,60 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.level.Level;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A map given as the rows of its text representation.
+ */
+public class GridMapSource implements MapSource {
+	private final List<String> rows;
+
+	/**
+	 * Creates a map from its rows.
+	 * @param rows	the rows of the map, top to bottom
+	 */
+	public GridMapSource(String... rows) {
+		this(Arrays.asList(rows));
+	}
+
+	/**
+	 * Creates a map from its rows.
+	 * @param rows	the rows of the map, top to bottom
+	 */
+	public GridMapSource(List<String> rows) {
+		assert rows != null;
+		this.rows = ImmutableList.copyOf(rows);
+	}
+
+	/**
+	 * @return The rows of this map, top to bottom.
+	 */
+	public List<String> getRows() {
+		return rows;
+	}
+
+	@Override
+	public Level load(LevelAssembler assembler) {
+		return assembler.parseMap(rows);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof GridMapSource
+				&& rows.equals(((GridMapSource) other).rows);
+	}
+
+	@Override
+	public int hashCode() {
+		return rows.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "grid" + rows;
+	}
+}
@@ -0,0 +1,11 @@
+package nl.tudelft.jpacman.group25.level;
+
+/**
+ * A map whose levels are built square by square without any parsing, from a
+ * layout held in memory or from a generator.
+ * A {@link LevelTemplateCache} does not remember the layout of such maps,
+ * as that would only keep a second copy of them. Text maps are parsed on
+ * every load, so they are remembered even when their text is in memory.
+ */
+public interface InMemoryMapSource extends MapSource {
+}
@@ -0,0 +1,209 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.npc.NPC;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+
+/**
+ * Assembles a single level square by square, using the characters of the
+ * {@link MapParser} format: ground, wall, pellet, ghost and player start.
+ * It also hands out parsers that use the same factories, so a
+ * {@link MapSource} can build its level in whatever way suits its format.
+ */
+public class LevelAssembler {
+	private static final int GHOST_KINDS = 4;
+
+	private final LevelFactory levelCreator;
+	private final BoardFactory boardCreator;
+	private final GhostFactory ghostCreator;
+
+	private final List<NPC> ghosts = new ArrayList<>();
+	private final List<Square> startPositions = new ArrayList<>();
+	private int ghostIndex = -1;
+
+	/**
+	 * Creates an assembler for a new level.
+	 * @param levelFactory	the factory providing pellets and the level
+	 * @param boardFactory	the factory providing squares and the board
+	 * @param ghostFactory	the factory providing ghosts
+	 */
+	public LevelAssembler(LevelFactory levelFactory, BoardFactory boardFactory,
+			GhostFactory ghostFactory) {
+		this.levelCreator = levelFactory;
+		this.boardCreator = boardFactory;
+		this.ghostCreator = ghostFactory;
+	}
+
+	/**
+	 * Creates an assembler for a new level, using the same factories
+	 * as another assembler.
+	 * @param factories	the assembler whose factories to use
+	 */
+	protected LevelAssembler(LevelAssembler factories) {
+		this(factories.levelCreator, factories.boardCreator, factories.ghostCreator);
+	}
+
+	/**
+	 * @return A text map parser using the factories of this assembler.
+	 */
+	public MapParser getMapParser() {
+		return new MapParser(levelCreator, boardCreator);
+	}
+
+	/**
+	 * @return A streaming map parser that makes the squares and the level of
+	 * 			this assembler, for parsing a single map.
+	 */
+	public StreamingMapParser getStreamingParser() {
+		return new StreamingMapParser(this);
+	}
+
+	/**
+	 * Creates the level of a text map, making its squares row by row.
+	 * @param rows	the rows of the map, top to bottom
+	 * @return The new level.
+	 */
+	public Level parseMap(List<String> rows) {
+		int width = checkFormat(rows);
+		int height = rows.size();
+		Square[][] grid = new Square[width][height];
+		for (int y = 0; y < height; y++) {
+			String row = rows.get(y);
+			for (int x = 0; x < width; x++) {
+				grid[x][y] = makeSquare(x, y, row.charAt(x));
+			}
+		}
+		return createLevel(grid);
+	}
+
+	/**
+	 * Creates the square for a character of the map, with its occupants.
+	 * @param x	the x coordinate of the square
+	 * @param y	the y coordinate of the square
+	 * @param c	the character of the map
+	 * @return The new square.
+	 */
+	public Square makeSquare(int x, int y, char c) {
+		switch (c) {
+			case ' ':
+				return makeGround();
+			case '#':
+				return makeWall();
+			case '.':
+				Square pelletSquare = makeGround();
+				addPellet(pelletSquare);
+				return pelletSquare;
+			case 'G':
+				Square ghostSquare = makeGround();
+				addGhost(ghostSquare);
+				return ghostSquare;
+			case 'P':
+				Square playerSquare = makeGround();
+				addStart(playerSquare);
+				return playerSquare;
+			default:
+				throw new PacmanConfigurationException("Invalid character at "
+						+ x + "," + y + ": " + c);
+		}
+	}
+
+	/**
+	 * @return A new ground square.
+	 */
+	Square makeGround() {
+		return boardCreator.createGround();
+	}
+
+	/**
+	 * @return A wall square.
+	 */
+	Square makeWall() {
+		return boardCreator.createWall();
+	}
+
+	/**
+	 * Puts a new pellet on a square.
+	 * @param square	the square of the pellet
+	 */
+	void addPellet(Square square) {
+		levelCreator.createPellet().occupy(square);
+	}
+
+	/**
+	 * Puts the next ghost on a square.
+	 * @param square	the square of the ghost
+	 */
+	void addGhost(Square square) {
+		NPC ghost = nextGhost();
+		ghost.occupy(square);
+		ghosts.add(ghost);
+	}
+
+	/**
+	 * Makes a square a start position of the players.
+	 * @param square	the start position
+	 */
+	void addStart(Square square) {
+		startPositions.add(square);
+	}
+
+	/**
+	 * Creates the level from the squares made so far.
+	 * @param grid	the squares of the board, indexed by x and then y
+	 * @return The new level.
+	 */
+	public Level createLevel(Square[][] grid) {
+		Board board = boardCreator.createBoard(grid);
+		return levelCreator.createLevel(board, ghosts, startPositions);
+	}
+
+	/**
+	 * Creates the next ghost, cycling through the ghosts
+	 * in the same order as the level factory does.
+	 * @return The new ghost.
+	 */
+	private NPC nextGhost() {
+		ghostIndex = (ghostIndex + 1) % GHOST_KINDS;
+		switch (ghostIndex) {
+			case 0:
+				return ghostCreator.createBlinky();
+			case 1:
+				return ghostCreator.createInky();
+			case 2:
+				return ghostCreator.createPinky();
+			default:
+				return ghostCreator.createClyde();
+		}
+	}
+
+	/**
+	 * Checks that a text map is not empty and all its rows are equally wide.
+	 * @param rows	the rows of the map
+	 * @return The width of the map.
+	 */
+	static int checkFormat(List<String> rows) {
+		if (rows == null || rows.isEmpty()) {
+			throw new PacmanConfigurationException("Input text cannot be empty.");
+		}
+		int width = rows.get(0).length();
+		if (width == 0) {
+			throw new PacmanConfigurationException("Input text lines cannot be empty.");
+		}
+		for (String row : rows) {
+			if (row.length() != width) {
+				throw new PacmanConfigurationException(
+						"Input text lines are not of equal width.");
+			}
+		}
+		return width;
+	}
+}
@@ -0,0 +1,88 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Compiles text maps into the binary level format read by the
+ * {@link BinaryLevelLoader}.
+ * Run it as <code>LevelCompiler map.txt map.lvl</code>.
+ */
+public final class LevelCompiler {
+
+	/**
+	 * Private constructor of this utility class.
+	 */
+	private LevelCompiler() { }
+
+	/**
+	 * Compiles a text map into a binary level file.
+	 * @param argv	the text map and the binary level file
+	 * @throws IOException when a file cannot be read or written.
+	 */
+	public static void main(String[] argv) throws IOException {
+		if (argv.length != 2) {
+			System.err.println("Usage: LevelCompiler <map.txt> <map.lvl>");
+			return;
+		}
+		compile(Paths.get(argv[0]), Paths.get(argv[1]));
+	}
+
+	/**
+	 * Compiles a text map into a binary level file.
+	 * @param text		the file holding the text map
+	 * @param binary	the file to write the compiled level to
+	 * @throws IOException when a file cannot be read or written.
+	 */
+	public static void compile(Path text, Path binary) throws IOException {
+		ByteBuffer level = compile(Files.readAllLines(text, StandardCharsets.US_ASCII));
+		try (FileChannel out = FileChannel.open(binary, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (level.hasRemaining()) {
+				out.write(level);
+			}
+		}
+	}
+
+	/**
+	 * Compiles a text map.
+	 * @param rows	the rows of the map, top to bottom
+	 * @return The compiled level, ready to be read.
+	 */
+	public static ByteBuffer compile(List<String> rows) {
+		int width = LevelAssembler.checkFormat(rows);
+		int height = rows.size();
+		ByteBuffer level = ByteBuffer.allocate(BinaryLevelFormat.HEADER_SIZE
+				+ BinaryLevelFormat.dataSize(width, height));
+		level.putInt(BinaryLevelFormat.MAGIC);
+		level.put(BinaryLevelFormat.VERSION);
+		level.putInt(width);
+		level.putInt(height);
+		int cell = 0;
+		int pending = 0;
+		for (int y = 0; y < height; y++) {
+			String row = rows.get(y);
+			for (int x = 0; x < width; x++) {
+				int code = BinaryLevelFormat.encode(x, y, row.charAt(x));
+				if (cell % 2 == 0) {
+					pending = code << 4;
+				} else {
+					level.put((byte) (pending | code));
+				}
+				cell++;
+			}
+		}
+		if (cell % 2 == 1) {
+			level.put((byte) pending);
+		}
+		level.flip();
+		return level;
+	}
+}
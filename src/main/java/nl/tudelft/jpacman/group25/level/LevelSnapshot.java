@@ -0,0 +1,139 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.util.BitSet;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.Player;
+
+/**
+ * The state of a {@link DrivenLevel} at one moment: where its players and
+ * NPCs stand and face, the scores and lives of the players, which pellets are
+ * left and whether the level was in progress.
+ * A snapshot refers to the squares and units of its level instead of copying
+ * them, so it is small, cannot be changed and can only be restored on the
+ * level it was taken of, any number of times.
+ */
+public final class LevelSnapshot {
+	private final DrivenLevel level;
+	private final Unit[] units;
+	private final Square[] squares;
+	private final Direction[] directions;
+	private final int[] scores;
+	private final boolean[] alive;
+	private final BitSet loosePellets;
+	private final BitSet compactPellets;
+	private final int remainingPellets;
+	private final long pointsEaten;
+	private final boolean inProgress;
+
+	/**
+	 * Takes a snapshot of a level. Nothing may move on the level meanwhile.
+	 * @param level		the level to take the snapshot of
+	 * @param players	the players of the level
+	 * @param tracker	the pellet tracker of the level
+	 */
+	LevelSnapshot(DrivenLevel level, List<Player> players, PelletTracker tracker) {
+		this.level = level;
+		int playerCount = players.size();
+		int count = playerCount + level.getNpcs().size();
+		this.units = new Unit[count];
+		this.squares = new Square[count];
+		this.directions = new Direction[count];
+		this.scores = new int[playerCount];
+		this.alive = new boolean[playerCount];
+		for (int i = 0; i < playerCount; i++) {
+			Player player = players.get(i);
+			scores[i] = player.getScore();
+			alive[i] = player.isAlive();
+			record(i, player);
+		}
+		for (int i = playerCount; i < count; i++) {
+			record(i, level.getNpcs().get(i - playerCount));
+		}
+		this.loosePellets = tracker.copyLoosePellets();
+		this.compactPellets = tracker.copyCompactPellets();
+		this.remainingPellets = tracker.getRemaining();
+		this.pointsEaten = tracker.getPointsEaten();
+		this.inProgress = level.isInProgress();
+	}
+
+	/**
+	 * @param index	the number of the unit in this snapshot
+	 * @param unit	the unit to record the position of
+	 */
+	private void record(int index, Unit unit) {
+		units[index] = unit;
+		squares[index] = unit.getSquare();
+		directions[index] = unit.getDirection();
+	}
+
+	/**
+	 * @return The level this snapshot was taken of.
+	 */
+	public DrivenLevel getLevel() {
+		return level;
+	}
+
+	/**
+	 * @return The number of pellets that were left on the level.
+	 */
+	public int getRemainingPellets() {
+		return remainingPellets;
+	}
+
+	/**
+	 * @return The total value of the pellets that had been eaten.
+	 */
+	public long getPointsEaten() {
+		return pointsEaten;
+	}
+
+	/**
+	 * @return true if the level was in progress.
+	 */
+	public boolean wasInProgress() {
+		return inProgress;
+	}
+
+	/**
+	 * Puts the players and NPCs back on their squares, facing the way they
+	 * were, and gives the players back their scores and lives.
+	 * @param listener	is told about every unit that changed squares
+	 */
+	void restoreUnits(MoveListener listener) {
+		for (int i = 0; i < units.length; i++) {
+			Unit unit = units[i];
+			Square from = unit.getSquare();
+			if (from != squares[i] && squares[i] != null) {
+				unit.occupy(squares[i]);
+				listener.unitMoved(unit, null, from, squares[i]);
+			}
+			unit.setDirection(directions[i]);
+		}
+		for (int i = 0; i < scores.length; i++) {
+			Player player = (Player) units[i];
+			player.addPoints(scores[i] - player.getScore());
+			player.setAlive(alive[i]);
+		}
+	}
+
+	/**
+	 * @return The pellets that were units of their own and had not been eaten,
+	 * 			numbered like in the {@link PelletTracker} of the level.
+	 * 			The set is not copied and must not be changed.
+	 */
+	BitSet getLoosePellets() {
+		return loosePellets;
+	}
+
+	/**
+	 * @return The pellets absorbed by the board, or <code>null</code> if the
+	 * 			board is not compact. The set is not copied and must not be changed.
+	 */
+	BitSet getCompactPellets() {
+		return compactPellets;
+	}
+}
@@ -0,0 +1,75 @@
+package nl.tudelft.jpacman.group25.level;
+
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.Level;
+
+/**
+ * The parsed layout of a map: a code per square, numbered
+ * <code>y * width + x</code>, and the squares of the ghosts and the player
+ * starts in the order their map made them. Levels are built from it square
+ * by square, without reading or parsing their map again.
+ */
+final class LevelTemplate implements InMemoryMapSource {
+
+	/**
+	 * The code of a ground square.
+	 */
+	static final byte GROUND = 1;
+
+	/**
+	 * The code of a wall.
+	 */
+	static final byte WALL = 2;
+
+	/**
+	 * The code of a ground square with a pellet.
+	 */
+	static final byte PELLET = 3;
+
+	private final int width;
+	private final int height;
+	private final byte[] cells;
+	private final int[] ghosts;
+	private final int[] starts;
+
+	/**
+	 * Creates a layout.
+	 * @param width		the width of the board
+	 * @param cells		the code of every square
+	 * @param ghosts	the squares of the ghosts, in the order they were made
+	 * @param starts	the start positions, in the order they were made
+	 */
+	LevelTemplate(int width, byte[] cells, int[] ghosts, int[] starts) {
+		this.width = width;
+		this.height = cells.length / width;
+		this.cells = cells;
+		this.ghosts = ghosts;
+		this.starts = starts;
+	}
+
+	@Override
+	public Level load(LevelAssembler assembler) {
+		Square[][] grid = new Square[width][height];
+		int cell = 0;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				byte code = cells[cell++];
+				if (code == WALL) {
+					grid[x][y] = assembler.makeWall();
+				} else {
+					grid[x][y] = assembler.makeGround();
+				}
+				if (code == PELLET) {
+					assembler.addPellet(grid[x][y]);
+				}
+			}
+		}
+		for (int ghost : ghosts) {
+			assembler.addGhost(grid[ghost % width][ghost / width]);
+		}
+		for (int start : starts) {
+			assembler.addStart(grid[start % width][start / width]);
+		}
+		return assembler.createLevel(grid);
+	}
+}
@@ -0,0 +1,114 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import nl.tudelft.jpacman.level.Level;
+
+/**
+ * Remembers the layout of the maps it has loaded, so later levels of the same
+ * map are copied square by square instead of being read and parsed again.
+ * Only the parsed layout of a map is kept, a byte per square plus the squares
+ * of its ghosts and player starts, and every level still gets its own squares
+ * and units. The least recently used layouts are dropped once more than the
+ * given number of maps is remembered. Maps that build their levels without
+ * parsing, {@link InMemoryMapSource}s such as generated mazes, are loaded
+ * directly and never remembered.
+ * Maps are identified by their {@link MapSource#equals(Object)}, so a map
+ * file that changes after its first load keeps its old layout in the cache.
+ */
+public class LevelTemplateCache {
+	/**
+	 * The number of maps remembered by default.
+	 */
+	public static final int DEFAULT_CAPACITY = 16;
+
+	private final Map<MapSource, LevelTemplate> templates;
+
+	/**
+	 * Creates a cache that remembers {@link #DEFAULT_CAPACITY} maps.
+	 */
+	public LevelTemplateCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a cache.
+	 * @param capacity	the number of maps to remember
+	 */
+	public LevelTemplateCache(final int capacity) {
+		assert capacity > 0;
+		this.templates = new LinkedHashMap<MapSource, LevelTemplate>(capacity, 1f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Entry<MapSource, LevelTemplate> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Creates a new level of a map, copying its remembered layout if there is one.
+	 * @param map		the map of the level
+	 * @param assembler	the assembler of the new level
+	 * @return The new level.
+	 */
+	public Level load(MapSource map, LevelAssembler assembler) {
+		if (map instanceof InMemoryMapSource) {
+			return map.load(assembler);
+		}
+		LevelTemplate template = get(map);
+		if (template != null) {
+			return template.load(assembler);
+		}
+		TemplateRecorder recorder = new TemplateRecorder(assembler);
+		Level level = map.load(recorder);
+		template = recorder.getTemplate();
+		if (template != null) {
+			synchronized (templates) {
+				templates.put(map, template);
+			}
+		}
+		return level;
+	}
+
+	/**
+	 * @param map	a map
+	 * @return Whether the layout of the map is remembered.
+	 */
+	public boolean contains(MapSource map) {
+		synchronized (templates) {
+			return templates.containsKey(map);
+		}
+	}
+
+	/**
+	 * @return The number of maps remembered.
+	 */
+	public int size() {
+		synchronized (templates) {
+			return templates.size();
+		}
+	}
+
+	/**
+	 * Forgets all maps.
+	 */
+	public void clear() {
+		synchronized (templates) {
+			templates.clear();
+		}
+	}
+
+	/**
+	 * @param map	a map
+	 * @return The remembered layout of the map, or <code>null</code>.
+	 */
+	private LevelTemplate get(MapSource map) {
+		synchronized (templates) {
+			return templates.get(map);
+		}
+	}
+}
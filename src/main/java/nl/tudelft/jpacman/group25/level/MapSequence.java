@@ -0,0 +1,125 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+
+import com.google.common.collect.AbstractIterator;
+
+/**
+ * The maps of a campaign, looked up by level number. The maps are taken from
+ * their iterable one at a time and only the latest one is held, so campaigns
+ * of any length, even endless ones, take constant memory. Going back to an
+ * earlier level walks the iterable again from its start.
+ */
+public class MapSequence {
+	private final Iterable<? extends MapSource> maps;
+	private Iterator<? extends MapSource> cursor;
+	private MapSource current;
+	private int index;
+
+	/**
+	 * Creates a sequence of maps.
+	 * @param maps	the maps of the levels in order, may be endless
+	 */
+	public MapSequence(Iterable<? extends MapSource> maps) {
+		assert maps != null;
+		this.maps = maps;
+	}
+
+	/**
+	 * Gives the map of a level.
+	 * @param level	the number of the level, starting at 0
+	 * @return The map of the level, or <code>null</code> if the campaign
+	 * 			has fewer levels.
+	 */
+	public synchronized MapSource get(int level) {
+		if (cursor == null || level < index) {
+			cursor = maps.iterator();
+			current = null;
+			index = -1;
+		}
+		while (index < level && cursor.hasNext()) {
+			current = cursor.next();
+			index++;
+		}
+		if (index < level) {
+			return null;
+		}
+		return current;
+	}
+
+	/**
+	 * Gives the maps in a directory, ordered by file name. Text maps end in
+	 * <code>.txt</code>, maps compiled by the {@link LevelCompiler} in
+	 * <code>.lvl</code>; other files are skipped. The directory is listed
+	 * again every time the maps are iterated.
+	 * @param directory	the directory holding the maps
+	 * @return The maps of the directory.
+	 */
+	public static Iterable<MapSource> directory(final Path directory) {
+		return new Iterable<MapSource>() {
+			@Override
+			public Iterator<MapSource> iterator() {
+				return listMaps(directory).iterator();
+			}
+		};
+	}
+
+	/**
+	 * Gives an endless run of generated mazes, each with its own seed.
+	 * @param width		the width of the mazes
+	 * @param height	the height of the mazes
+	 * @param seed		the seed of the first maze, later mazes count up from it
+	 * @return The mazes.
+	 */
+	public static Iterable<MapSource> mazes(final int width, final int height,
+			final long seed) {
+		return new Iterable<MapSource>() {
+			@Override
+			public Iterator<MapSource> iterator() {
+				return new AbstractIterator<MapSource>() {
+					private long next = seed;
+
+					@Override
+					protected MapSource computeNext() {
+						return new MazeGenerator(width, height, next++);
+					}
+				};
+			}
+		};
+	}
+
+	/**
+	 * @param directory	a directory holding maps
+	 * @return The maps of the directory, ordered by file name.
+	 */
+	private static List<MapSource> listMaps(Path directory) {
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+				"*.{txt,lvl}")) {
+			for (Path file : stream) {
+				files.add(file);
+			}
+		} catch (IOException e) {
+			throw new PacmanConfigurationException("Unable to list maps.", e);
+		}
+		Collections.sort(files);
+		List<MapSource> sources = new ArrayList<>(files.size());
+		for (Path file : files) {
+			if (file.getFileName().toString().endsWith(".lvl")) {
+				sources.add(new BinaryMapSource(file));
+			} else {
+				sources.add(new FileMapSource(file));
+			}
+		}
+		return sources;
+	}
+}
@@ -0,0 +1,17 @@
+package nl.tudelft.jpacman.group25.level;
+
+import nl.tudelft.jpacman.level.Level;
+
+/**
+ * A map from which levels can be created.
+ */
+public interface MapSource {
+
+	/**
+	 * Creates a new level from this map.
+	 * @param assembler	the assembler of the new level, which also
+	 * 					provides parsers for the text formats
+	 * @return A new level.
+	 */
+	Level load(LevelAssembler assembler);
+}
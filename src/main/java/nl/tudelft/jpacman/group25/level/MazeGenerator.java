@@ -0,0 +1,279 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.Level;
+
+/**
+ * A map source that generates mazes from a seed, square by square, without
+ * ever building a text map. The same parameters always give the same maze.
+ * <p>
+ * Squares with two odd coordinates are rooms, squares with two even
+ * coordinates are walls and the squares in between are passages between two
+ * rooms. Every room opens the passage to its north or to its west, which
+ * connects all rooms to the top left room where the player starts; the
+ * corridor density opens more passages, adding loops. Whether a square is
+ * open, holds a pellet or holds a ghost only depends on the seed and its
+ * coordinates, so generating a maze takes constant time per square, and
+ * template caches never keep a copy of it.
+ */
+public class MazeGenerator implements InMemoryMapSource {
+
+	/**
+	 * The default fraction of the passages opened on top of those that
+	 * connect all rooms.
+	 */
+	public static final double DEFAULT_CORRIDOR_DENSITY = 0.2;
+
+	/**
+	 * The default fraction of open squares that hold a pellet.
+	 */
+	public static final double DEFAULT_PELLET_DENSITY = 0.9;
+
+	/**
+	 * The default number of ghosts.
+	 */
+	public static final int DEFAULT_GHOSTS = 4;
+
+	private static final int MIN_SIZE = 3;
+	private static final double DOUBLE_UNIT = 1.0 / (1L << 53);
+	private static final int DOUBLE_SHIFT = 11;
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	private static final long MIX_1 = 0xBF58476D1CE4E5B9L;
+	private static final long MIX_2 = 0x94D049BB133111EBL;
+	private static final int SHIFT_1 = 30;
+	private static final int SHIFT_2 = 27;
+	private static final int SHIFT_3 = 31;
+	private static final int SALT_CORRIDOR = 1;
+	private static final int SALT_PELLET = 2;
+	private static final int SALTS = 3;
+
+	private final int width;
+	private final int height;
+	private final double corridorDensity;
+	private final double pelletDensity;
+	private final long seed;
+	private final int[] ghostCells;
+
+	/**
+	 * Creates a generator of mazes with the default densities and ghosts.
+	 * @param width		the width of the board, at least 3
+	 * @param height	the height of the board, at least 3
+	 * @param seed		the seed of the maze
+	 */
+	public MazeGenerator(int width, int height, long seed) {
+		this(width, height, DEFAULT_CORRIDOR_DENSITY, DEFAULT_GHOSTS,
+				DEFAULT_PELLET_DENSITY, seed);
+	}
+
+	/**
+	 * Creates a new maze generator.
+	 * @param width				the width of the board, at least 3
+	 * @param height			the height of the board, at least 3
+	 * @param corridorDensity	the fraction of passages opened on top of those
+	 * 							that connect all rooms, from 0 for a maze without
+	 * 							loops to 1 for open fields
+	 * @param ghosts			the number of ghosts, at most one per room
+	 * 							besides the start
+	 * @param pelletDensity		the fraction of open squares holding a pellet
+	 * @param seed				the seed of the maze
+	 */
+	public MazeGenerator(int width, int height, double corridorDensity, int ghosts,
+			double pelletDensity, long seed) {
+		if (width < MIN_SIZE || height < MIN_SIZE) {
+			throw new IllegalArgumentException("A maze is at least 3 by 3 squares.");
+		}
+		this.width = width;
+		this.height = height;
+		this.corridorDensity = corridorDensity;
+		this.pelletDensity = pelletDensity;
+		this.seed = seed;
+		this.ghostCells = placeGhosts(ghosts);
+	}
+
+	/**
+	 * @return The width of the board.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return The height of the board.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	@Override
+	public Level load(LevelAssembler assembler) {
+		Square[][] grid = new Square[width][height];
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				grid[x][y] = assembler.makeSquare(x, y, charAt(x, y));
+			}
+		}
+		return assembler.createLevel(grid);
+	}
+
+	/**
+	 * Gives a square of the maze in the format of text maps.
+	 * @param x	the x coordinate of the square
+	 * @param y	the y coordinate of the square
+	 * @return The map character of the square.
+	 */
+	public char charAt(int x, int y) {
+		if (!isOpen(x, y)) {
+			return '#';
+		}
+		if (x == 1 && y == 1) {
+			return 'P';
+		}
+		if (Arrays.binarySearch(ghostCells, y * width + x) >= 0) {
+			return 'G';
+		}
+		if (chance(x, y, SALT_PELLET) < pelletDensity) {
+			return '.';
+		}
+		return ' ';
+	}
+
+	/**
+	 * A passage is open when the room to its east or south opens it, or by
+	 * chance depending on the corridor density.
+	 * @param x	the x coordinate of a square
+	 * @param y	the y coordinate of a square
+	 * @return true if the square is not a wall.
+	 */
+	private boolean isOpen(int x, int y) {
+		if (x == 0 || y == 0 || !isRoom(x | 1, y | 1)) {
+			return false;
+		}
+		boolean oddX = x % 2 == 1;
+		boolean oddY = y % 2 == 1;
+		if (oddX && oddY) {
+			return true;
+		}
+		if (oddX == oddY) {
+			return false;
+		}
+		if (chance(x, y, SALT_CORRIDOR) < corridorDensity) {
+			return true;
+		}
+		if (oddY) {
+			return opensWest(x + 1, y);
+		}
+		return !opensWest(x, y + 1);
+	}
+
+	/**
+	 * @param x	the x coordinate of a square
+	 * @param y	the y coordinate of a square
+	 * @return true if the square is a room.
+	 */
+	private boolean isRoom(int x, int y) {
+		return x % 2 == 1 && y % 2 == 1 && x < width - 1 && y < height - 1;
+	}
+
+	/**
+	 * @param x	the x coordinate of a room other than the start
+	 * @param y	the y coordinate of the room
+	 * @return true if the room opens the passage to its west rather than the
+	 * 			one to its north.
+	 */
+	private boolean opensWest(int x, int y) {
+		if (y == 1 || x == 1) {
+			return y == 1;
+		}
+		return (hash(x, y, 0) & 1L) == 0L;
+	}
+
+	/**
+	 * @param ghosts	the number of ghosts
+	 * @return The sorted numbers of the squares of the ghosts, in distinct
+	 * 			rooms other than the start.
+	 */
+	private int[] placeGhosts(int ghosts) {
+		int roomsX = (width - 1) / 2;
+		int roomsY = (height - 1) / 2;
+		int rooms = roomsX * roomsY;
+		int count = Math.max(0, Math.min(ghosts, rooms - 1));
+		int[] cells = new int[count];
+		Random random = new Random(seed);
+		int placed = 0;
+		while (placed < count) {
+			int room = 1 + random.nextInt(rooms - 1);
+			int cell = (2 * (room / roomsX) + 1) * width + 2 * (room % roomsX) + 1;
+			if (!contains(cells, placed, cell)) {
+				cells[placed++] = cell;
+			}
+		}
+		Arrays.sort(cells);
+		return cells;
+	}
+
+	/**
+	 * @param cells	the squares chosen so far
+	 * @param count	the number of squares chosen so far
+	 * @param cell	a square
+	 * @return true if the square was chosen already.
+	 */
+	private static boolean contains(int[] cells, int count, int cell) {
+		for (int i = 0; i < count; i++) {
+			if (cells[i] == cell) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param x		the x coordinate of a square
+	 * @param y		the y coordinate of a square
+	 * @param salt	tells apart the decisions made for a square
+	 * @return A number from 0 to 1 that only depends on its arguments and the seed.
+	 */
+	private double chance(int x, int y, int salt) {
+		return (hash(x, y, salt) >>> DOUBLE_SHIFT) * DOUBLE_UNIT;
+	}
+
+	/**
+	 * Mixes the seed and the arguments like a SplitMix64 generator.
+	 * @param x		the x coordinate of a square
+	 * @param y		the y coordinate of a square
+	 * @param salt	tells apart the decisions made for a square
+	 * @return A hash of the seed and the arguments.
+	 */
+	private long hash(int x, int y, int salt) {
+		long z = seed + GOLDEN_GAMMA * (((long) y * width + x) * SALTS + salt + 1);
+		z = (z ^ (z >>> SHIFT_1)) * MIX_1;
+		z = (z ^ (z >>> SHIFT_2)) * MIX_2;
+		return z ^ (z >>> SHIFT_3);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (!(other instanceof MazeGenerator)) {
+			return false;
+		}
+		MazeGenerator maze = (MazeGenerator) other;
+		return width == maze.width && height == maze.height && seed == maze.seed
+				&& corridorDensity == maze.corridorDensity
+				&& pelletDensity == maze.pelletDensity
+				&& ghostCells.length == maze.ghostCells.length;
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(new long[] {width, height, seed, ghostCells.length,
+				Double.doubleToLongBits(corridorDensity),
+				Double.doubleToLongBits(pelletDensity)});
+	}
+
+	@Override
+	public String toString() {
+		return "MazeGenerator[" + width + "x" + height + ", seed " + seed + "]";
+	}
+}
@@ -0,0 +1,24 @@
+package nl.tudelft.jpacman.group25.level;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+/**
+ * Is told about the moves made on a {@link DrivenLevel}.
+ */
+public interface MoveListener {
+
+	/**
+	 * Called after a unit moved, or tried to move, on the level. It is called
+	 * by the thread that made the move, which need not be the UI thread.
+	 * The squares also changed when a unit on them was eaten by the move.
+	 * @param unit		the unit that moved
+	 * @param direction	the direction it was moved in, or <code>null</code>
+	 * 					if it was just put on the board
+	 * @param from		the square the unit was on, or <code>null</code> if it
+	 * 					was just put on the board
+	 * @param to		the square the unit is on now, may be <code>null</code>
+	 */
+	void unitMoved(Unit unit, Direction direction, Square from, Square to);
+}
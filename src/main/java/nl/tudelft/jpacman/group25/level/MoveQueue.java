@@ -0,0 +1,83 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.Level;
+
+/**
+ * Moves submitted by any number of threads, applied by a single thread.
+ * Submitting never blocks, so input threads and NPC threads do not contend
+ * for the move lock of the level; the one thread that applies the moves is
+ * the only one that ever takes it.
+ */
+public class MoveQueue {
+	private final Queue<Move> moves = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger pending = new AtomicInteger();
+
+	/**
+	 * Submits a move, to be applied by the next call to {@link #apply(Level)}.
+	 * @param unit		the unit to move
+	 * @param direction	the direction to move in
+	 */
+	public void submit(Unit unit, Direction direction) {
+		assert unit != null;
+		assert direction != null;
+		moves.add(new Move(unit, direction));
+		pending.incrementAndGet();
+	}
+
+	/**
+	 * @return The number of moves waiting to be applied.
+	 */
+	public int size() {
+		return pending.get();
+	}
+
+	/**
+	 * Applies the moves that were submitted before this call, in the order
+	 * in which they were submitted. Moves submitted while applying are left
+	 * for the next call, so a busy producer cannot keep the writer here.
+	 * Must only be called by one thread at a time.
+	 * @param level	the level to move the units on
+	 * @return The number of moves that were applied.
+	 */
+	public int apply(Level level) {
+		int count = pending.get();
+		for (int i = 0; i < count; i++) {
+			Move move = moves.poll();
+			pending.decrementAndGet();
+			level.move(move.unit, move.direction);
+		}
+		return count;
+	}
+
+	/**
+	 * Drops all waiting moves.
+	 */
+	public void clear() {
+		for (Move move = moves.poll(); move != null; move = moves.poll()) {
+			pending.decrementAndGet();
+		}
+	}
+
+	/**
+	 * A submitted move.
+	 */
+	private static final class Move {
+		private final Unit unit;
+		private final Direction direction;
+
+		/**
+		 * @param unit		the unit to move
+		 * @param direction	the direction to move in
+		 */
+		private Move(Unit unit, Direction direction) {
+			this.unit = unit;
+			this.direction = direction;
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package nl.tudelft.jpacman.group25.level;
+
+/**
+ * Moves the NPCs of {@link DrivenLevel}s while they are in progress.
+ * A level hands itself to its scheduler when it starts and takes itself
+ * back when it stops.
+ */
+public interface NpcScheduler {
+
+	/**
+	 * Starts moving the NPCs of a level. Nothing happens when they are
+	 * already being moved.
+	 * @param level	the level that was started
+	 */
+	void start(DrivenLevel level);
+
+	/**
+	 * Stops moving the NPCs of a level. It may be called from within a move
+	 * made by this scheduler.
+	 * @param level	the level that was stopped
+	 */
+	void stop(DrivenLevel level);
+
+	/**
+	 * Makes the moves submitted to a level as soon as possible, instead of
+	 * waiting for its next NPC move. Nothing happens when the level is not
+	 * being moved by this scheduler.
+	 * @param level	the level moves were submitted to
+	 */
+	void movesSubmitted(DrivenLevel level);
+}
@@ -0,0 +1,219 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.group25.board.CompactGround;
+import nl.tudelft.jpacman.group25.metrics.GameMetrics;
+import nl.tudelft.jpacman.level.CollisionMap;
+import nl.tudelft.jpacman.level.Pellet;
+
+/**
+ * Collision rules that count the pellets eaten by the rules they wrap.
+ * A pellet counts as eaten when it no longer occupies a square after
+ * a collision with it was handled.
+ * The tracker also remembers where every pellet started, so the pellets of
+ * a {@link LevelSnapshot} can be put back.
+ */
+class PelletTracker implements CollisionMap {
+	private final CollisionMap rules;
+	private final AtomicInteger remaining = new AtomicInteger();
+	private final AtomicLong pointsEaten = new AtomicLong();
+	private final List<Pellet> loose = new ArrayList<>();
+	private final List<Square> looseSquares = new ArrayList<>();
+	private final List<Square> compactSquares = new ArrayList<>();
+	private CompactGround layer;
+
+	/**
+	 * @param rules	the collision rules to count the eaten pellets of
+	 */
+	PelletTracker(CollisionMap rules) {
+		assert rules != null;
+		this.rules = rules;
+	}
+
+	/**
+	 * Counts the pellets on a board, once, before any of them is eaten.
+	 * @param board	the board of the level
+	 */
+	void count(Board board) {
+		loose.clear();
+		looseSquares.clear();
+		compactSquares.clear();
+		int count = 0;
+		for (int x = 0; x < board.getWidth(); x++) {
+			for (int y = 0; y < board.getHeight(); y++) {
+				count += pelletsOn(board.squareAt(x, y));
+			}
+		}
+		remaining.set(count);
+	}
+
+	/**
+	 * @return The pellets that are units of their own and have not been eaten,
+	 * 			numbered in the order they were counted.
+	 */
+	BitSet copyLoosePellets() {
+		BitSet onBoard = new BitSet(loose.size());
+		for (int i = 0; i < loose.size(); i++) {
+			if (loose.get(i).getSquare() != null) {
+				onBoard.set(i);
+			}
+		}
+		return onBoard;
+	}
+
+	/**
+	 * @return The pellets absorbed by the board, or <code>null</code> if
+	 * 			the board is not compact.
+	 */
+	BitSet copyCompactPellets() {
+		if (layer == null) {
+			return null;
+		}
+		return layer.copyPellets();
+	}
+
+	/**
+	 * Puts the pellets back the way they were in a snapshot.
+	 * @param snapshot	the snapshot of the level of this tracker
+	 * @return The squares whose pellets were put back or taken away.
+	 */
+	List<Square> restore(LevelSnapshot snapshot) {
+		List<Square> changed = new ArrayList<>();
+		BitSet onBoard = snapshot.getLoosePellets();
+		for (int i = 0; i < loose.size(); i++) {
+			Pellet pellet = loose.get(i);
+			boolean present = pellet.getSquare() != null;
+			if (onBoard.get(i) && !present) {
+				pellet.occupy(looseSquares.get(i));
+				changed.add(looseSquares.get(i));
+			} else if (!onBoard.get(i) && present) {
+				changed.add(pellet.getSquare());
+				pellet.leaveSquare();
+			}
+		}
+		if (layer != null) {
+			restoreCompact(snapshot.getCompactPellets(), changed);
+		}
+		remaining.set(snapshot.getRemainingPellets());
+		pointsEaten.set(snapshot.getPointsEaten());
+		return changed;
+	}
+
+	/**
+	 * Puts back the pellets absorbed by a compact board.
+	 * @param copy		the absorbed pellets in the snapshot
+	 * @param changed	the list to add the squares whose pellet changed to
+	 */
+	private void restoreCompact(BitSet copy, List<Square> changed) {
+		BitSet flipped = layer.copyPellets();
+		flipped.xor(copy);
+		layer.restorePellets(copy);
+		for (int cell = flipped.nextSetBit(0); cell >= 0; cell = flipped.nextSetBit(cell + 1)) {
+			changed.add(compactSquares.get(cell));
+		}
+	}
+
+	/**
+	 * Gives the compact pellets that are units of their own back to a pool,
+	 * eaten or not. The tracker forgets all pellets.
+	 * @param pools	the pools to give the pellets to
+	 */
+	void recycle(UnitPools pools) {
+		for (Pellet pellet : loose) {
+			if (pellet instanceof CompactPellet) {
+				pools.release(pellet);
+			}
+		}
+		loose.clear();
+		looseSquares.clear();
+		compactSquares.clear();
+		remaining.set(0);
+	}
+
+	/**
+	 * @return The number of pellets that have not been eaten.
+	 */
+	int getRemaining() {
+		return remaining.get();
+	}
+
+	/**
+	 * @return The total value of the eaten pellets.
+	 */
+	long getPointsEaten() {
+		return pointsEaten.get();
+	}
+
+	@Override
+	public void collide(Unit collider, Unit collidee) {
+		rules.collide(collider, collidee);
+		GameMetrics.COLLISIONS.increment();
+		countEaten(collider);
+		countEaten(collidee);
+	}
+
+	/**
+	 * @param unit	a unit that took part in a collision
+	 */
+	private void countEaten(Unit unit) {
+		if (unit instanceof Pellet && unit.getSquare() == null) {
+			remaining.decrementAndGet();
+			pointsEaten.addAndGet(((Pellet) unit).getValue());
+		}
+	}
+
+	/**
+	 * @param square	a square of the board
+	 * @return The number of pellets on the square.
+	 */
+	private int pelletsOn(Square square) {
+		int count = 0;
+		if (square instanceof CompactGround) {
+			CompactGround ground = (CompactGround) square;
+			layer = ground;
+			if (ground.hasPellet()) {
+				rememberCompact(ground);
+				count++;
+			}
+			return count + countPellets(square, ground.getUnits());
+		}
+		return countPellets(square, square.getOccupants());
+	}
+
+	/**
+	 * Remembers a square with an absorbed pellet by its number in the layer.
+	 * @param ground	the square
+	 */
+	private void rememberCompact(CompactGround ground) {
+		while (compactSquares.size() <= ground.getCell()) {
+			compactSquares.add(null);
+		}
+		compactSquares.set(ground.getCell(), ground);
+	}
+
+	/**
+	 * Counts and remembers the pellets that are units of their own.
+	 * @param square	a square of the board
+	 * @param units		the units on the square
+	 * @return The number of pellets among them.
+	 */
+	private int countPellets(Square square, Iterable<Unit> units) {
+		int count = 0;
+		for (Unit unit : units) {
+			if (unit instanceof Pellet) {
+				loose.add((Pellet) unit);
+				looseSquares.add(square);
+				count++;
+			}
+		}
+		return count;
+	}
+}
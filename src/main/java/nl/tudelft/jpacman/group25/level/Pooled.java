@@ -0,0 +1,14 @@
+package nl.tudelft.jpacman.group25.level;
+
+/**
+ * A unit that can only stand in for pooled units of its class that were made
+ * from the same sprites. {@link UnitPools} keep such units apart by the origin
+ * of their sprites, so a level never mixes the sprites of different stores.
+ */
+public interface Pooled {
+
+	/**
+	 * @return What the sprites of this unit were made from, compared by identity.
+	 */
+	Object getSpriteOrigin();
+}
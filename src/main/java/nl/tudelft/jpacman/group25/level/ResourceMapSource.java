@@ -0,0 +1,79 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.tudelft.jpacman.Launcher;
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.level.Level;
+
+/**
+ * A map stored as a text resource on the class path, such as <code>/board.txt</code>.
+ */
+public class ResourceMapSource implements MapSource {
+	private final String resource;
+
+	/**
+	 * Creates a map from a resource.
+	 * @param resource	the absolute name of the resource
+	 */
+	public ResourceMapSource(String resource) {
+		assert resource != null;
+		this.resource = resource;
+	}
+
+	/**
+	 * @return The name of the resource.
+	 */
+	public String getResource() {
+		return resource;
+	}
+
+	@Override
+	public Level load(LevelAssembler assembler) {
+		try (InputStream source = Launcher.class.getResourceAsStream(resource)) {
+			if (source == null) {
+				throw new PacmanConfigurationException("Could not find map " + resource);
+			}
+			return assembler.parseMap(readLines(source));
+		} catch (IOException e) {
+			throw new PacmanConfigurationException("Unable to create level.", e);
+		}
+	}
+
+	/**
+	 * @param source	the stream holding the text of the map
+	 * @return The lines of the map.
+	 * @throws IOException when the stream cannot be read.
+	 */
+	private static List<String> readLines(InputStream source) throws IOException {
+		BufferedReader reader = new BufferedReader(
+				new InputStreamReader(source, StandardCharsets.US_ASCII));
+		List<String> lines = new ArrayList<>();
+		for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+			lines.add(line);
+		}
+		return lines;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof ResourceMapSource
+				&& resource.equals(((ResourceMapSource) other).resource);
+	}
+
+	@Override
+	public int hashCode() {
+		return resource.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return resource;
+	}
+}
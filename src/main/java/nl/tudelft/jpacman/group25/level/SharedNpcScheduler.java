@@ -0,0 +1,212 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.group25.metrics.GameMetrics;
+import nl.tudelft.jpacman.npc.NPC;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Moves the NPCs of any number of levels on one small pool of threads,
+ * instead of a thread pool per level. Every running level has a single
+ * pending task, which makes all moves that are due and then schedules itself
+ * for the next NPC that is due, so an idle level costs no thread at all.
+ * The driver of a level also makes the moves submitted to it, right away
+ * when they are submitted, so player input never waits for the ghosts. A
+ * level whose game submits its player moves, like a {@code MultiLevelGame}
+ * does on scheduled levels, is only ever moved by its driver.
+ */
+public class SharedNpcScheduler implements NpcScheduler {
+	private static final SharedNpcScheduler SHARED = new SharedNpcScheduler(
+			Runtime.getRuntime().availableProcessors());
+
+	private final ScheduledThreadPoolExecutor executor;
+	private final ConcurrentMap<DrivenLevel, Driver> drivers = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new scheduler.
+	 * @param threads	the number of threads moving NPCs
+	 */
+	public SharedNpcScheduler(int threads) {
+		assert threads > 0;
+		executor = new ScheduledThreadPoolExecutor(threads, new ThreadFactoryBuilder()
+				.setNameFormat("npc-scheduler-%d").setDaemon(true).build());
+		executor.setRemoveOnCancelPolicy(true);
+	}
+
+	/**
+	 * @return The scheduler shared by all levels that do not bring their own.
+	 */
+	public static SharedNpcScheduler shared() {
+		return SHARED;
+	}
+
+	@Override
+	public void start(DrivenLevel level) {
+		Driver driver = new Driver(level);
+		if (drivers.putIfAbsent(level, driver) == null) {
+			driver.reschedule(0L);
+		}
+	}
+
+	@Override
+	public void stop(DrivenLevel level) {
+		Driver driver = drivers.remove(level);
+		if (driver != null) {
+			driver.cancel();
+		}
+	}
+
+	@Override
+	public void movesSubmitted(DrivenLevel level) {
+		Driver driver = drivers.get(level);
+		if (driver != null) {
+			driver.wake();
+		}
+	}
+
+	/**
+	 * @param level	a level
+	 * @return Whether the NPCs of the level are being moved by this scheduler.
+	 */
+	public boolean isScheduled(DrivenLevel level) {
+		return drivers.containsKey(level);
+	}
+
+	/**
+	 * @return The number of levels whose NPCs are being moved.
+	 */
+	public int getScheduledLevels() {
+		return drivers.size();
+	}
+
+	/**
+	 * Moves the NPCs of one level whenever their interval has elapsed.
+	 */
+	private final class Driver implements Runnable {
+		private final DrivenLevel level;
+		private final NPC[] npcs;
+		private final long[] due;
+		private final AtomicBoolean woken = new AtomicBoolean();
+		private final Runnable applier = new Runnable() {
+			@Override
+			public void run() {
+				woken.set(false);
+				applySubmittedMoves();
+			}
+		};
+		private volatile ScheduledFuture<?> pending;
+		private volatile boolean cancelled;
+
+		/**
+		 * Plans the first moves of the NPCs, after half their interval
+		 * like a regular level.
+		 * @param level	the level whose NPCs to move
+		 */
+		private Driver(DrivenLevel level) {
+			this.level = level;
+			List<NPC> levelNpcs = level.getNpcs();
+			this.npcs = levelNpcs.toArray(new NPC[levelNpcs.size()]);
+			this.due = new long[npcs.length];
+			long now = now();
+			for (int i = 0; i < npcs.length; i++) {
+				due[i] = now + npcs[i].getInterval() / 2;
+			}
+		}
+
+		@Override
+		public synchronized void run() {
+			if (cancelled) {
+				return;
+			}
+			long next = Long.MAX_VALUE;
+			try {
+				level.applySubmittedMoves();
+				long now = now();
+				for (int i = 0; i < npcs.length && !cancelled; i++) {
+					moveWhenDue(i, now);
+					next = Math.min(next, due[i]);
+				}
+			} finally {
+				if (!cancelled && next != Long.MAX_VALUE) {
+					reschedule(Math.max(0L, next - now()));
+				}
+			}
+		}
+
+		/**
+		 * Makes the moves submitted to the level, unless it was stopped.
+		 */
+		private synchronized void applySubmittedMoves() {
+			if (!cancelled) {
+				level.applySubmittedMoves();
+			}
+		}
+
+		/**
+		 * Has the moves submitted to the level made soon, once for any
+		 * number of moves submitted meanwhile.
+		 */
+		private void wake() {
+			if (!cancelled && woken.compareAndSet(false, true)) {
+				executor.execute(applier);
+			}
+		}
+
+		/**
+		 * Moves an NPC if its interval has elapsed.
+		 * @param index	the index of the NPC
+		 * @param now	the current time in milliseconds
+		 */
+		private void moveWhenDue(int index, long now) {
+			if (due[index] > now) {
+				return;
+			}
+			NPC npc = npcs[index];
+			long start = GameMetrics.startTimer();
+			Direction nextMove = npc.nextMove();
+			GameMetrics.GHOST_AI_TIME.recordSince(start);
+			if (nextMove != null) {
+				level.move(npc, nextMove);
+			}
+			due[index] = Math.max(due[index] + npc.getInterval(), now);
+		}
+
+		/**
+		 * Runs this driver again after a delay.
+		 * @param delay	the delay in milliseconds
+		 */
+		private void reschedule(long delay) {
+			pending = executor.schedule(this, delay, TimeUnit.MILLISECONDS);
+			if (cancelled) {
+				pending.cancel(false);
+			}
+		}
+
+		/**
+		 * Stops this driver, a move that is being made is finished first.
+		 */
+		private void cancel() {
+			cancelled = true;
+			ScheduledFuture<?> current = pending;
+			if (current != null) {
+				current.cancel(false);
+			}
+		}
+
+		/**
+		 * @return The current time in milliseconds.
+		 */
+		private long now() {
+			return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+
+/**
+ * Parses maps in the format of the {@link nl.tudelft.jpacman.level.MapParser}
+ * without holding their text in memory.
+ * The map is read in fixed-size chunks and every row is turned into squares
+ * as soon as its line ends, so apart from the board itself only the current
+ * line is kept. Squares are made by a {@link LevelAssembler}, so ghosts and
+ * start positions are created in reading order, row by row, where the map
+ * parser goes column by column.
+ */
+public class StreamingMapParser {
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final long MAP_WINDOW = 1L << 26;
+	private static final int INITIAL_LINE = 256;
+
+	private final LevelFactory levelCreator;
+	private final BoardFactory boardCreator;
+	private final GhostFactory ghostCreator;
+	private final LevelAssembler target;
+
+	/**
+	 * Creates a new streaming map parser.
+	 * @param levelFactory	the factory providing pellets and the level
+	 * @param boardFactory	the factory providing squares and the board
+	 * @param ghostFactory	the factory providing ghosts
+	 */
+	public StreamingMapParser(LevelFactory levelFactory, BoardFactory boardFactory,
+			GhostFactory ghostFactory) {
+		this.levelCreator = levelFactory;
+		this.boardCreator = boardFactory;
+		this.ghostCreator = ghostFactory;
+		this.target = null;
+	}
+
+	/**
+	 * Creates a parser of a single map that makes its squares and level
+	 * through a given assembler, so recording assemblers see every square.
+	 * @param assembler	the assembler of the level
+	 */
+	StreamingMapParser(LevelAssembler assembler) {
+		assert assembler != null;
+		this.levelCreator = null;
+		this.boardCreator = null;
+		this.ghostCreator = null;
+		this.target = assembler;
+	}
+
+	/**
+	 * @return The assembler of the next parsed level.
+	 */
+	private LevelAssembler assemblerOfLevel() {
+		if (target != null) {
+			return target;
+		}
+		return new LevelAssembler(levelCreator, boardCreator, ghostCreator);
+	}
+
+	/**
+	 * Parses a map read from a channel.
+	 * @param channel	the channel to read from, which is not closed
+	 * @return The parsed level.
+	 * @throws IOException when the channel cannot be read.
+	 */
+	public Level parseMap(ReadableByteChannel channel) throws IOException {
+		Builder builder = new Builder();
+		ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		while (channel.read(buffer) >= 0) {
+			buffer.flip();
+			builder.accept(buffer);
+			buffer.clear();
+		}
+		return builder.finish();
+	}
+
+	/**
+	 * Parses a map from a file, which is memory-mapped window by window.
+	 * @param file	the file holding the map
+	 * @return The parsed level.
+	 * @throws IOException when the file cannot be read.
+	 */
+	public Level parseMap(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			Builder builder = new Builder();
+			long size = channel.size();
+			for (long position = 0; position < size; position += MAP_WINDOW) {
+				long length = Math.min(MAP_WINDOW, size - position);
+				builder.accept(channel.map(MapMode.READ_ONLY, position, length));
+			}
+			return builder.finish();
+		}
+	}
+
+	/**
+	 * Builds a level from the bytes of a map, one row at a time.
+	 */
+	private final class Builder {
+		private final List<Square[]> rows = new ArrayList<>();
+		private final LevelAssembler assembler = assemblerOfLevel();
+		private byte[] line = new byte[INITIAL_LINE];
+		private int length;
+		private int width = -1;
+
+		/**
+		 * Consumes the remaining bytes of a buffer.
+		 * @param bytes	the next bytes of the map
+		 */
+		private void accept(ByteBuffer bytes) {
+			while (bytes.hasRemaining()) {
+				byte b = bytes.get();
+				if (b == '\n') {
+					endRow();
+				} else if (b != '\r') {
+					append(b);
+				}
+			}
+		}
+
+		/**
+		 * @return The level made of all rows read so far.
+		 */
+		private Level finish() {
+			if (length > 0) {
+				endRow();
+			}
+			if (rows.isEmpty()) {
+				throw new PacmanConfigurationException("Input text cannot be empty.");
+			}
+			Square[][] grid = new Square[width][rows.size()];
+			for (int y = 0; y < rows.size(); y++) {
+				Square[] row = rows.get(y);
+				for (int x = 0; x < width; x++) {
+					grid[x][y] = row[x];
+				}
+			}
+			rows.clear();
+			return assembler.createLevel(grid);
+		}
+
+		/**
+		 * @param b	the next character of the current line
+		 */
+		private void append(byte b) {
+			if (length == line.length) {
+				byte[] larger = new byte[line.length * 2];
+				System.arraycopy(line, 0, larger, 0, length);
+				line = larger;
+			}
+			line[length++] = b;
+		}
+
+		/**
+		 * Turns the current line into a row of squares.
+		 */
+		private void endRow() {
+			if (length == 0) {
+				throw new PacmanConfigurationException("Input text lines cannot be empty.");
+			}
+			if (width < 0) {
+				width = length;
+			} else if (length != width) {
+				throw new PacmanConfigurationException(
+						"Input text lines are not of equal width.");
+			}
+			int y = rows.size();
+			Square[] row = new Square[width];
+			for (int x = 0; x < width; x++) {
+				row[x] = assembler.makeSquare(x, y, (char) line[x]);
+			}
+			rows.add(row);
+			length = 0;
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.Level;
+
+/**
+ * Assembles a level like any other assembler, while writing down the
+ * layout of every square it makes.
+ */
+class TemplateRecorder extends LevelAssembler {
+	private static final int COORDINATE_BITS = Integer.SIZE;
+	private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+
+	private final List<byte[]> rows = new ArrayList<>();
+	private final List<Long> ghosts = new ArrayList<>();
+	private final List<Long> starts = new ArrayList<>();
+	private LevelTemplate template;
+
+	/**
+	 * Creates a recorder for a new level.
+	 * @param factories	the assembler whose factories to use
+	 */
+	TemplateRecorder(LevelAssembler factories) {
+		super(factories);
+	}
+
+	@Override
+	public Square makeSquare(int x, int y, char c) {
+		Square square = super.makeSquare(x, y, c);
+		while (rows.size() <= y) {
+			rows.add(new byte[0]);
+		}
+		byte[] row = rows.get(y);
+		if (row.length <= x) {
+			row = Arrays.copyOf(row, Math.max(x + 1, 2 * row.length));
+			rows.set(y, row);
+		}
+		row[x] = codeOf(c);
+		long position = ((long) y << COORDINATE_BITS) | x;
+		if (c == 'G') {
+			ghosts.add(position);
+		} else if (c == 'P') {
+			starts.add(position);
+		}
+		return square;
+	}
+
+	@Override
+	public Level createLevel(Square[][] grid) {
+		Level level = super.createLevel(grid);
+		if (grid.length > 0) {
+			template = toTemplate(grid.length, grid[0].length);
+		}
+		return level;
+	}
+
+	/**
+	 * @return The layout of the recorded level, or <code>null</code> when the
+	 *         level was not made square by square through this recorder.
+	 */
+	LevelTemplate getTemplate() {
+		return template;
+	}
+
+	/**
+	 * @param width		the width of the board
+	 * @param height	the height of the board
+	 * @return The recorded layout, or <code>null</code> if not every square
+	 * 			of the board, or more, was recorded.
+	 */
+	private LevelTemplate toTemplate(int width, int height) {
+		if (rows.size() != height) {
+			return null;
+		}
+		byte[] cells = new byte[width * height];
+		for (int y = 0; y < height; y++) {
+			byte[] row = rows.get(y);
+			for (int x = 0; x < row.length; x++) {
+				if ((x < width) != (row[x] != 0)) {
+					return null;
+				}
+			}
+			if (row.length < width) {
+				return null;
+			}
+			System.arraycopy(row, 0, cells, y * width, width);
+		}
+		return new LevelTemplate(width, cells, cellsOf(ghosts, width), cellsOf(starts, width));
+	}
+
+	/**
+	 * @param positions	recorded positions
+	 * @param width		the width of the board
+	 * @return The numbers of the squares at the positions.
+	 */
+	private static int[] cellsOf(List<Long> positions, int width) {
+		int[] cells = new int[positions.size()];
+		for (int i = 0; i < cells.length; i++) {
+			long position = positions.get(i);
+			cells[i] = (int) (position >>> COORDINATE_BITS) * width
+					+ (int) (position & COORDINATE_MASK);
+		}
+		return cells;
+	}
+
+	/**
+	 * @param c	a character of the map format
+	 * @return The layout code of the character.
+	 */
+	private static byte codeOf(char c) {
+		switch (c) {
+			case '#':
+				return LevelTemplate.WALL;
+			case '.':
+				return LevelTemplate.PELLET;
+			default:
+				return LevelTemplate.GROUND;
+		}
+	}
+}
@@ -0,0 +1,178 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.CollisionMap;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.npc.ghost.Ghost;
+
+/**
+ * Collision map that looks up its handlers in a table indexed by the classes
+ * of the colliding units, instead of going through chains of
+ * <code>instanceof</code> tests. A pair of classes without a handler of its
+ * own uses the handler of the closest pair of superclasses. The result of
+ * that search is remembered, so every pair of classes is only resolved once.
+ */
+public class TypeIndexedCollisions implements CollisionMap {
+	private static final Handler NO_HANDLER = new Handler(null, false);
+
+	private final Map<Class<?>, Map<Class<?>, Handler>> registered =
+			new ConcurrentHashMap<>();
+	private final Map<Class<?>, Map<Class<?>, Handler>> resolved =
+			new ConcurrentHashMap<>();
+
+	/**
+	 * Handles the collision of two units.
+	 * @param <A>	the class of the unit that moved
+	 * @param <B>	the class of the unit that was moved onto
+	 */
+	public interface CollisionHandler<A extends Unit, B extends Unit> {
+
+		/**
+		 * @param collider	the unit that moved
+		 * @param collidee	the unit that was moved onto
+		 */
+		void handleCollision(A collider, B collidee);
+	}
+
+	/**
+	 * @return A collision map with the same rules as the framework's
+	 * 			player collisions.
+	 */
+	public static TypeIndexedCollisions playerCollisions() {
+		TypeIndexedCollisions map = new TypeIndexedCollisions();
+		map.onCollision(Player.class, Ghost.class, true,
+				new CollisionHandler<Player, Ghost>() {
+					@Override
+					public void handleCollision(Player player, Ghost ghost) {
+						player.setAlive(false);
+					}
+				});
+		map.onCollision(Player.class, Pellet.class, true,
+				new CollisionHandler<Player, Pellet>() {
+					@Override
+					public void handleCollision(Player player, Pellet pellet) {
+						pellet.leaveSquare();
+						player.addPoints(pellet.getValue());
+					}
+				});
+		return map;
+	}
+
+	/**
+	 * Registers the handler of collisions between two kinds of units.
+	 * @param <A>		the kind of unit that moves
+	 * @param <B>		the kind of unit that is moved onto
+	 * @param collider	the kind of unit that moves
+	 * @param collidee	the kind of unit that is moved onto
+	 * @param symmetric	whether the handler also handles the collidee moving
+	 * 					onto the collider
+	 * @param handler	the handler of the collisions
+	 */
+	public <A extends Unit, B extends Unit> void onCollision(Class<A> collider,
+			Class<B> collidee, boolean symmetric, CollisionHandler<A, B> handler) {
+		put(collider, collidee, new Handler(handler, false));
+		if (symmetric) {
+			put(collidee, collider, new Handler(handler, true));
+		}
+		resolved.clear();
+	}
+
+	@Override
+	public void collide(Unit collider, Unit collidee) {
+		Handler handler = resolve(collider.getClass(), collidee.getClass());
+		if (handler != NO_HANDLER) {
+			handler.handle(collider, collidee);
+		}
+	}
+
+	/**
+	 * @param collider	the class of the unit that moved
+	 * @param collidee	the class of the unit that was moved onto
+	 * @return The handler of the pair, or {@link #NO_HANDLER}.
+	 */
+	private Handler resolve(Class<?> collider, Class<?> collidee) {
+		Map<Class<?>, Handler> row = resolved.get(collider);
+		if (row == null) {
+			row = new ConcurrentHashMap<>();
+			resolved.put(collider, row);
+		}
+		Handler handler = row.get(collidee);
+		if (handler == null) {
+			handler = search(collider, collidee);
+			row.put(collidee, handler);
+		}
+		return handler;
+	}
+
+	/**
+	 * Finds the registered handler of the closest pair of superclasses,
+	 * preferring the most specific collider.
+	 * @param collider	the class of the unit that moved
+	 * @param collidee	the class of the unit that was moved onto
+	 * @return The handler of the pair, or {@link #NO_HANDLER}.
+	 */
+	private Handler search(Class<?> collider, Class<?> collidee) {
+		for (Class<?> a = collider; a != null; a = a.getSuperclass()) {
+			Map<Class<?>, Handler> row = registered.get(a);
+			if (row == null) {
+				continue;
+			}
+			for (Class<?> b = collidee; b != null; b = b.getSuperclass()) {
+				Handler handler = row.get(b);
+				if (handler != null) {
+					return handler;
+				}
+			}
+		}
+		return NO_HANDLER;
+	}
+
+	/**
+	 * @param collider	the kind of unit that moves
+	 * @param collidee	the kind of unit that is moved onto
+	 * @param handler	the handler of the pair
+	 */
+	private void put(Class<?> collider, Class<?> collidee, Handler handler) {
+		Map<Class<?>, Handler> row = registered.get(collider);
+		if (row == null) {
+			row = new ConcurrentHashMap<>();
+			registered.put(collider, row);
+		}
+		row.put(collidee, handler);
+	}
+
+	/**
+	 * A registered handler, possibly called with its units swapped.
+	 */
+	private static final class Handler {
+		private final CollisionHandler<?, ?> handler;
+		private final boolean inverted;
+
+		/**
+		 * @param handler	the handler to call
+		 * @param inverted	whether the units have to be swapped
+		 */
+		private Handler(CollisionHandler<?, ?> handler, boolean inverted) {
+			this.handler = handler;
+			this.inverted = inverted;
+		}
+
+		/**
+		 * @param collider	the unit that moved
+		 * @param collidee	the unit that was moved onto
+		 */
+		@SuppressWarnings("unchecked")
+		private void handle(Unit collider, Unit collidee) {
+			CollisionHandler<Unit, Unit> target = (CollisionHandler<Unit, Unit>) handler;
+			if (inverted) {
+				target.handleCollision(collidee, collider);
+			} else {
+				target.handleCollision(collider, collidee);
+			}
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package nl.tudelft.jpacman.group25.level;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.group25.metrics.GameMetrics;
+
+/**
+ * Units that are no longer on a level, kept to be used again by the factories
+ * of new levels instead of creating new ones. There is one pool per class of
+ * unit, and per sprite origin for {@link Pooled} units, each holding at most a
+ * fixed number of units; units released into a full pool are left to the
+ * garbage collector.
+ * Pools are thread-safe, so the levels of several games can share them.
+ */
+public class UnitPools {
+
+	/**
+	 * The default number of units kept per class.
+	 */
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	/**
+	 * The direction units face when they are created.
+	 */
+	private static final Direction INITIAL_DIRECTION = Direction.EAST;
+
+	private final int capacity;
+	private final Map<Class<?>, Map<Object, Deque<Unit>>> pools = new HashMap<>();
+
+	/**
+	 * Creates pools that keep the default number of units per class.
+	 */
+	public UnitPools() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates empty pools.
+	 * @param capacity	the number of units to keep per class
+	 */
+	public UnitPools(int capacity) {
+		assert capacity >= 0;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Takes a unit that is not {@link Pooled} from the pool of its class.
+	 * @param type	the exact class of the unit
+	 * @param <T>	the class of the unit
+	 * @return A unit that is not on any square, or <code>null</code> if the
+	 * 			pool is empty and a new unit has to be created.
+	 */
+	public <T extends Unit> T acquire(Class<T> type) {
+		return acquire(type, null);
+	}
+
+	/**
+	 * Takes a unit from the pool of its class and sprite origin.
+	 * @param type		the exact class of the unit
+	 * @param origin	what the sprites of the unit are made from,
+	 * 					see {@link Pooled#getSpriteOrigin()}
+	 * @param <T>		the class of the unit
+	 * @return A unit that is not on any square, or <code>null</code> if the
+	 * 			pool is empty and a new unit has to be created.
+	 */
+	public synchronized <T extends Unit> T acquire(Class<T> type, Object origin) {
+		Deque<Unit> pool = pool(type, origin);
+		if (pool.isEmpty()) {
+			GameMetrics.UNITS_CREATED.increment();
+			return null;
+		}
+		GameMetrics.UNITS_REUSED.increment();
+		return type.cast(pool.pop());
+	}
+
+	/**
+	 * Takes a unit off its square and keeps it for later use.
+	 * The unit must not be used by its level anymore.
+	 * @param unit	the unit to release
+	 * @return true if the unit was kept, false if its pool was full.
+	 */
+	public synchronized boolean release(Unit unit) {
+		if (unit.getSquare() != null) {
+			unit.leaveSquare();
+		}
+		unit.setDirection(INITIAL_DIRECTION);
+		Object origin = null;
+		if (unit instanceof Pooled) {
+			origin = ((Pooled) unit).getSpriteOrigin();
+		}
+		Deque<Unit> pool = pool(unit.getClass(), origin);
+		if (pool.size() >= capacity) {
+			return false;
+		}
+		pool.push(unit);
+		return true;
+	}
+
+	/**
+	 * @param type	a class of units
+	 * @return The number of units of the class that are kept, whatever
+	 * 			their sprites.
+	 */
+	public synchronized int size(Class<? extends Unit> type) {
+		Map<Object, Deque<Unit>> byOrigin = pools.get(type);
+		if (byOrigin == null) {
+			return 0;
+		}
+		int size = 0;
+		for (Deque<Unit> pool : byOrigin.values()) {
+			size += pool.size();
+		}
+		return size;
+	}
+
+	/**
+	 * @param type		a class of units
+	 * @param origin	the sprite origin of the units, may be null
+	 * @return The pool of the units of the class and origin, made if needed.
+	 */
+	private Deque<Unit> pool(Class<?> type, Object origin) {
+		Map<Object, Deque<Unit>> byOrigin = pools.get(type);
+		if (byOrigin == null) {
+			byOrigin = new IdentityHashMap<>();
+			pools.put(type, byOrigin);
+		}
+		Deque<Unit> pool = byOrigin.get(origin);
+		if (pool == null) {
+			pool = new ArrayDeque<>();
+			byOrigin.put(origin, pool);
+		}
+		return pool;
+	}
+}
@@ -0,0 +1,54 @@
+package nl.tudelft.jpacman.group25.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free count of events, which only counts while
+ * {@link GameMetrics#isEnabled() metrics are enabled}.
+ */
+public class Counter {
+	private final String name;
+	private final AtomicLong count = new AtomicLong();
+
+	/**
+	 * @param name	the name of this counter in reports
+	 */
+	public Counter(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * @return The name of this counter.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Counts one event.
+	 */
+	public void increment() {
+		if (GameMetrics.isEnabled()) {
+			count.incrementAndGet();
+		}
+	}
+
+	/**
+	 * @return The number of events counted.
+	 */
+	public long get() {
+		return count.get();
+	}
+
+	/**
+	 * Forgets the events counted so far.
+	 */
+	public void reset() {
+		count.set(0L);
+	}
+
+	@Override
+	public String toString() {
+		return name + " " + get();
+	}
+}
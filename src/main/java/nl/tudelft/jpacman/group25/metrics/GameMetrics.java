@@ -0,0 +1,162 @@
+package nl.tudelft.jpacman.group25.metrics;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+
+/**
+ * The counters and histograms of the hot paths of all games in this process.
+ * Metrics are disabled until {@link #setEnabled(boolean) enabled}; while they
+ * are disabled, every instrument only reads one volatile flag and
+ * {@link #startTimer()} does not even read the clock.
+ */
+public final class GameMetrics {
+
+	/**
+	 * The name under which the metrics are registered with JMX.
+	 */
+	public static final String OBJECT_NAME = "nl.tudelft.jpacman.group25:type=GameMetrics";
+
+	/**
+	 * The moves made on driven levels, by players and NPCs.
+	 */
+	public static final Counter MOVES = new Counter("moves");
+
+	/**
+	 * The collisions handled on driven levels.
+	 */
+	public static final Counter COLLISIONS = new Counter("collisions");
+
+	/**
+	 * The ticks played by simulation engines.
+	 */
+	public static final Counter TICKS = new Counter("ticks");
+
+	/**
+	 * The levels of multi-level games that were started.
+	 */
+	public static final Counter LEVELS_STARTED = new Counter("levels.started");
+
+	/**
+	 * The levels of multi-level games that were won.
+	 */
+	public static final Counter LEVELS_WON = new Counter("levels.won");
+
+	/**
+	 * The levels of multi-level games that were lost.
+	 */
+	public static final Counter LEVELS_LOST = new Counter("levels.lost");
+
+	/**
+	 * The units created anew by pooling factories, because their pool was empty.
+	 */
+	public static final Counter UNITS_CREATED = new Counter("units.created");
+
+	/**
+	 * The units taken from a pool instead of being created.
+	 */
+	public static final Counter UNITS_REUSED = new Counter("units.reused");
+
+	/**
+	 * The time a tick of a simulation engine takes.
+	 */
+	public static final LatencyHistogram TICK_TIME = new LatencyHistogram("tick.nanos");
+
+	/**
+	 * The time a move on a driven level takes, including its collisions.
+	 */
+	public static final LatencyHistogram MOVE_TIME = new LatencyHistogram("move.nanos");
+
+	/**
+	 * The time an NPC takes to decide on its next move.
+	 */
+	public static final LatencyHistogram GHOST_AI_TIME =
+			new LatencyHistogram("ghost.ai.nanos");
+
+	private static final Counter[] COUNTERS = {
+		MOVES, COLLISIONS, TICKS, LEVELS_STARTED, LEVELS_WON, LEVELS_LOST,
+		UNITS_CREATED, UNITS_REUSED
+	};
+	private static final LatencyHistogram[] HISTOGRAMS = {
+		TICK_TIME, MOVE_TIME, GHOST_AI_TIME
+	};
+
+	private static volatile boolean enabled;
+
+	/**
+	 * Private constructor of this utility class.
+	 */
+	private GameMetrics() { }
+
+	/**
+	 * @return Whether metrics are being recorded.
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @param on	whether metrics should be recorded
+	 */
+	public static void setEnabled(boolean on) {
+		enabled = on;
+	}
+
+	/**
+	 * Starts timing something, to be recorded with
+	 * {@link LatencyHistogram#recordSince(long)}.
+	 * @return The current time in nanoseconds, or 0 if metrics are disabled.
+	 */
+	public static long startTimer() {
+		if (!enabled) {
+			return 0L;
+		}
+		return System.nanoTime();
+	}
+
+	/**
+	 * Forgets everything recorded so far.
+	 */
+	public static void reset() {
+		for (Counter counter : COUNTERS) {
+			counter.reset();
+		}
+		for (LatencyHistogram histogram : HISTOGRAMS) {
+			histogram.reset();
+		}
+	}
+
+	/**
+	 * @return All metrics as plain text, one per line.
+	 */
+	public static String report() {
+		StringBuilder report = new StringBuilder();
+		for (Counter counter : COUNTERS) {
+			report.append(counter).append('\n');
+		}
+		for (LatencyHistogram histogram : HISTOGRAMS) {
+			report.append(histogram).append('\n');
+		}
+		return report.toString();
+	}
+
+	/**
+	 * Registers the metrics with the platform MBean server, under
+	 * {@link #OBJECT_NAME}. Nothing happens when they already are.
+	 */
+	public static synchronized void registerMBean() {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!server.isRegistered(name)) {
+				server.registerMBean(new GameMetricsBean(), name);
+			}
+		} catch (JMException e) {
+			throw new PacmanConfigurationException("Unable to register metrics.", e);
+		}
+	}
+}
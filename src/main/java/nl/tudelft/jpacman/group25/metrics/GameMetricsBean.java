@@ -0,0 +1,78 @@
+package nl.tudelft.jpacman.group25.metrics;
+
+/**
+ * Exposes the {@link GameMetrics} through JMX.
+ */
+class GameMetricsBean implements GameMetricsMXBean {
+	private static final double HIGH = 99.0;
+
+	@Override
+	public boolean isEnabled() {
+		return GameMetrics.isEnabled();
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		GameMetrics.setEnabled(enabled);
+	}
+
+	@Override
+	public long getMoves() {
+		return GameMetrics.MOVES.get();
+	}
+
+	@Override
+	public long getCollisions() {
+		return GameMetrics.COLLISIONS.get();
+	}
+
+	@Override
+	public long getTicks() {
+		return GameMetrics.TICKS.get();
+	}
+
+	@Override
+	public long getLevelsWon() {
+		return GameMetrics.LEVELS_WON.get();
+	}
+
+	@Override
+	public long getLevelsLost() {
+		return GameMetrics.LEVELS_LOST.get();
+	}
+
+	@Override
+	public long getUnitsCreated() {
+		return GameMetrics.UNITS_CREATED.get();
+	}
+
+	@Override
+	public long getUnitsReused() {
+		return GameMetrics.UNITS_REUSED.get();
+	}
+
+	@Override
+	public long getTickTimeP99() {
+		return GameMetrics.TICK_TIME.getPercentile(HIGH);
+	}
+
+	@Override
+	public long getMoveTimeP99() {
+		return GameMetrics.MOVE_TIME.getPercentile(HIGH);
+	}
+
+	@Override
+	public long getGhostAiTimeP99() {
+		return GameMetrics.GHOST_AI_TIME.getPercentile(HIGH);
+	}
+
+	@Override
+	public String getReport() {
+		return GameMetrics.report();
+	}
+
+	@Override
+	public void reset() {
+		GameMetrics.reset();
+	}
+}
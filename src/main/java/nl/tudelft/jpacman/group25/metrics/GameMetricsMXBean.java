@@ -0,0 +1,77 @@
+package nl.tudelft.jpacman.group25.metrics;
+
+/**
+ * The JMX view of the {@link GameMetrics}. Durations are in nanoseconds.
+ */
+public interface GameMetricsMXBean {
+
+	/**
+	 * @return Whether metrics are being recorded.
+	 */
+	boolean isEnabled();
+
+	/**
+	 * @param enabled	whether metrics should be recorded
+	 */
+	void setEnabled(boolean enabled);
+
+	/**
+	 * @return The number of moves made.
+	 */
+	long getMoves();
+
+	/**
+	 * @return The number of collisions handled.
+	 */
+	long getCollisions();
+
+	/**
+	 * @return The number of ticks played.
+	 */
+	long getTicks();
+
+	/**
+	 * @return The number of levels won.
+	 */
+	long getLevelsWon();
+
+	/**
+	 * @return The number of levels lost.
+	 */
+	long getLevelsLost();
+
+	/**
+	 * @return The number of units created by pooling factories.
+	 */
+	long getUnitsCreated();
+
+	/**
+	 * @return The number of units taken from a pool.
+	 */
+	long getUnitsReused();
+
+	/**
+	 * @return The 99th percentile of the tick time.
+	 */
+	long getTickTimeP99();
+
+	/**
+	 * @return The 99th percentile of the move time.
+	 */
+	long getMoveTimeP99();
+
+	/**
+	 * @return The 99th percentile of the time NPCs take to decide on a move.
+	 */
+	long getGhostAiTimeP99();
+
+	/**
+	 * @return All metrics as plain text.
+	 */
+	String getReport();
+
+	/**
+	 * Forgets everything recorded so far.
+	 */
+	void reset();
+}
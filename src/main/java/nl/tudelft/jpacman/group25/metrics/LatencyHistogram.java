@@ -0,0 +1,161 @@
+package nl.tudelft.jpacman.group25.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations in nanoseconds, which only records while
+ * {@link GameMetrics#isEnabled() metrics are enabled}.
+ * Like an HDR histogram, every power of two is split into
+ * {@link #SUB_BUCKETS} equal buckets, so any percentile is known to within
+ * about six percent, whatever the range of the durations.
+ */
+public class LatencyHistogram {
+
+	/**
+	 * The number of buckets every power of two is split into.
+	 */
+	public static final int SUB_BUCKETS = 16;
+
+	private static final int SUB_BITS = 4;
+	private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+	private static final double PERCENT = 100.0;
+	private static final double MEDIAN = 50.0;
+	private static final double HIGH = 99.0;
+
+	private final String name;
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong total = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * @param name	the name of this histogram in reports
+	 */
+	public LatencyHistogram(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * @return The name of this histogram.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Records the time passed since a timer was started.
+	 * @param start	the result of {@link GameMetrics#startTimer()}, nothing
+	 * 				is recorded when it is 0
+	 */
+	public void recordSince(long start) {
+		if (start != 0L) {
+			record(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Records a duration.
+	 * @param nanos	the duration in nanoseconds
+	 */
+	public void record(long nanos) {
+		if (!GameMetrics.isEnabled()) {
+			return;
+		}
+		long value = Math.max(0L, nanos);
+		buckets.incrementAndGet(bucketOf(value));
+		count.incrementAndGet();
+		total.addAndGet(value);
+		long highest = max.get();
+		while (value > highest && !max.compareAndSet(highest, value)) {
+			highest = max.get();
+		}
+	}
+
+	/**
+	 * @return The number of durations recorded.
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * @return The longest duration recorded.
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * @return The average duration recorded, or 0 if there is none.
+	 */
+	public long getMean() {
+		long recorded = count.get();
+		if (recorded == 0L) {
+			return 0L;
+		}
+		return total.get() / recorded;
+	}
+
+	/**
+	 * @param percentile	the percentile, between 0 and 100
+	 * @return The duration that the given percentage of the durations does not
+	 * 			exceed, or 0 if there is none.
+	 */
+	public long getPercentile(double percentile) {
+		long recorded = count.get();
+		long rank = (long) Math.ceil(percentile / PERCENT * recorded);
+		long seen = 0L;
+		for (int bucket = 0; bucket < BUCKETS && recorded > 0L; bucket++) {
+			seen += buckets.get(bucket);
+			if (seen >= Math.max(1L, rank)) {
+				return Math.min(highestOf(bucket), max.get());
+			}
+		}
+		return 0L;
+	}
+
+	/**
+	 * Forgets the durations recorded so far.
+	 */
+	public void reset() {
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			buckets.set(bucket, 0L);
+		}
+		count.set(0L);
+		total.set(0L);
+		max.set(0L);
+	}
+
+	@Override
+	public String toString() {
+		return name + " count=" + getCount() + " mean=" + getMean()
+				+ " p50=" + getPercentile(MEDIAN) + " p99=" + getPercentile(HIGH)
+				+ " max=" + getMax();
+	}
+
+	/**
+	 * @param value	a duration
+	 * @return The bucket of the duration.
+	 */
+	static int bucketOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+		return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+	}
+
+	/**
+	 * @param bucket	a bucket
+	 * @return The longest duration that falls in the bucket.
+	 */
+	static long highestOf(int bucket) {
+		int shift = bucket / SUB_BUCKETS - 1;
+		if (shift < 0) {
+			return bucket;
+		}
+		long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,74 @@
+package nl.tudelft.jpacman.group25.metrics;
+
+import java.io.PrintStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Prints the {@link GameMetrics} as plain text at a fixed interval,
+ * together with the number of moves per second since the previous report.
+ */
+public class MetricsReporter {
+	private static final double MILLIS_PER_SECOND = 1000.0;
+
+	private final PrintStream out;
+	private final long intervalMillis;
+	private ScheduledExecutorService executor;
+	private long lastMoves;
+
+	/**
+	 * Creates a reporter.
+	 * @param out				the stream to print the reports to
+	 * @param intervalMillis	the number of milliseconds between reports
+	 */
+	public MetricsReporter(PrintStream out, long intervalMillis) {
+		assert out != null;
+		assert intervalMillis > 0;
+		this.out = out;
+		this.intervalMillis = intervalMillis;
+	}
+
+	/**
+	 * Enables the metrics and starts printing them.
+	 */
+	public synchronized void start() {
+		if (executor != null) {
+			return;
+		}
+		GameMetrics.setEnabled(true);
+		lastMoves = GameMetrics.MOVES.get();
+		executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+				.setNameFormat("metrics-reporter").setDaemon(true).build());
+		executor.scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				report();
+			}
+		}, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops printing the metrics, they keep being recorded.
+	 */
+	public synchronized void stop() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	/**
+	 * Prints one report.
+	 */
+	void report() {
+		long moves = GameMetrics.MOVES.get();
+		double perSecond = (moves - lastMoves) * MILLIS_PER_SECOND / intervalMillis;
+		lastMoves = moves;
+		out.print(GameMetrics.report());
+		out.println("moves.per.second " + perSecond);
+		out.flush();
+	}
+}
@@ -0,0 +1,218 @@
+package nl.tudelft.jpacman.group25.net;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.group25.board.CellNumbers;
+import nl.tudelft.jpacman.group25.board.OccupancyIndex;
+import nl.tudelft.jpacman.group25.level.ChangeListener;
+import nl.tudelft.jpacman.group25.level.ChangeSet;
+import nl.tudelft.jpacman.group25.level.DrivenLevel;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.npc.NPC;
+
+/**
+ * Collects the {@link ChangeSet}s of the level of one game, and writes them
+ * as frames of the {@link Protocol}. A unit that moved several times before
+ * a frame is written is only sent with its last square. Only the thread
+ * playing the game may use a recorder.
+ */
+class DeltaRecorder implements ChangeListener {
+	private static final int INITIAL_SIZE = 16;
+	private static final int NONE = -1;
+
+	private final List<Player> players;
+	private DrivenLevel level;
+	private Board board;
+	private long[] walls = new long[0];
+	private int width;
+	private int cellCount;
+	private CellNumbers cells = new CellNumbers(0);
+	private int[] unitCells = new int[0];
+	private boolean[] changed = new boolean[0];
+	private int[] dirty = new int[INITIAL_SIZE];
+	private int dirtyCount;
+	private int[] eaten = new int[INITIAL_SIZE];
+	private int eatenCount;
+
+	/**
+	 * @param players	the players of the game
+	 */
+	DeltaRecorder(List<Player> players) {
+		this.players = players;
+	}
+
+	/**
+	 * Starts recording another level if the game moved on to it, in which
+	 * case the squares of all units count as changed.
+	 * @param current	the level the game is on
+	 * @return true if the level changed.
+	 */
+	boolean follow(DrivenLevel current) {
+		if (current == level) {
+			return false;
+		}
+		if (level != null) {
+			level.removeChangeListener(this);
+		}
+		level = current;
+		index(current.getBoard());
+		List<Player> levelPlayers = current.getPlayers();
+		List<NPC> npcs = current.getNpcs();
+		unitCells = new int[levelPlayers.size() + npcs.size()];
+		changed = new boolean[unitCells.length];
+		Arrays.fill(unitCells, NONE);
+		dirtyCount = 0;
+		eatenCount = 0;
+		for (int i = 0; i < levelPlayers.size(); i++) {
+			record(i, levelPlayers.get(i).getSquare());
+		}
+		for (int i = 0; i < npcs.size(); i++) {
+			record(levelPlayers.size() + i, npcs.get(i).getSquare());
+		}
+		current.addChangeListener(this);
+		return true;
+	}
+
+	/**
+	 * Numbers the ground squares of a board and finds its walls. Walls are
+	 * not numbered through the table, as compact boards share one wall square
+	 * between all wall cells.
+	 * @param board	the board to number the squares of
+	 */
+	private void index(Board board) {
+		this.board = board;
+		width = board.getWidth();
+		cellCount = width * board.getHeight();
+		cells = new CellNumbers(cellCount);
+		walls = new long[Protocol.words(cellCount)];
+		Player traveller = players.get(0);
+		for (int cell = 0; cell < cellCount; cell++) {
+			Square square = board.squareAt(cell % width, cell / width);
+			if (square.isAccessibleTo(traveller)) {
+				cells.put(square, cell);
+			} else {
+				walls[cell / Long.SIZE] |= 1L << cell;
+			}
+		}
+	}
+
+	@Override
+	public void tickCompleted(DrivenLevel changedLevel, ChangeSet changes) {
+		for (int i = 0; i < changes.getMoveCount(); i++) {
+			if (changes.getUnitIndex(i) < unitCells.length) {
+				record(changes.getUnitIndex(i), changes.getTo(i));
+			}
+		}
+		for (int i = 0; i < changes.getEatenCount(); i++) {
+			eaten = grow(eaten, eatenCount);
+			eaten[eatenCount++] = cells.get(changes.getEatenSquare(i));
+		}
+	}
+
+	/**
+	 * @param id		the number of a unit
+	 * @param square	the square the unit is on, may be null
+	 */
+	private void record(int id, Square square) {
+		int cell = cells.get(square);
+		if (unitCells[id] == cell) {
+			return;
+		}
+		unitCells[id] = cell;
+		if (!changed[id]) {
+			changed[id] = true;
+			dirty = grow(dirty, dirtyCount);
+			dirty[dirtyCount++] = id;
+		}
+	}
+
+	/**
+	 * @return The size of the level frame, including its length field.
+	 */
+	int levelFrameSize() {
+		return Protocol.LENGTH_SIZE + 1 + (Integer.SIZE / Byte.SIZE) * 2
+				+ (Integer.SIZE / Byte.SIZE) * 2
+				+ 2 * Protocol.words(cellCount) * (Long.SIZE / Byte.SIZE);
+	}
+
+	/**
+	 * Writes the frame describing the level being recorded.
+	 * @param out			the buffer to write to, with room for the frame
+	 * @param game			the number of the game
+	 * @param levelIndex	the number of the level in the game
+	 */
+	void writeLevel(ByteBuffer out, int game, int levelIndex) {
+		int start = out.position();
+		out.putInt(0).put(Protocol.LEVEL).putInt(game).putInt(levelIndex);
+		out.putInt(width).putInt(cellCount / width);
+		OccupancyIndex occupancy = level.getOccupancy();
+		long[] pellets = new long[walls.length];
+		for (int cell = 0; cell < cellCount; cell++) {
+			Square square = board.squareAt(cell % width, cell / width);
+			if (occupancy.holds(square, Pellet.class)) {
+				pellets[cell / Long.SIZE] |= 1L << cell;
+			}
+		}
+		out.asLongBuffer().put(walls).put(pellets);
+		out.position(out.position() + 2 * walls.length * (Long.SIZE / Byte.SIZE));
+		Protocol.closeFrame(out, start);
+	}
+
+	/**
+	 * @return true if something changed since the last delta.
+	 */
+	boolean hasChanges() {
+		return dirtyCount > 0 || eatenCount > 0;
+	}
+
+	/**
+	 * @return The size of the next delta frame, including its length field.
+	 */
+	int deltaFrameSize() {
+		int shorts = Short.SIZE / Byte.SIZE;
+		int ints = Integer.SIZE / Byte.SIZE;
+		return Protocol.LENGTH_SIZE + 1 + ints + 1 + ints + shorts
+				+ dirtyCount * (shorts + ints) + shorts + eatenCount * ints;
+	}
+
+	/**
+	 * Writes the changes since the last delta and forgets them.
+	 * @param out	the buffer to write to, with room for the frame
+	 * @param tick	the number of the tick
+	 * @param flags	the flags of the game
+	 * @param score	the score of the player
+	 */
+	void writeDelta(ByteBuffer out, long tick, int flags, int score) {
+		int start = out.position();
+		out.putInt(0).put(Protocol.DELTA).putInt((int) tick).put((byte) flags).putInt(score);
+		out.putShort((short) dirtyCount);
+		for (int i = 0; i < dirtyCount; i++) {
+			out.putShort((short) dirty[i]).putInt(unitCells[dirty[i]]);
+			changed[dirty[i]] = false;
+		}
+		out.putShort((short) eatenCount);
+		for (int i = 0; i < eatenCount; i++) {
+			out.putInt(eaten[i]);
+		}
+		Protocol.closeFrame(out, start);
+		dirtyCount = 0;
+		eatenCount = 0;
+	}
+
+	/**
+	 * @param array	an array that is full up to a size
+	 * @param size	the number of elements in use
+	 * @return The array, or a larger copy if it is full.
+	 */
+	private static int[] grow(int[] array, int size) {
+		if (size < array.length) {
+			return array;
+		}
+		return Arrays.copyOf(array, Math.max(INITIAL_SIZE, array.length * 2));
+	}
+}
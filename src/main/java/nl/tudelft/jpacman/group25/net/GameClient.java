@@ -0,0 +1,246 @@
+package nl.tudelft.jpacman.group25.net;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import nl.tudelft.jpacman.board.Direction;
+
+/**
+ * A blocking client of a {@link GameServer}, standing in for a real client in
+ * tests and load tests. It keeps a copy of the state of its game, built only
+ * from the frames of the server: the walls and pellets of the level, the
+ * squares of the units, the score and the flags of the game.
+ */
+public class GameClient implements Closeable {
+	private static final int NONE = -1;
+
+	private final SocketChannel channel;
+	private final ByteBuffer header = ByteBuffer.allocate(Protocol.LENGTH_SIZE);
+	private int gameId = NONE;
+	private int levelIndex = NONE;
+	private int width;
+	private int height;
+	private BitSet walls = new BitSet();
+	private BitSet pellets = new BitSet();
+	private int[] unitCells = new int[0];
+	private int tick;
+	private int flags;
+	private int score;
+
+	/**
+	 * Connects to a server.
+	 * @param address	the address of the server
+	 * @throws IOException when the server cannot be reached.
+	 */
+	public GameClient(InetSocketAddress address) throws IOException {
+		this.channel = SocketChannel.open(address);
+		channel.socket().setTcpNoDelay(true);
+	}
+
+	/**
+	 * Asks the server to start a game.
+	 * @throws IOException when the connection is broken.
+	 */
+	public void join() throws IOException {
+		send(Protocol.JOIN);
+	}
+
+	/**
+	 * Moves the player in the next tick.
+	 * @param direction	the direction to move in
+	 * @throws IOException when the connection is broken.
+	 */
+	public void move(Direction direction) throws IOException {
+		send((byte) (Protocol.MOVE | direction.ordinal()));
+	}
+
+	/**
+	 * @param command	the command to send
+	 * @throws IOException when the connection is broken.
+	 */
+	private void send(byte command) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(new byte[] {command});
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	/**
+	 * Waits for the next frame of the server and applies it to the state.
+	 * @return The type of the frame.
+	 * @throws IOException when the connection is broken or the frame is invalid.
+	 */
+	public byte readFrame() throws IOException {
+		header.clear();
+		fill(header);
+		int length = header.getInt(0);
+		if (length < 1 || length > Protocol.MAX_FRAME) {
+			throw new IOException("Invalid frame length " + length);
+		}
+		ByteBuffer frame = ByteBuffer.allocate(length);
+		fill(frame);
+		frame.flip();
+		byte type = frame.get();
+		if (type == Protocol.LEVEL) {
+			readLevel(frame);
+		} else if (type == Protocol.DELTA) {
+			readDelta(frame);
+		} else {
+			throw new IOException("Unknown frame type " + type);
+		}
+		return type;
+	}
+
+	/**
+	 * @param buffer	the buffer to fill completely from the connection
+	 * @throws IOException when the connection is closed before it is full.
+	 */
+	private void fill(ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) {
+				throw new EOFException("The server closed the connection.");
+			}
+		}
+	}
+
+	/**
+	 * @param frame	the payload of a level frame
+	 */
+	private void readLevel(ByteBuffer frame) {
+		gameId = frame.getInt();
+		levelIndex = frame.getInt();
+		width = frame.getInt();
+		height = frame.getInt();
+		long[] words = new long[Protocol.words(width * height)];
+		frame.asLongBuffer().get(words);
+		walls = BitSet.valueOf(words);
+		frame.position(frame.position() + words.length * (Long.SIZE / Byte.SIZE));
+		frame.asLongBuffer().get(words);
+		pellets = BitSet.valueOf(words);
+		unitCells = new int[0];
+	}
+
+	/**
+	 * @param frame	the payload of a delta frame
+	 */
+	private void readDelta(ByteBuffer frame) {
+		tick = frame.getInt();
+		flags = frame.get();
+		score = frame.getInt();
+		int moves = frame.getShort();
+		for (int i = 0; i < moves; i++) {
+			int unit = frame.getShort();
+			if (unit >= unitCells.length) {
+				int old = unitCells.length;
+				unitCells = Arrays.copyOf(unitCells, unit + 1);
+				Arrays.fill(unitCells, old, unitCells.length, NONE);
+			}
+			unitCells[unit] = frame.getInt();
+		}
+		int eaten = frame.getShort();
+		for (int i = 0; i < eaten; i++) {
+			pellets.clear(frame.getInt());
+		}
+	}
+
+	/**
+	 * @return The number of the game, or -1 before it started.
+	 */
+	public int getGameId() {
+		return gameId;
+	}
+
+	/**
+	 * @return The number of the level being played, or -1 before it started.
+	 */
+	public int getLevelIndex() {
+		return levelIndex;
+	}
+
+	/**
+	 * @return The width of the board.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return The height of the board.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * @param cell	the number of a square
+	 * @return true if the square is a wall.
+	 */
+	public boolean isWall(int cell) {
+		return walls.get(cell);
+	}
+
+	/**
+	 * @param cell	the number of a square
+	 * @return true if the square holds a pellet.
+	 */
+	public boolean hasPellet(int cell) {
+		return pellets.get(cell);
+	}
+
+	/**
+	 * @return The number of pellets left.
+	 */
+	public int getRemainingPellets() {
+		return pellets.cardinality();
+	}
+
+	/**
+	 * @param unit	the number of a unit, the player of this client is 0
+	 * @return The number of the square of the unit, or -1 if it is not known.
+	 */
+	public int getUnitCell(int unit) {
+		if (unit >= unitCells.length) {
+			return NONE;
+		}
+		return unitCells[unit];
+	}
+
+	/**
+	 * @return The tick of the last delta.
+	 */
+	public int getTick() {
+		return tick;
+	}
+
+	/**
+	 * @return The score of the player.
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	/**
+	 * @return true if the game is in progress.
+	 */
+	public boolean isInProgress() {
+		return (flags & Protocol.IN_PROGRESS) != 0;
+	}
+
+	/**
+	 * @return true if the player is alive.
+	 */
+	public boolean isAlive() {
+		return (flags & Protocol.ALIVE) != 0;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,372 @@
+package nl.tudelft.jpacman.group25.net;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.group25.HeadlessMultiLevelLauncher;
+import nl.tudelft.jpacman.group25.game.MultiLevelGame;
+import nl.tudelft.jpacman.group25.level.MapSource;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Hosts a headless {@link MultiLevelGame} for every client that joins, on a
+ * single thread with non-blocking channels. Clients send their moves, which
+ * are made at the start of the next tick. After every tick, each client gets
+ * what changed in its game as a compact delta, see {@link Protocol}, and all
+ * frames of a tick go out to a client in a single write.
+ * Games are built on a thread of their own and handed to their clients at
+ * the next tick, so joining clients do not hold up the ticks of others.
+ * Clients that do not keep up with their frames are disconnected, and a
+ * client whose connection fails while it is accepted is dropped alone.
+ */
+public class GameServer implements Closeable, Runnable {
+
+	/**
+	 * The default number of real milliseconds between ticks.
+	 */
+	public static final long DEFAULT_TICK_PERIOD = 50L;
+
+	/**
+	 * The number of bytes that may be waiting for a client before it is
+	 * disconnected.
+	 */
+	public static final int MAX_BACKLOG = 1 << 20;
+
+	private static final int READ_BUFFER = 256;
+
+	private final MapSource map;
+	private final long tickNanos;
+	private final Selector selector;
+	private final ServerSocketChannel server;
+	private final List<Session> sessions = new ArrayList<>();
+	private final ByteBuffer in = ByteBuffer.allocate(READ_BUFFER);
+	private final ExecutorService builder = Executors.newSingleThreadExecutor(
+			new ThreadFactoryBuilder().setNameFormat("game-builder-%d")
+					.setDaemon(true).build());
+	private final Queue<Built> built = new ConcurrentLinkedQueue<>();
+	private volatile boolean running = true;
+	private int games;
+
+	/**
+	 * Creates a server for games of a map, ticking at the default period.
+	 * @param map	the map of the levels
+	 * @throws IOException when no server channel can be opened.
+	 */
+	public GameServer(MapSource map) throws IOException {
+		this(map, DEFAULT_TICK_PERIOD);
+	}
+
+	/**
+	 * Creates a new server.
+	 * @param map			the map of the levels
+	 * @param tickPeriod	the number of real milliseconds between ticks
+	 * @throws IOException when no server channel can be opened.
+	 */
+	public GameServer(MapSource map, long tickPeriod) throws IOException {
+		assert map != null;
+		assert tickPeriod > 0;
+
+		this.map = map;
+		this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickPeriod);
+		this.selector = Selector.open();
+		this.server = ServerSocketChannel.open();
+	}
+
+	/**
+	 * Starts listening for clients.
+	 * @param address	the address to listen on, port 0 picks a free port
+	 * @return The address the server listens on.
+	 * @throws IOException when the address cannot be bound.
+	 */
+	public InetSocketAddress bind(InetSocketAddress address) throws IOException {
+		server.bind(address);
+		server.configureBlocking(false);
+		server.register(selector, SelectionKey.OP_ACCEPT);
+		return (InetSocketAddress) server.getLocalAddress();
+	}
+
+	/**
+	 * Runs the server on a daemon thread of its own.
+	 * @return The thread.
+	 */
+	public Thread start() {
+		Thread thread = new Thread(this, "game-server");
+		thread.setDaemon(true);
+		thread.start();
+		return thread;
+	}
+
+	/**
+	 * Serves clients and plays their games until the server is closed.
+	 */
+	@Override
+	public void run() {
+		long nextTick = System.nanoTime() + tickNanos;
+		try {
+			while (running) {
+				long wait = TimeUnit.NANOSECONDS.toMillis(nextTick - System.nanoTime());
+				if (wait > 0) {
+					selector.select(wait);
+				} else {
+					selector.selectNow();
+				}
+				handleSelected();
+				if (System.nanoTime() - nextTick >= 0) {
+					tickAll();
+					nextTick += tickNanos;
+				}
+			}
+		} catch (IOException e) {
+			running = false;
+		} finally {
+			shutDown();
+		}
+	}
+
+	/**
+	 * @return The number of connected clients.
+	 */
+	public synchronized int getSessionCount() {
+		return sessions.size();
+	}
+
+	/**
+	 * Stops the server. Its thread disconnects all clients and ends.
+	 */
+	@Override
+	public void close() {
+		running = false;
+		selector.wakeup();
+	}
+
+	/**
+	 * Accepts new clients, reads the moves of clients and writes frames
+	 * that did not fit in a single write.
+	 */
+	private void handleSelected() {
+		Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+		while (keys.hasNext()) {
+			SelectionKey key = keys.next();
+			keys.remove();
+			if (!key.isValid()) {
+				continue;
+			}
+			if (key.isAcceptable()) {
+				accept();
+				continue;
+			}
+			Session session = (Session) key.attachment();
+			if (key.isReadable()) {
+				read(key, session);
+			}
+			if (key.isValid() && key.isWritable()) {
+				write(key, session);
+			}
+		}
+	}
+
+	/**
+	 * Accepts a client. A client whose connection fails meanwhile is closed,
+	 * the other clients are served on.
+	 */
+	private void accept() {
+		SocketChannel channel = null;
+		try {
+			channel = server.accept();
+			if (channel == null) {
+				return;
+			}
+			channel.configureBlocking(false);
+			channel.socket().setTcpNoDelay(true);
+			Session session = new Session(channel);
+			channel.register(selector, SelectionKey.OP_READ, session);
+			synchronized (this) {
+				sessions.add(session);
+			}
+		} catch (IOException e) {
+			closeQuietly(channel);
+		}
+	}
+
+	/**
+	 * @param channel	a client connection to close, may be null
+	 */
+	private static void closeQuietly(SocketChannel channel) {
+		if (channel == null) {
+			return;
+		}
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// The client is gone either way.
+			return;
+		}
+	}
+
+	/**
+	 * Reads and carries out the commands of a client.
+	 * @param key		the key of the client
+	 * @param session	the session of the client
+	 */
+	private void read(SelectionKey key, Session session) {
+		in.clear();
+		try {
+			if (session.getChannel().read(in) < 0) {
+				disconnect(key, session);
+				return;
+			}
+		} catch (IOException e) {
+			disconnect(key, session);
+			return;
+		}
+		in.flip();
+		while (in.hasRemaining()) {
+			int command = in.get();
+			if ((command & Protocol.COMMAND_MASK) == Protocol.MOVE) {
+				session.move(command & Protocol.ARGUMENT_MASK);
+			} else if (command == Protocol.JOIN && session.startJoining()) {
+				build(session, games++);
+			}
+		}
+	}
+
+	/**
+	 * Builds a headless game of the map of this server on the builder thread,
+	 * to be handed to the client at the next tick.
+	 * @param session	the session of the client
+	 * @param id		the number of the game
+	 */
+	private void build(final Session session, final int id) {
+		builder.execute(new Runnable() {
+			@Override
+			public void run() {
+				MultiLevelGame game = null;
+				try {
+					game = (MultiLevelGame) new HeadlessMultiLevelLauncher(map).makeGame();
+				} finally {
+					built.add(new Built(session, id, game));
+				}
+			}
+		});
+	}
+
+	/**
+	 * Hands the games built since the last tick to their clients. Clients
+	 * that left meanwhile have their game discarded, clients whose game could
+	 * not be built are disconnected.
+	 */
+	private void joinBuilt() {
+		for (Built next = built.poll(); next != null; next = built.poll()) {
+			SelectionKey key = next.session.getChannel().keyFor(selector);
+			if (key == null || !key.isValid()) {
+				if (next.game != null) {
+					next.game.discardNext();
+				}
+			} else if (next.game == null) {
+				disconnect(key, next.session);
+			} else {
+				next.session.join(next.id, next.game);
+			}
+		}
+	}
+
+	/**
+	 * Plays a tick of every game and sends the frames of the tick.
+	 */
+	private void tickAll() {
+		joinBuilt();
+		for (SelectionKey key : new ArrayList<>(selector.keys())) {
+			if (key.isValid() && key.attachment() instanceof Session) {
+				Session session = (Session) key.attachment();
+				session.tick();
+				write(key, session);
+			}
+		}
+	}
+
+	/**
+	 * Writes the queued frames of a client, and waits for the client to
+	 * accept the rest if it did not accept them all.
+	 * @param key		the key of the client
+	 * @param session	the session of the client
+	 */
+	private void write(SelectionKey key, Session session) {
+		try {
+			if (session.getBacklog() == 0 || session.flush()) {
+				key.interestOps(SelectionKey.OP_READ);
+			} else if (session.getBacklog() > MAX_BACKLOG) {
+				disconnect(key, session);
+			} else {
+				key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+			}
+		} catch (IOException e) {
+			disconnect(key, session);
+		}
+	}
+
+	/**
+	 * Ends the session of a client.
+	 * @param key		the key of the client
+	 * @param session	the session of the client
+	 */
+	private void disconnect(SelectionKey key, Session session) {
+		key.cancel();
+		session.close();
+		synchronized (this) {
+			sessions.remove(session);
+		}
+	}
+
+	/**
+	 * Disconnects all clients and stops listening.
+	 */
+	private void shutDown() {
+		for (SelectionKey key : new ArrayList<>(selector.keys())) {
+			if (key.attachment() instanceof Session) {
+				disconnect(key, (Session) key.attachment());
+			}
+		}
+		builder.shutdownNow();
+		try {
+			server.close();
+			selector.close();
+		} catch (IOException e) {
+			running = false;
+		}
+	}
+
+	/**
+	 * A game built for a client.
+	 */
+	private static final class Built {
+		private final Session session;
+		private final int id;
+		private final MultiLevelGame game;
+
+		/**
+		 * @param session	the session of the client
+		 * @param id		the number of the game
+		 * @param game		the game, or <code>null</code> if it could not be built
+		 */
+		private Built(Session session, int id, MultiLevelGame game) {
+			this.session = session;
+			this.id = id;
+			this.game = game;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package nl.tudelft.jpacman.group25.net;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The messages between a {@link GameServer} and its clients.
+ * Clients send single bytes: {@link #JOIN} to start a game, and
+ * {@link #MOVE} combined with the ordinal of a direction to move.
+ * The server sends frames of an int length, counting the type byte and the
+ * payload, followed by a type byte and the payload, all big-endian:
+ * <ul>
+ * <li>{@link #LEVEL}: int game, int level index, int width, int height,
+ * followed by the walls and then the pellets, each as one bit per square in
+ * longs. It is sent when a level starts; the units follow in the next delta.</li>
+ * <li>{@link #DELTA}: int tick, byte flags, int score, short moves followed by
+ * a short unit and an int square per move, short eaten pellets followed by an
+ * int square each. It is sent every tick.</li>
+ * </ul>
+ * Squares are numbered <code>y * width + x</code>, units like in replay
+ * journals: the players first, followed by the NPCs of the level.
+ */
+public final class Protocol {
+
+	/**
+	 * Asks the server to start a game for this client.
+	 */
+	public static final byte JOIN = 0x10;
+
+	/**
+	 * Moves the player of this client, in the direction whose ordinal is in
+	 * the lowest bits.
+	 */
+	public static final byte MOVE = 0x20;
+
+	/**
+	 * The frame describing a new level.
+	 */
+	public static final byte LEVEL = 1;
+
+	/**
+	 * The frame with the changes of one tick.
+	 */
+	public static final byte DELTA = 2;
+
+	/**
+	 * The flag of a delta telling the game is in progress.
+	 */
+	public static final int IN_PROGRESS = 1;
+
+	/**
+	 * The flag of a delta telling the player is alive.
+	 */
+	public static final int ALIVE = 2;
+
+	/**
+	 * The mask of the command bits of a client byte.
+	 */
+	static final int COMMAND_MASK = 0xF0;
+
+	/**
+	 * The mask of the argument bits of a client byte.
+	 */
+	static final int ARGUMENT_MASK = 0x0F;
+
+	/**
+	 * The size of the length field of a frame.
+	 */
+	static final int LENGTH_SIZE = Integer.SIZE / Byte.SIZE;
+
+	/**
+	 * The largest frame a client accepts.
+	 */
+	static final int MAX_FRAME = 1 << 26;
+
+	private static final int WORD_SHIFT = 6;
+
+	/**
+	 * Private constructor of this utility class.
+	 */
+	private Protocol() { }
+
+	/**
+	 * @param cells	the number of squares of a board
+	 * @return The number of longs of a bit set of the squares.
+	 */
+	static int words(int cells) {
+		return (cells + Long.SIZE - 1) >> WORD_SHIFT;
+	}
+
+	/**
+	 * Finishes a frame whose length field was left open.
+	 * @param buffer	the buffer holding the frame
+	 * @param start		the position of the length field
+	 */
+	static void closeFrame(ByteBuffer buffer, int start) {
+		buffer.putInt(start, buffer.position() - start - LENGTH_SIZE);
+	}
+}
@@ -0,0 +1,169 @@
+package nl.tudelft.jpacman.group25.net;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.group25.game.MultiLevelGame;
+import nl.tudelft.jpacman.group25.game.SimulationEngine;
+import nl.tudelft.jpacman.group25.level.DrivenLevel;
+import nl.tudelft.jpacman.level.Player;
+
+/**
+ * The connection of one client to a {@link GameServer}, and the game it plays.
+ * Everything the server sends during a tick is collected in one buffer, which
+ * is written to the client at once when the tick is over.
+ */
+class Session {
+	private static final int INITIAL_BUFFER = 4096;
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private final SocketChannel channel;
+	private ByteBuffer out = ByteBuffer.allocate(INITIAL_BUFFER);
+	private int gameId;
+	private MultiLevelGame game;
+	private SimulationEngine engine;
+	private Player player;
+	private DeltaRecorder recorder;
+	private int lastFlags;
+	private boolean joining;
+
+	/**
+	 * @param channel	the connection to the client
+	 */
+	Session(SocketChannel channel) {
+		this.channel = channel;
+	}
+
+	/**
+	 * @return The connection to the client.
+	 */
+	SocketChannel getChannel() {
+		return channel;
+	}
+
+	/**
+	 * Marks that a game is being built for the client.
+	 * @return false if the client already has a game or one is being built.
+	 */
+	boolean startJoining() {
+		if (joining || game != null) {
+			return false;
+		}
+		joining = true;
+		return true;
+	}
+
+	/**
+	 * Starts a game for the client.
+	 * @param id		the number of the game
+	 * @param newGame	the game to play
+	 */
+	void join(int id, MultiLevelGame newGame) {
+		this.gameId = id;
+		this.game = newGame;
+		this.engine = new SimulationEngine(newGame);
+		this.player = newGame.getPlayers().get(0);
+		this.recorder = new DeltaRecorder(newGame.getPlayers());
+		this.lastFlags = 0;
+		engine.resume();
+	}
+
+	/**
+	 * Moves the player of the client at the start of the next tick.
+	 * @param argument	the ordinal of the direction, ignored if it is invalid
+	 */
+	void move(int argument) {
+		if (game != null && argument < DIRECTIONS.length) {
+			engine.move(player, DIRECTIONS[argument]);
+		}
+	}
+
+	/**
+	 * Plays one tick of the game and queues the frames describing it.
+	 * When the game is over, a last delta is sent and nothing after that.
+	 */
+	void tick() {
+		if (game == null) {
+			return;
+		}
+		engine.resume();
+		if (recorder.follow((DrivenLevel) game.getLevel())) {
+			ensure(recorder.levelFrameSize());
+			recorder.writeLevel(out, gameId, game.getLevelIndex());
+		}
+		engine.tick(null);
+		int flags = flags();
+		if (game.isInProgress() || recorder.hasChanges() || flags != lastFlags) {
+			ensure(recorder.deltaFrameSize());
+			recorder.writeDelta(out, engine.getTicks(), flags, player.getScore());
+		}
+		lastFlags = flags;
+	}
+
+	/**
+	 * @return The flags of the game as sent in deltas.
+	 */
+	private int flags() {
+		int flags = 0;
+		if (game.isInProgress()) {
+			flags |= Protocol.IN_PROGRESS;
+		}
+		if (player.isAlive()) {
+			flags |= Protocol.ALIVE;
+		}
+		return flags;
+	}
+
+	/**
+	 * @return The number of bytes waiting to be written to the client.
+	 */
+	int getBacklog() {
+		return out.position();
+	}
+
+	/**
+	 * Writes as much of the queued frames as the connection accepts.
+	 * @return true if everything was written.
+	 * @throws IOException when the connection is broken.
+	 */
+	boolean flush() throws IOException {
+		out.flip();
+		try {
+			channel.write(out);
+		} finally {
+			out.compact();
+		}
+		return out.position() == 0;
+	}
+
+	/**
+	 * Stops the game and closes the connection.
+	 */
+	void close() {
+		if (game != null) {
+			game.stop();
+		}
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// The client is gone either way.
+			return;
+		}
+	}
+
+	/**
+	 * @param size	the number of bytes that are about to be queued
+	 */
+	private void ensure(int size) {
+		if (out.remaining() >= size) {
+			return;
+		}
+		ByteBuffer larger = ByteBuffer.allocate(Math.max(out.capacity() * 2,
+				out.position() + size));
+		out.flip();
+		larger.put(out);
+		out = larger;
+	}
+}
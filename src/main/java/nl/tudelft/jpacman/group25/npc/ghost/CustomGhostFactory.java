@@ -1,27 +1,79 @@
 package nl.tudelft.jpacman.group25.npc.ghost;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
+import nl.tudelft.jpacman.group25.level.UnitPools;
+import nl.tudelft.jpacman.group25.sprite.AtlasSprites;
 import nl.tudelft.jpacman.npc.ghost.Ghost;
+import nl.tudelft.jpacman.npc.ghost.GhostColor;
 import nl.tudelft.jpacman.npc.ghost.GhostFactory;
 import nl.tudelft.jpacman.sprite.PacManSprites;
 
 /**
  * Factory that creates ghosts.
+ * Only the most recently created Blinkies are remembered for
+ * {@link #popBlinky()}, so a long-lived factory does not hold on to the
+ * ghosts of every level it ever made. Given {@link UnitPools}, routed
+ * Blinkies made from the same sprite store are taken from the pools when
+ * they can be.
  * 
  * @author Jeroen Roosen 
  */
 public class CustomGhostFactory extends GhostFactory {
-	private LinkedList<Ghost> blinkies;
+
+	/**
+	 * The number of recently created Blinkies that are remembered.
+	 */
+	public static final int REMEMBERED_BLINKIES = 16;
+
+	private final Deque<Ghost> blinkies;
+	private final PacManSprites sprites;
+	private final boolean routed;
+	private final UnitPools pools;
 	
+	/**
+	 * Creates a new ghost factory whose ghosts animate from the sprite atlas
+	 * shared by the process, see {@link AtlasSprites#shared()}.
+	 */
+	public CustomGhostFactory() {
+		this(AtlasSprites.shared());
+	}
+
 	/**
 	 * Creates a new ghost factory.
 	 * 
 	 * @param spriteStore The sprite provider.
 	 */
 	public CustomGhostFactory(PacManSprites spriteStore) {
+		this(spriteStore, false);
+	}
+	
+	/**
+	 * Creates a new ghost factory.
+	 * 
+	 * @param spriteStore The sprite provider.
+	 * @param routed Whether Blinkies follow the precomputed routes of their level,
+	 * 			see {@link RoutedBlinky}.
+	 */
+	public CustomGhostFactory(PacManSprites spriteStore, boolean routed) {
+		this(spriteStore, routed, null);
+	}
+
+	/**
+	 * Creates a new ghost factory that reuses routed Blinkies.
+	 * 
+	 * @param spriteStore The sprite provider.
+	 * @param routed Whether Blinkies follow the precomputed routes of their level,
+	 * 			see {@link RoutedBlinky}.
+	 * @param pools The pools to take routed Blinkies from, may be null.
+	 */
+	public CustomGhostFactory(PacManSprites spriteStore, boolean routed, UnitPools pools) {
 		super(spriteStore);
-		blinkies = new LinkedList<Ghost>();
+		this.sprites = spriteStore;
+		this.routed = routed;
+		this.pools = pools;
+		blinkies = new ArrayDeque<Ghost>(REMEMBERED_BLINKIES);
 	}
 
 	/**
@@ -30,8 +82,33 @@ public class CustomGhostFactory extends GhostFactory {
 	 */
 	@Override
 	public Ghost createBlinky() {
-		blinkies.push(super.createBlinky()); 
-		return blinkies.getLast();
+		Ghost blinky;
+		if (routed) {
+			blinky = createRoutedBlinky();
+		} else {
+			blinky = super.createBlinky();
+		}
+		synchronized (blinkies) {
+			if (blinkies.size() == REMEMBERED_BLINKIES) {
+				blinkies.removeLast();
+			}
+			blinkies.push(blinky);
+		}
+		return blinky;
+	}
+
+	/**
+	 * @return A routed Blinky from the pools, or a new one.
+	 */
+	private Ghost createRoutedBlinky() {
+		RoutedBlinky blinky = null;
+		if (pools != null) {
+			blinky = pools.acquire(RoutedBlinky.class, sprites);
+		}
+		if (blinky == null) {
+			blinky = new RoutedBlinky(sprites.getGhostSprite(GhostColor.RED), sprites);
+		}
+		return blinky;
 	}
 	
 	/**
@@ -40,6 +117,8 @@ public class CustomGhostFactory extends GhostFactory {
 	 * @return An existing Blinky
 	 */
 	public Ghost popBlinky() {
-		return blinkies.pop();
+		synchronized (blinkies) {
+			return blinkies.pop();
+		}
 	}
 }
@@ -0,0 +1,141 @@
+package nl.tudelft.jpacman.group25.npc.ghost;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.group25.board.RoutingIndex;
+import nl.tudelft.jpacman.group25.board.SightIndex;
+import nl.tudelft.jpacman.group25.level.DrivenLevel;
+import nl.tudelft.jpacman.group25.level.Pooled;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.npc.ghost.Ghost;
+import nl.tudelft.jpacman.npc.ghost.Navigation;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+/**
+ * A Blinky that chases the nearest player along the precomputed routes of
+ * its level instead of searching a path on every move. A player it can see
+ * down a corridor is charged straight away, found through the
+ * {@link SightIndex} of the level.
+ * Outside a {@link DrivenLevel} it searches paths like the regular Blinky.
+ * Pooled routed Blinkies are kept apart by the sprite store they were made from.
+ */
+public class RoutedBlinky extends Ghost implements Pooled {
+	private static final int INTERVAL_VARIATION = 50;
+	private static final int MOVE_INTERVAL = 250;
+
+	private final Random random = new Random();
+	private final Object spriteOrigin;
+	private volatile DrivenLevel level;
+
+	/**
+	 * Creates a new routed Blinky that is only pooled with itself.
+	 * @param spriteMap	the sprites for every direction
+	 */
+	public RoutedBlinky(Map<Direction, Sprite> spriteMap) {
+		this(spriteMap, spriteMap);
+	}
+
+	/**
+	 * Creates a new routed Blinky.
+	 * @param spriteMap		the sprites for every direction
+	 * @param spriteOrigin	the sprite store the sprites come from
+	 */
+	public RoutedBlinky(Map<Direction, Sprite> spriteMap, Object spriteOrigin) {
+		super(spriteMap);
+		this.spriteOrigin = spriteOrigin;
+	}
+
+	@Override
+	public Object getSpriteOrigin() {
+		return spriteOrigin;
+	}
+
+	/**
+	 * Lets this ghost use the routes and players of a level.
+	 * @param drivenLevel	the level this ghost is on
+	 */
+	public void attach(DrivenLevel drivenLevel) {
+		this.level = drivenLevel;
+	}
+
+	/**
+	 * @return The sight index of the level this ghost is on, or
+	 * 			<code>null</code> outside a {@link DrivenLevel}.
+	 */
+	protected SightIndex getSight() {
+		DrivenLevel current = level;
+		if (current == null) {
+			return null;
+		}
+		return current.getSightIndex();
+	}
+
+	@Override
+	public long getInterval() {
+		return MOVE_INTERVAL + random.nextInt(INTERVAL_VARIATION);
+	}
+
+	@Override
+	public Direction nextMove() {
+		Direction move;
+		DrivenLevel current = level;
+		if (current == null) {
+			move = searchMove();
+		} else {
+			move = current.getSightIndex().lookFor(getSquare(), Player.class);
+			if (move == null) {
+				move = routedMove(current.getRoutingIndex(), current.getPlayers());
+			}
+		}
+		if (move == null) {
+			return randomMove();
+		}
+		return move;
+	}
+
+	/**
+	 * @param routes	the routes of the level
+	 * @param players	the players of the level
+	 * @return The first step towards the nearest living player, or
+	 * 			<code>null</code> if no player can be reached.
+	 */
+	private Direction routedMove(RoutingIndex routes, List<Player> players) {
+		Square location = getSquare();
+		Player nearest = null;
+		int nearestDistance = Integer.MAX_VALUE;
+		for (Player player : players) {
+			if (player.isAlive()) {
+				int distance = routes.distance(location, player.getSquare());
+				if (distance >= 0 && distance < nearestDistance) {
+					nearest = player;
+					nearestDistance = distance;
+				}
+			}
+		}
+		if (nearest == null) {
+			return null;
+		}
+		return routes.nextMove(location, nearest.getSquare());
+	}
+
+	/**
+	 * @return The first step towards the nearest player found by searching
+	 * 			the board, or <code>null</code> if no player can be reached.
+	 */
+	private Direction searchMove() {
+		Unit nearest = Navigation.findNearest(Player.class, getSquare());
+		if (nearest == null) {
+			return null;
+		}
+		List<Direction> path = Navigation.shortestPath(getSquare(), nearest.getSquare(), this);
+		if (path == null || path.isEmpty()) {
+			return null;
+		}
+		return path.get(0);
+	}
+}
@@ -0,0 +1,70 @@
+package nl.tudelft.jpacman.group25.sprite;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+
+import nl.tudelft.jpacman.sprite.Sprite;
+
+/**
+ * A sprite whose pixels are a region of a {@link SpriteAtlas}.
+ * Splitting it gives smaller regions of the same atlas.
+ */
+class AtlasSprite implements Sprite {
+	private final SpriteAtlas atlas;
+	private final int x;
+	private final int y;
+	private final int width;
+	private final int height;
+
+	/**
+	 * @param atlas		the atlas holding the pixels
+	 * @param x			the left of the region
+	 * @param y			the top of the region
+	 * @param width		the width of the region
+	 * @param height	the height of the region
+	 */
+	AtlasSprite(SpriteAtlas atlas, int x, int y, int width, int height) {
+		this.atlas = atlas;
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+	}
+
+	@Override
+	public void draw(Graphics graphics, int destX, int destY, int destWidth,
+			int destHeight) {
+		if (width == 0 || height == 0) {
+			return;
+		}
+		BufferedImage source;
+		if (destWidth == width && destHeight == height) {
+			source = atlas.getImage();
+		} else {
+			source = atlas.scaled(destWidth, destHeight, width, height);
+		}
+		int sourceX = x * destWidth / width;
+		int sourceY = y * destHeight / height;
+		graphics.drawImage(source, destX, destY, destX + destWidth, destY + destHeight,
+				sourceX, sourceY, sourceX + destWidth, sourceY + destHeight, null);
+	}
+
+	@Override
+	public Sprite split(int splitX, int splitY, int splitWidth, int splitHeight) {
+		if (splitX < 0 || splitY < 0 || splitX + splitWidth > width
+				|| splitY + splitHeight > height) {
+			return new AtlasSprite(atlas, x, y, 0, 0);
+		}
+		return new AtlasSprite(atlas, x + splitX, y + splitY, splitWidth, splitHeight);
+	}
+
+	@Override
+	public int getWidth() {
+		return width;
+	}
+
+	@Override
+	public int getHeight() {
+		return height;
+	}
+}
@@ -0,0 +1,72 @@
+package nl.tudelft.jpacman.group25.sprite;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import nl.tudelft.jpacman.npc.ghost.GhostColor;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+/**
+ * Sprite store that packs every sprite sheet it loads into one
+ * {@link SpriteAtlas}. All sheets of the game are loaded when the store is
+ * created, and the animations and ghosts made later split regions of the
+ * atlas instead of loading and scaling images of their own.
+ * The store returned by {@link #shared()} is packed once per process and
+ * used by every launcher and ghost factory that asks for it.
+ */
+public class AtlasSprites extends PacManSprites {
+	private static AtlasSprites sharedStore;
+
+	private final SpriteAtlas atlas = new SpriteAtlas();
+	private final Map<String, Sprite> sheets = new HashMap<>();
+
+	/**
+	 * Creates the store and packs all sprites of the game into its atlas.
+	 */
+	public AtlasSprites() {
+		super();
+		getPacmanSprites();
+		getPacManDeathAnimation();
+		for (GhostColor color : GhostColor.values()) {
+			getGhostSprite(color);
+		}
+		getWallSprite();
+		getGroundSprite();
+		getPelletSprite();
+	}
+
+	/**
+	 * @return The store shared by the whole process, packed on first use.
+	 */
+	public static synchronized AtlasSprites shared() {
+		if (sharedStore == null) {
+			sharedStore = new AtlasSprites();
+		}
+		return sharedStore;
+	}
+
+	/**
+	 * @return The atlas holding the sprites of this store.
+	 */
+	public SpriteAtlas getAtlas() {
+		return atlas;
+	}
+
+	/**
+	 * Loads a sprite sheet once, copying it into the atlas.
+	 * @param resource	the name of the image resource
+	 * @return The sheet, drawing from the atlas.
+	 * @throws IOException when the resource cannot be read.
+	 */
+	@Override
+	public synchronized Sprite loadSprite(String resource) throws IOException {
+		Sprite sheet = sheets.get(resource);
+		if (sheet == null) {
+			sheet = atlas.add(super.loadSprite(resource));
+			sheets.put(resource, sheet);
+		}
+		return sheet;
+	}
+}
@@ -0,0 +1,111 @@
+package nl.tudelft.jpacman.group25.sprite;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import nl.tudelft.jpacman.sprite.Sprite;
+
+/**
+ * One image holding the frames of many sprites, packed in rows.
+ * Scaling a sprite to the size of a square happens once per size for the
+ * whole atlas, after which drawing a sprite copies pixels without scaling
+ * or allocating anything.
+ */
+public class SpriteAtlas {
+
+	/**
+	 * The width of the atlas image in pixels.
+	 */
+	public static final int ATLAS_WIDTH = 512;
+
+	private static final int INITIAL_HEIGHT = 64;
+	private static final int SIZE_BITS = 16;
+
+	private BufferedImage image = new BufferedImage(ATLAS_WIDTH, INITIAL_HEIGHT,
+			BufferedImage.TYPE_INT_ARGB);
+	private final Map<Long, BufferedImage> scaled = new ConcurrentHashMap<>();
+	private int rowX;
+	private int rowY;
+	private int rowHeight;
+
+	/**
+	 * Copies a sprite into this atlas, at its own size.
+	 * @param source	the sprite to copy
+	 * @return The sprite drawing from its copy in this atlas.
+	 */
+	public synchronized Sprite add(Sprite source) {
+		int width = source.getWidth();
+		int height = source.getHeight();
+		assert width + 1 <= ATLAS_WIDTH;
+		if (rowX + width + 1 > ATLAS_WIDTH) {
+			rowX = 0;
+			rowY += rowHeight;
+			rowHeight = 0;
+		}
+		while (rowY + height + 1 > image.getHeight()) {
+			grow();
+		}
+		Graphics2D g = image.createGraphics();
+		source.draw(g, rowX, rowY, width, height);
+		g.dispose();
+		Sprite copy = new AtlasSprite(this, rowX, rowY, width, height);
+		rowX += width + 1;
+		rowHeight = Math.max(rowHeight, height + 1);
+		return copy;
+	}
+
+	/**
+	 * @return The number of scaled copies of this atlas kept.
+	 */
+	public int getScaledVariants() {
+		return scaled.size();
+	}
+
+	/**
+	 * @return The atlas at its own size.
+	 */
+	synchronized BufferedImage getImage() {
+		return image;
+	}
+
+	/**
+	 * Gives the atlas scaled such that a sprite of one size becomes another.
+	 * It is made on first use and kept.
+	 * @param width			the width to draw at
+	 * @param height		the height to draw at
+	 * @param spriteWidth	the width of the sprite in the atlas
+	 * @param spriteHeight	the height of the sprite in the atlas
+	 * @return The scaled atlas.
+	 */
+	BufferedImage scaled(int width, int height, int spriteWidth, int spriteHeight) {
+		long key = (((long) width << SIZE_BITS | spriteWidth) << SIZE_BITS | height)
+				<< SIZE_BITS | spriteHeight;
+		BufferedImage result = scaled.get(key);
+		if (result == null) {
+			BufferedImage source = getImage();
+			result = new BufferedImage(source.getWidth() * width / spriteWidth,
+					source.getHeight() * height / spriteHeight,
+					BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g = result.createGraphics();
+			g.drawImage(source, 0, 0, result.getWidth(), result.getHeight(), null);
+			g.dispose();
+			scaled.put(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Doubles the height of the atlas, dropping the scaled copies.
+	 */
+	private void grow() {
+		BufferedImage larger = new BufferedImage(ATLAS_WIDTH, image.getHeight() * 2,
+				BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = larger.createGraphics();
+		g.drawImage(image, 0, 0, null);
+		g.dispose();
+		image = larger;
+		scaled.clear();
+	}
+}
@@ -0,0 +1,281 @@
+package nl.tudelft.jpacman.group25.ui;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.VolatileImage;
+
+import javax.swing.JPanel;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.group25.board.CellNumbers;
+import nl.tudelft.jpacman.group25.level.DrivenLevel;
+import nl.tudelft.jpacman.group25.level.MoveListener;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.npc.NPC;
+
+/**
+ * Panel that draws the board of a game, repainting only the squares that
+ * changed instead of the whole board every frame.
+ * The squares themselves never change, so they are drawn once into tiles of
+ * {@link #TILE_SQUARES} by {@link #TILE_SQUARES} squares held in video memory.
+ * Units are drawn on top of the tiles, and only for the squares a move on a
+ * {@link DrivenLevel} left or entered, plus the squares of the players and
+ * NPCs on every {@link #refresh()} so that their animations keep running.
+ * Levels of other kinds are repainted in full on every refresh.
+ */
+public class DirtyBoardPanel extends JPanel implements MoveListener {
+
+	/**
+	 * The width and height of a square in pixels.
+	 */
+	public static final int SQUARE_SIZE = 16;
+
+	/**
+	 * The width and height of a tile of squares.
+	 */
+	public static final int TILE_SQUARES = 32;
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient Game game;
+	private transient volatile Layout layout;
+
+	/**
+	 * Creates a new panel for a game.
+	 * @param game	the game to draw
+	 */
+	public DirtyBoardPanel(Game game) {
+		assert game != null;
+		this.game = game;
+		setBackground(Color.BLACK);
+	}
+
+	/**
+	 * Repaints the squares whose units may have changed without a move,
+	 * and the whole board when the game switched to another level.
+	 * Has to be called on the event dispatch thread, once per frame.
+	 */
+	public void refresh() {
+		Level current = game.getLevel();
+		Layout shown = layout;
+		if (shown == null || shown.level != current) {
+			attach(current);
+			return;
+		}
+		if (!(current instanceof DrivenLevel)) {
+			repaint();
+			return;
+		}
+		for (Player player : game.getPlayers()) {
+			repaintSquare(player.getSquare());
+		}
+		for (NPC npc : ((DrivenLevel) current).getNpcs()) {
+			repaintSquare(npc.getSquare());
+		}
+	}
+
+	@Override
+	public void unitMoved(Unit unit, Direction direction, Square from, Square to) {
+		repaintSquare(from);
+		repaintSquare(to);
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		super.paintComponent(g);
+		Layout shown = layout;
+		if (shown == null) {
+			return;
+		}
+		Rectangle clip = g.getClipBounds();
+		if (clip == null) {
+			clip = new Rectangle(0, 0, getWidth(), getHeight());
+		}
+		int left = Math.max(0, clip.x / SQUARE_SIZE);
+		int top = Math.max(0, clip.y / SQUARE_SIZE);
+		int right = Math.min(shown.width, (clip.x + clip.width - 1) / SQUARE_SIZE + 1);
+		int bottom = Math.min(shown.height, (clip.y + clip.height - 1) / SQUARE_SIZE + 1);
+		paintTiles(g, shown, left / TILE_SQUARES, top / TILE_SQUARES,
+				(right - 1) / TILE_SQUARES, (bottom - 1) / TILE_SQUARES);
+		for (int x = left; x < right; x++) {
+			for (int y = top; y < bottom; y++) {
+				paintUnits(g, shown.board.squareAt(x, y), x, y);
+			}
+		}
+	}
+
+	/**
+	 * Switches to another level, listening to its moves and repainting it whole.
+	 * @param current	the level to show, may be null
+	 */
+	private void attach(Level current) {
+		Layout old = layout;
+		if (old != null) {
+			old.dispose(this);
+		}
+		if (current == null) {
+			layout = null;
+			return;
+		}
+		layout = new Layout(current);
+		if (current instanceof DrivenLevel) {
+			((DrivenLevel) current).addMoveListener(this);
+		}
+		setPreferredSize(new Dimension(layout.width * SQUARE_SIZE,
+				layout.height * SQUARE_SIZE));
+		revalidate();
+		repaint();
+	}
+
+	/**
+	 * Asks Swing to repaint one square. Can be called from any thread.
+	 * @param square	the square to repaint, may be null
+	 */
+	private void repaintSquare(Square square) {
+		Layout shown = layout;
+		if (square == null || shown == null) {
+			return;
+		}
+		int cell = shown.cells.get(square);
+		if (cell >= 0) {
+			repaint(cell % shown.width * SQUARE_SIZE, cell / shown.width * SQUARE_SIZE,
+					SQUARE_SIZE, SQUARE_SIZE);
+		}
+	}
+
+	/**
+	 * Draws the tiles in a range of tile columns and rows.
+	 * @param g			the graphics to draw on
+	 * @param shown		the layout of the board
+	 * @param left		the first tile column
+	 * @param top		the first tile row
+	 * @param right		the last tile column
+	 * @param bottom	the last tile row
+	 */
+	private void paintTiles(Graphics g, Layout shown, int left, int top,
+			int right, int bottom) {
+		int tileSize = TILE_SQUARES * SQUARE_SIZE;
+		for (int column = left; column <= right; column++) {
+			for (int row = top; row <= bottom; row++) {
+				VolatileImage tile;
+				do {
+					tile = shown.tile(this, column, row);
+					g.drawImage(tile, column * tileSize, row * tileSize, null);
+				} while (tile.contentsLost());
+			}
+		}
+	}
+
+	/**
+	 * Draws the units on a square.
+	 * @param g			the graphics to draw on
+	 * @param square	the square
+	 * @param x			the x coordinate of the square
+	 * @param y			the y coordinate of the square
+	 */
+	private static void paintUnits(Graphics g, Square square, int x, int y) {
+		for (Unit unit : square.getOccupants()) {
+			unit.getSprite().draw(g, x * SQUARE_SIZE, y * SQUARE_SIZE,
+					SQUARE_SIZE, SQUARE_SIZE);
+		}
+	}
+
+	/**
+	 * The board of the level being shown, with the tiles of its squares.
+	 */
+	private static final class Layout {
+		private final Level level;
+		private final Board board;
+		private final int width;
+		private final int height;
+		private final CellNumbers cells;
+		private final VolatileImage[][] tiles;
+
+		/**
+		 * Numbers the squares of the board of a level.
+		 * @param level	the level to show
+		 */
+		private Layout(Level level) {
+			this.level = level;
+			this.board = level.getBoard();
+			this.width = board.getWidth();
+			this.height = board.getHeight();
+			this.cells = new CellNumbers(width * height);
+			for (int cell = 0; cell < width * height; cell++) {
+				cells.put(board.squareAt(cell % width, cell / width), cell);
+			}
+			this.tiles = new VolatileImage[(width + TILE_SQUARES - 1) / TILE_SQUARES]
+					[(height + TILE_SQUARES - 1) / TILE_SQUARES];
+		}
+
+		/**
+		 * Gives a tile, drawing it again if it is new or its video memory was lost.
+		 * @param panel		the panel the tile is drawn for
+		 * @param column	the tile column
+		 * @param row		the tile row
+		 * @return The tile, ready to be drawn.
+		 */
+		private VolatileImage tile(JPanel panel, int column, int row) {
+			VolatileImage tile = tiles[column][row];
+			int state = VolatileImage.IMAGE_INCOMPATIBLE;
+			if (tile != null) {
+				state = tile.validate(panel.getGraphicsConfiguration());
+			}
+			if (state == VolatileImage.IMAGE_INCOMPATIBLE) {
+				int size = TILE_SQUARES * SQUARE_SIZE;
+				tile = panel.createVolatileImage(size, size);
+				tiles[column][row] = tile;
+			}
+			if (state != VolatileImage.IMAGE_OK) {
+				render(tile, column * TILE_SQUARES, row * TILE_SQUARES);
+			}
+			return tile;
+		}
+
+		/**
+		 * Draws the squares of a tile.
+		 * @param tile	the tile to draw on
+		 * @param left	the x coordinate of the first square of the tile
+		 * @param top	the y coordinate of the first square of the tile
+		 */
+		private void render(VolatileImage tile, int left, int top) {
+			Graphics2D g = tile.createGraphics();
+			g.setColor(Color.BLACK);
+			g.fillRect(0, 0, tile.getWidth(), tile.getHeight());
+			int right = Math.min(width, left + TILE_SQUARES);
+			int bottom = Math.min(height, top + TILE_SQUARES);
+			for (int x = left; x < right; x++) {
+				for (int y = top; y < bottom; y++) {
+					board.squareAt(x, y).getSprite().draw(g, (x - left) * SQUARE_SIZE,
+							(y - top) * SQUARE_SIZE, SQUARE_SIZE, SQUARE_SIZE);
+				}
+			}
+			g.dispose();
+		}
+
+		/**
+		 * Stops listening to the level and frees the video memory of the tiles.
+		 * @param listener	the listener registered on the level
+		 */
+		private void dispose(MoveListener listener) {
+			if (level instanceof DrivenLevel) {
+				((DrivenLevel) level).removeMoveListener(listener);
+			}
+			for (VolatileImage[] column : tiles) {
+				for (VolatileImage tile : column) {
+					if (tile != null) {
+						tile.flush();
+					}
+				}
+			}
+		}
+	}
+}
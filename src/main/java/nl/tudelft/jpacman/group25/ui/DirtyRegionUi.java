@@ -0,0 +1,148 @@
+package nl.tudelft.jpacman.group25.ui;
+
+import java.awt.BorderLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.util.List;
+
+import javax.swing.JButton;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.Timer;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.Player;
+
+/**
+ * Window that plays a game on a {@link DirtyBoardPanel}, with start and stop
+ * buttons, the score of the player and the arrow keys to move.
+ * Large boards can be scrolled.
+ */
+public class DirtyRegionUi extends JFrame {
+
+	/**
+	 * The number of milliseconds between two frames.
+	 */
+	public static final int FRAME_INTERVAL = 40;
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient Game game;
+	private final DirtyBoardPanel board;
+	private final JLabel score = new JLabel();
+	private final Timer frames;
+
+	/**
+	 * Creates the window of a game.
+	 * @param game	the game to play
+	 */
+	public DirtyRegionUi(final Game game) {
+		super("JPacman");
+		assert game != null;
+		this.game = game;
+		this.board = new DirtyBoardPanel(game);
+		this.frames = new Timer(FRAME_INTERVAL, new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				nextFrame();
+			}
+		});
+		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+		getContentPane().add(score, BorderLayout.NORTH);
+		getContentPane().add(new JScrollPane(board), BorderLayout.CENTER);
+		getContentPane().add(buttons(), BorderLayout.SOUTH);
+		addKeyListener(new KeyAdapter() {
+			@Override
+			public void keyPressed(KeyEvent e) {
+				move(e.getKeyCode());
+			}
+		});
+		setFocusable(true);
+	}
+
+	/**
+	 * Shows the window and starts drawing frames.
+	 */
+	public void start() {
+		board.refresh();
+		pack();
+		setVisible(true);
+		frames.start();
+	}
+
+	/**
+	 * Stops drawing frames and closes the window.
+	 */
+	public void stop() {
+		frames.stop();
+		dispose();
+	}
+
+	/**
+	 * Refreshes the board and the score.
+	 */
+	private void nextFrame() {
+		board.refresh();
+		List<Player> players = game.getPlayers();
+		if (!players.isEmpty()) {
+			score.setText("Score: " + players.get(0).getScore());
+		}
+	}
+
+	/**
+	 * Moves the first player in the direction of an arrow key.
+	 * @param keyCode	the key that was pressed
+	 */
+	private void move(int keyCode) {
+		Direction direction = null;
+		switch (keyCode) {
+			case KeyEvent.VK_UP:
+				direction = Direction.NORTH;
+				break;
+			case KeyEvent.VK_DOWN:
+				direction = Direction.SOUTH;
+				break;
+			case KeyEvent.VK_LEFT:
+				direction = Direction.WEST;
+				break;
+			case KeyEvent.VK_RIGHT:
+				direction = Direction.EAST;
+				break;
+			default:
+				return;
+		}
+		game.move(game.getPlayers().get(0), direction);
+	}
+
+	/**
+	 * @return The panel with the start and stop buttons.
+	 */
+	private JPanel buttons() {
+		JPanel panel = new JPanel();
+		JButton start = new JButton("Start");
+		start.addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				game.start();
+				requestFocus();
+			}
+		});
+		JButton stop = new JButton("Stop");
+		stop.addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				game.stop();
+			}
+		});
+		start.setFocusable(false);
+		stop.setFocusable(false);
+		panel.add(start);
+		panel.add(stop);
+		return panel;
+	}
+}
@@ -0,0 +1,48 @@
+package nl.tudelft.jpacman.group25.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import nl.tudelft.jpacman.board.Square;
+
+import org.junit.Test;
+
+/**
+ * This class tests numbering squares by identity.
+ */
+public class CellNumbersTest {
+	private static final int SQUARES = 1000;
+
+	/**
+	 * Every numbered square gets its number back, even when many squares
+	 * share slots of the table.
+	 */
+	@Test
+	public void numbersByIdentity() {
+		CellNumbers numbers = new CellNumbers(SQUARES);
+		Square[] squares = new Square[SQUARES];
+		for (int cell = 0; cell < SQUARES; cell++) {
+			squares[cell] = mock(Square.class);
+			numbers.put(squares[cell], cell);
+		}
+		for (int cell = 0; cell < SQUARES; cell++) {
+			assertEquals(cell, numbers.get(squares[cell]));
+		}
+	}
+
+	/**
+	 * Unknown squares and null have no number, and numbering a square again
+	 * replaces its number.
+	 */
+	@Test
+	public void unknownAndReplaced() {
+		CellNumbers numbers = new CellNumbers(1);
+		Square square = mock(Square.class);
+		numbers.put(square, 0);
+		numbers.put(square, 1);
+
+		assertEquals(1, numbers.get(square));
+		assertEquals(-1, numbers.get(mock(Square.class)));
+		assertEquals(-1, numbers.get(null));
+	}
+}
@@ -0,0 +1,108 @@
+package nl.tudelft.jpacman.group25.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import nl.tudelft.jpacman.Util;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.group25.level.CompactLevelFactory;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests levels played on a compact board.
+ */
+public class CompactBoardFactoryTest {
+	private static final int PELLET_VALUE = 10;
+
+	private Level level;
+	private Board board;
+	private Player player;
+
+	/**
+	 * Creates a level on a compact board with a player next to a pellet.
+	 */
+	@Before
+	public void setUp() {
+		PacManSprites sprites = new PacManSprites();
+		MapParser parser = new MapParser(
+				new CompactLevelFactory(sprites, new GhostFactory(sprites)),
+				new CompactBoardFactory(sprites));
+		level = parser.parseMap(Arrays.asList(
+				"#####",
+				"#P..#",
+				"#####"));
+		board = level.getBoard();
+		player = new PlayerFactory(sprites).createPacMan();
+		level.registerPlayer(player);
+		level.start();
+	}
+
+	/**
+	 * Stops the level.
+	 */
+	@After
+	public void tearDown() {
+		level.stop();
+	}
+
+	/**
+	 * All walls of the board are the same square, which leads to nowhere else.
+	 */
+	@Test
+	public void sharedWalls() {
+		Square wall = board.squareAt(0, 0);
+		assertSame(wall, board.squareAt(4, 2));
+		assertFalse(wall.isAccessibleTo(player));
+		assertSame(wall, wall.getSquareAt(Direction.SOUTH));
+	}
+
+	/**
+	 * Absorbed pellets show up as occupants and are counted as remaining.
+	 */
+	@Test
+	public void absorbedPellets() {
+		Square pelletSquare = board.squareAt(2, 1);
+		assertTrue(((CompactGround) pelletSquare).hasPellet());
+		assertTrue(Util.contains(pelletSquare, Pellet.class));
+		assertEquals(2, level.remainingPellets());
+	}
+
+	/**
+	 * Asking for the occupants of a square again gives the same pellet.
+	 */
+	@Test
+	public void reusedPellet() {
+		Square pelletSquare = board.squareAt(3, 1);
+		assertSame(pelletSquare.getOccupants().get(0), pelletSquare.getOccupants().get(0));
+	}
+
+	/**
+	 * Eating an absorbed pellet scores its points and removes it.
+	 */
+	@Test
+	public void eatPellet() {
+		level.move(player, Direction.EAST);
+
+		Square pelletSquare = board.squareAt(2, 1);
+		assertSame(pelletSquare, player.getSquare());
+		assertEquals(PELLET_VALUE, player.getScore());
+		assertFalse(Util.contains(pelletSquare, Pellet.class));
+		assertEquals(1, level.remainingPellets());
+	}
+}
@@ -0,0 +1,88 @@
+package nl.tudelft.jpacman.group25.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.group25.level.DrivenLevel;
+import nl.tudelft.jpacman.group25.level.DrivenLevelFactory;
+import nl.tudelft.jpacman.group25.level.LevelAssembler;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.npc.ghost.Ghost;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests keeping the kinds of units on every square up to date
+ * while a driven level is played.
+ */
+public class OccupancyIndexTest {
+	private static final int PELLET_VALUE = 10;
+
+	private DrivenLevel level;
+	private Board board;
+	private Player player;
+	private OccupancyIndex index;
+
+	/**
+	 * Creates a level with a player between a wall and a pellet,
+	 * and a ghost behind the pellet.
+	 */
+	@Before
+	public void setUp() {
+		PacManSprites sprites = new PacManSprites();
+		GhostFactory ghosts = new GhostFactory(sprites);
+		LevelAssembler assembler = new LevelAssembler(
+				new DrivenLevelFactory(sprites, ghosts),
+				new CompactBoardFactory(sprites), ghosts);
+		level = (DrivenLevel) assembler.parseMap(Arrays.asList("#P. G#"));
+		board = level.getBoard();
+		player = new PlayerFactory(sprites).createPacMan();
+		level.registerPlayer(player);
+		index = level.getOccupancy();
+	}
+
+	/**
+	 * A new index knows every unit on the board.
+	 */
+	@Test
+	public void initialUnits() {
+		assertTrue(index.holds(square(1), Player.class));
+		assertTrue(index.holds(square(2), Pellet.class));
+		assertTrue(index.holds(square(4), Ghost.class));
+		assertFalse(index.holds(square(4), Pellet.class));
+		assertEquals(0, index.maskOf(square(0)));
+		assertEquals(0, index.maskOf(square(3)));
+	}
+
+	/**
+	 * Eating a pellet moves the player bit and clears the pellet bit.
+	 */
+	@Test
+	public void eatPellet() {
+		level.start();
+		level.move(player, Direction.EAST);
+
+		assertEquals(PELLET_VALUE, player.getScore());
+		assertEquals(0, index.maskOf(square(1)));
+		assertEquals(index.bitOf(Player.class), index.maskOf(square(2)));
+	}
+
+	/**
+	 * @param x	the x coordinate of a square
+	 * @return The square of the single row of the board.
+	 */
+	private Square square(int x) {
+		return board.squareAt(x, 0);
+	}
+}
@@ -0,0 +1,109 @@
+package nl.tudelft.jpacman.group25.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+
+import java.util.Arrays;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the routes of the routing index, with the full table,
+ * with a table that is filled on demand and with a cache that only holds a
+ * single route.
+ */
+public class RoutingIndexTest {
+	private static final int LOOP_DISTANCE = 6;
+	private static final int CORRIDOR_LENGTH = RoutingIndex.EAGER_TABLE_CELLS;
+
+	private MapParser parser;
+	private Board board;
+	private Unit traveller;
+
+	/**
+	 * Creates a board with a loop around a block of walls.
+	 */
+	@Before
+	public void setUp() {
+		PacManSprites sprites = new PacManSprites();
+		parser = new MapParser(new LevelFactory(sprites, new GhostFactory(sprites)),
+				new BoardFactory(sprites));
+		board = parser.parseMap(Arrays.asList(
+				"#######",
+				"#.....#",
+				"#.###.#",
+				"#.....#",
+				"#######")).getBoard();
+		traveller = mock(Unit.class);
+	}
+
+	/**
+	 * Opposite corners of the loop are six steps apart.
+	 */
+	@Test
+	public void distanceFullTable() {
+		RoutingIndex routes = new RoutingIndex(board, traveller);
+		assertEquals(LOOP_DISTANCE, routes.distance(board.squareAt(1, 1), board.squareAt(5, 3)));
+	}
+
+	/**
+	 * Boards too large for the table to be filled up front compute their
+	 * routes when they are first needed.
+	 */
+	@Test
+	public void distanceLazyTable() {
+		StringBuilder corridor = new StringBuilder("#");
+		for (int i = 0; i < CORRIDOR_LENGTH; i++) {
+			corridor.append('.');
+		}
+		Board wide = parser.parseMap(Arrays.asList(corridor.append('#').toString())).getBoard();
+		RoutingIndex routes = new RoutingIndex(wide, traveller);
+		assertEquals(CORRIDOR_LENGTH - 1,
+				routes.distance(wide.squareAt(1, 0), wide.squareAt(CORRIDOR_LENGTH, 0)));
+		assertEquals(Direction.WEST,
+				routes.nextMove(wide.squareAt(CORRIDOR_LENGTH, 0), wide.squareAt(1, 0)));
+	}
+
+	/**
+	 * Routes that were evicted from the cache are computed again.
+	 */
+	@Test
+	public void distanceSingleRoute() {
+		RoutingIndex routes = new RoutingIndex(board, traveller, 1);
+		assertEquals(LOOP_DISTANCE, routes.distance(board.squareAt(1, 1), board.squareAt(5, 3)));
+		assertEquals(2, routes.distance(board.squareAt(1, 1), board.squareAt(3, 1)));
+		assertEquals(LOOP_DISTANCE, routes.distance(board.squareAt(5, 3), board.squareAt(1, 1)));
+	}
+
+	/**
+	 * The first step along a corridor points down that corridor.
+	 */
+	@Test
+	public void nextMoveAlongCorridor() {
+		RoutingIndex routes = new RoutingIndex(board, traveller);
+		assertEquals(Direction.WEST, routes.nextMove(board.squareAt(5, 1), board.squareAt(1, 1)));
+		assertEquals(Direction.SOUTH, routes.nextMove(board.squareAt(1, 1), board.squareAt(1, 3)));
+	}
+
+	/**
+	 * Walls cannot be reached and a square needs no move to reach itself.
+	 */
+	@Test
+	public void noMove() {
+		RoutingIndex routes = new RoutingIndex(board, traveller);
+		assertEquals(-1, routes.distance(board.squareAt(1, 1), board.squareAt(3, 2)));
+		assertNull(routes.nextMove(board.squareAt(1, 1), board.squareAt(3, 2)));
+		assertNull(routes.nextMove(board.squareAt(1, 1), board.squareAt(1, 1)));
+	}
+}
@@ -0,0 +1,182 @@
+package nl.tudelft.jpacman.group25.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.group25.level.DrivenLevel;
+import nl.tudelft.jpacman.group25.level.DrivenLevelFactory;
+import nl.tudelft.jpacman.group25.level.LevelAssembler;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.npc.ghost.Ghost;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Test;
+
+/**
+ * This class tests looking along the rows and columns of a board.
+ */
+public class SightIndexTest {
+	private static final List<String> MAP = Arrays.asList(
+			"#######",
+			"#P. G #",
+			"# ### #",
+			"#G    #",
+			"#######");
+	private static final int GHOST_X = 4;
+	private static final int GHOST_DISTANCE = 3;
+	private static final int OPEN_EAST = 4;
+	private static final int LAST_SQUARE = 3;
+	private static final List<String> OPEN_MAP = Arrays.asList(
+			"#########",
+			"#P      #",
+			"#       #",
+			"#G      #",
+			"#########");
+	private static final int GHOST_ROW = 3;
+	private static final int STEPS = 6;
+	private static final int ROUNDS = 2000;
+	private static final long TIMEOUT = 30L;
+
+	private final PacManSprites sprites = new PacManSprites();
+	private DrivenLevel level;
+	private Board board;
+	private Player player;
+	private SightIndex sight;
+
+	/**
+	 * Units are seen along rows and columns, the nearest one first.
+	 */
+	@Test
+	public void seeUnits() {
+		load(MAP);
+		assertEquals(GHOST_DISTANCE, sight.distanceTo(square(1, 1), Direction.EAST, Ghost.class));
+		assertEquals(2, sight.distanceTo(square(1, 1), Direction.SOUTH, Ghost.class));
+		assertEquals(Direction.SOUTH, sight.lookFor(square(1, 1), Ghost.class));
+		assertEquals(Direction.WEST, sight.lookFor(square(GHOST_X, 1), Player.class));
+		assertEquals(1, sight.distanceTo(square(1, 1), Direction.EAST, Pellet.class));
+	}
+
+	/**
+	 * Walls block the sight, units do not.
+	 */
+	@Test
+	public void wallsBlockSight() {
+		load(MAP);
+		assertEquals(0, sight.wallDistance(square(1, 1), Direction.NORTH));
+		assertEquals(OPEN_EAST, sight.wallDistance(square(1, 1), Direction.EAST));
+		assertEquals(-1, sight.distanceTo(square(1, 1), Direction.NORTH, Ghost.class));
+		assertEquals(-1, sight.distanceTo(square(GHOST_X, 1), Direction.WEST, Ghost.class));
+		assertEquals(GHOST_DISTANCE, sight.distanceTo(square(GHOST_X, 1), Direction.WEST,
+				Player.class));
+	}
+
+	/**
+	 * Sight wraps around the edges of the board like moves do.
+	 */
+	@Test
+	public void sightWraps() {
+		load(Arrays.asList("P. G"));
+		assertEquals(1, sight.distanceTo(square(0, 0), Direction.WEST, Ghost.class));
+		assertEquals(LAST_SQUARE, sight.distanceTo(square(0, 0), Direction.EAST, Ghost.class));
+		assertEquals(Direction.WEST, sight.lookFor(square(0, 0), Ghost.class));
+		assertEquals(LAST_SQUARE, sight.wallDistance(square(0, 0), Direction.EAST));
+	}
+
+	/**
+	 * The index follows the moves made on the level.
+	 */
+	@Test
+	public void followMoves() {
+		load(MAP);
+		level.start();
+		level.move(player, Direction.EAST);
+
+		assertEquals(2, sight.distanceTo(square(GHOST_X, 1), Direction.WEST, Player.class));
+		assertEquals(-1, sight.distanceTo(square(GHOST_X, 1), Direction.WEST, Pellet.class));
+	}
+
+	/**
+	 * Moving a player and a ghost from two threads, whose squares share the
+	 * words of their columns, leaves the index matching their squares.
+	 * @throws InterruptedException when the test is interrupted.
+	 */
+	@Test
+	public void concurrentMoves() throws InterruptedException {
+		load(OPEN_MAP);
+		level.start();
+		final Ghost ghost = (Ghost) level.getNpcs().get(0);
+		ExecutorService threads = Executors.newFixedThreadPool(2);
+		threads.execute(pace(player));
+		threads.execute(pace(ghost));
+		threads.shutdown();
+		assertTrue(threads.awaitTermination(TIMEOUT, TimeUnit.SECONDS));
+
+		assertEquals(square(1, 1), player.getSquare());
+		assertEquals(square(1, GHOST_ROW), ghost.getSquare());
+		assertEquals(Direction.SOUTH, sight.lookFor(player.getSquare(), Ghost.class));
+		assertEquals(Direction.NORTH, sight.lookFor(ghost.getSquare(), Player.class));
+		assertEquals(2, sight.distanceTo(player.getSquare(), Direction.SOUTH, Ghost.class));
+		for (int x = 2; x < OPEN_MAP.get(0).length() - 1; x++) {
+			assertEquals(-1, sight.distanceTo(square(x, 2), Direction.NORTH, Player.class));
+			assertEquals(-1, sight.distanceTo(square(x, 2), Direction.SOUTH, Ghost.class));
+		}
+	}
+
+	/**
+	 * @param unit	a unit on the left of an empty row
+	 * @return A task that walks the unit along its row and back, many times.
+	 */
+	private Runnable pace(final Unit unit) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				for (int round = 0; round < ROUNDS; round++) {
+					for (int i = 0; i < STEPS; i++) {
+						level.move(unit, Direction.EAST);
+					}
+					for (int i = 0; i < STEPS; i++) {
+						level.move(unit, Direction.WEST);
+					}
+				}
+			}
+		};
+	}
+
+	/**
+	 * Loads a map, registers a player and builds the sight index.
+	 * @param map	the rows of the map
+	 */
+	private void load(List<String> map) {
+		GhostFactory ghosts = new GhostFactory(sprites);
+		LevelAssembler assembler = new LevelAssembler(
+				new DrivenLevelFactory(sprites, ghosts),
+				new CompactBoardFactory(sprites), ghosts);
+		level = (DrivenLevel) assembler.parseMap(map);
+		board = level.getBoard();
+		player = new PlayerFactory(sprites).createPacMan();
+		level.registerPlayer(player);
+		sight = level.getSightIndex();
+	}
+
+	/**
+	 * @param x	the x coordinate of a square
+	 * @param y	the y coordinate of the square
+	 * @return The square of the board.
+	 */
+	private Square square(int x, int y) {
+		return board.squareAt(x, y);
+	}
+}
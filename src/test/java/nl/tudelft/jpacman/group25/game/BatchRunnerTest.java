@@ -0,0 +1,46 @@
+package nl.tudelft.jpacman.group25.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.group25.MultiLevelLauncher;
+import nl.tudelft.jpacman.group25.level.MapSource;
+
+import org.junit.Test;
+
+/**
+ * This class tests playing batches of games in parallel.
+ */
+public class BatchRunnerTest {
+	private static final int PARALLELISM = 4;
+	private static final long MAX_TICKS = 1000L;
+	private static final int LEVELS = 3;
+	private static final int PELLET_VALUE = 10;
+
+	/**
+	 * Every seed yields one result, in the order of the seeds,
+	 * and every result is consistent with the default map.
+	 */
+	@Test
+	public void resultPerSeed() {
+		long[] seeds = {1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L};
+		List<MapSource> maps = Arrays.asList(MultiLevelLauncher.DEFAULT_MAP);
+
+		List<GameResult> results = new BatchRunner(PARALLELISM, MAX_TICKS).run(maps, seeds);
+
+		assertEquals(seeds.length, results.size());
+		for (int i = 0; i < seeds.length; i++) {
+			GameResult result = results.get(i);
+			assertEquals(seeds[i], result.getSeed());
+			assertEquals(result.getLevelsWon() * PELLET_VALUE, result.getScore());
+			if (result.isAlive()) {
+				assertEquals(LEVELS, result.getLevelsWon());
+			} else {
+				assertNotNull(result.getCauseOfDeath());
+			}
+		}
+	}
+}
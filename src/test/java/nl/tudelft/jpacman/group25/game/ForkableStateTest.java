@@ -0,0 +1,103 @@
+package nl.tudelft.jpacman.group25.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.group25.HeadlessMultiLevelLauncher;
+import nl.tudelft.jpacman.group25.level.DrivenLevel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests forking and playing on copies of a level.
+ * The map of the level is <code>#GP.#</code>, so the squares of the ghost,
+ * the player and the pellet are numbered 1, 2 and 3.
+ */
+public class ForkableStateTest {
+	private static final int PELLET_VALUE = 10;
+	private static final int PELLET_CELL = 3;
+	private static final int ROUNDS = 100;
+
+	private DrivenLevel level;
+	private ForkableState root;
+
+	/**
+	 * Copies the first level of a headless game.
+	 */
+	@Before
+	public void setUp() {
+		MultiLevelGame game = (MultiLevelGame) new HeadlessMultiLevelLauncher().makeGame();
+		level = (DrivenLevel) game.getLevel();
+		root = ForkableState.of(level);
+	}
+
+	/**
+	 * The copy has the units and pellets of the level.
+	 */
+	@Test
+	public void copiesLevel() {
+		assertEquals(2, root.getPlayerCell());
+		assertEquals(1, root.getGhostCount());
+		assertEquals(1, root.getGhostCell(0));
+		assertTrue(root.hasPellet(PELLET_CELL));
+		assertEquals(1, root.getRemainingPellets());
+		assertFalse(root.isOver());
+	}
+
+	/**
+	 * Eating the pellet in a fork leaves it in the original and in other forks,
+	 * and leaves the level itself alone.
+	 */
+	@Test
+	public void forksAreIndependent() {
+		ForkableState eater = root.fork();
+		ForkableState other = root.fork();
+
+		assertTrue(eater.movePlayer(Direction.EAST));
+
+		assertFalse(eater.hasPellet(PELLET_CELL));
+		assertEquals(PELLET_VALUE, eater.getScore());
+		assertTrue(eater.isOver());
+		assertTrue(root.hasPellet(PELLET_CELL));
+		assertTrue(other.hasPellet(PELLET_CELL));
+		assertEquals(0L, other.getScore());
+		assertEquals(1, level.remainingPellets());
+	}
+
+	/**
+	 * Walking into the ghost ends the game in that fork only.
+	 */
+	@Test
+	public void caughtInFork() {
+		ForkableState caught = root.fork();
+		caught.movePlayer(Direction.WEST);
+
+		assertFalse(caught.isAlive());
+		assertTrue(root.isAlive());
+	}
+
+	/**
+	 * Walls cannot be walked into, ground can.
+	 */
+	@Test
+	public void wallsBlock() {
+		assertFalse(root.canMove(PELLET_CELL, Direction.EAST));
+		assertTrue(root.canMove(root.getPlayerCell(), Direction.EAST));
+	}
+
+	/**
+	 * Random play-outs end the game on this tiny level.
+	 */
+	@Test
+	public void playOutEnds() {
+		ForkableState fork = root.fork();
+		assertTrue(fork.playOut(new Random(1L), ROUNDS) < ROUNDS);
+		assertTrue(fork.isOver());
+		assertFalse(root.isOver());
+	}
+}
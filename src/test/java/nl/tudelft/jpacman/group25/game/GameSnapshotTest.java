@@ -0,0 +1,92 @@
+package nl.tudelft.jpacman.group25.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.group25.HeadlessMultiLevelLauncher;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Player;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests taking and restoring snapshots of a multi-level game.
+ * The map of every level is <code>#GP.#</code>.
+ */
+public class GameSnapshotTest {
+	private static final long MAX_TICKS = 1000L;
+	private static final int PELLET_VALUE = 10;
+
+	private MultiLevelGame game;
+	private Player player;
+	private GameSnapshot start;
+	private Level firstLevel;
+	private Square firstSquare;
+
+	/**
+	 * Starts a headless game and takes a snapshot of its first moment.
+	 */
+	@Before
+	public void setUp() {
+		game = (MultiLevelGame) new HeadlessMultiLevelLauncher().makeGame();
+		player = game.getPlayers().get(0);
+		game.start();
+		firstLevel = game.getLevel();
+		firstSquare = player.getSquare();
+		start = game.snapshot();
+	}
+
+	/**
+	 * Restoring after a level was won goes back to the first level,
+	 * with its pellet and without the points of the pellet.
+	 */
+	@Test
+	public void restoreWonLevel() {
+		game.move(player, Direction.EAST);
+		game.awaitTransition();
+		assertEquals(1, game.getLevelIndex());
+		assertEquals(PELLET_VALUE, player.getScore());
+
+		game.restore(start);
+
+		assertSame(firstLevel, game.getLevel());
+		assertSame(firstSquare, player.getSquare());
+		assertEquals(0, game.getLevelIndex());
+		assertEquals(0, game.getLevelsWon());
+		assertEquals(0, player.getScore());
+		assertEquals(1, firstLevel.remainingPellets());
+		assertTrue(game.isInProgress());
+	}
+
+	/**
+	 * Restoring after the player was caught brings the player back to life,
+	 * and the game can be won from there.
+	 */
+	@Test
+	public void restoreLostGame() {
+		new SimulationEngine(game).run(null, MAX_TICKS);
+		assertFalse(player.isAlive());
+
+		game.restore(start);
+		assertTrue(player.isAlive());
+		assertTrue(game.isInProgress());
+
+		game.move(player, Direction.EAST);
+		game.awaitTransition();
+		assertEquals(1, game.getLevelsWon());
+		assertEquals(1, game.getLevelIndex());
+	}
+
+	/**
+	 * A snapshot can only be restored on the game it was taken of.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void restoreOtherGame() {
+		MultiLevelGame other = (MultiLevelGame) new HeadlessMultiLevelLauncher().makeGame();
+		other.restore(start);
+	}
+}
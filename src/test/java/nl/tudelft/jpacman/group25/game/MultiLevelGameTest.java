@@ -0,0 +1,170 @@
+package nl.tudelft.jpacman.group25.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.group25.board.CompactBoardFactory;
+import nl.tudelft.jpacman.group25.level.DrivenLevelFactory;
+import nl.tudelft.jpacman.group25.level.LevelAssembler;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * This class tests creating the levels of a multi-level game on demand.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MultiLevelGameTest {
+	private static final int LEVELS = 3;
+
+	@Mock private Player player;
+
+	private final List<Level> created = Collections.synchronizedList(new ArrayList<Level>());
+	private final AtomicInteger building = new AtomicInteger();
+	private final AtomicInteger overlaps = new AtomicInteger();
+	private final CountDownLatch released = new CountDownLatch(1);
+
+	/**
+	 * Clears the created levels.
+	 */
+	@Before
+	public void setUp() {
+		created.clear();
+	}
+
+	/**
+	 * Every won level is followed by the next one, until all are played.
+	 */
+	@Test
+	public void winAllLevels() {
+		MultiLevelGame game = new MultiLevelGame(player, new LevelSupplier() {
+			@Override
+			public Level createLevel(int index) {
+				assertEquals(created.size(), index);
+				Level level = mock(Level.class);
+				created.add(level);
+				return level;
+			}
+		}, LEVELS);
+		for (int i = 0; i < LEVELS; i++) {
+			assertSame(created.get(i), game.getLevel());
+			verify(game.getLevel()).registerPlayer(player);
+			game.levelWon();
+			game.awaitTransition();
+		}
+
+		assertEquals(LEVELS, game.getLevelsWon());
+		assertEquals(LEVELS, created.size());
+	}
+
+	/**
+	 * A game without a level count ends when its supplier runs out of levels.
+	 */
+	@Test
+	public void supplierRunsOut() {
+		MultiLevelGame game = new MultiLevelGame(player, new LevelSupplier() {
+			@Override
+			public Level createLevel(int index) {
+				if (index == LEVELS) {
+					return null;
+				}
+				Level level = mock(Level.class);
+				created.add(level);
+				return level;
+			}
+		});
+		for (int i = 0; i <= LEVELS; i++) {
+			game.levelWon();
+			game.awaitTransition();
+		}
+
+		assertSame(created.get(LEVELS - 1), game.getLevel());
+		assertEquals(LEVELS - 1, game.getLevelIndex());
+		assertEquals(LEVELS, created.size());
+	}
+
+	/**
+	 * Going back to an earlier level while the next one is being built waits
+	 * for that build before building another level, and does not move on to
+	 * the level of that build.
+	 */
+	@Test
+	public void oneLevelAtATime() {
+		MultiLevelGame game = new MultiLevelGame(player, blockedSupplier());
+		GameSnapshot first = game.snapshot();
+		game.levelWon();
+		assertEquals(0, game.getLevelIndex());
+		game.restore(first);
+		game.levelWon();
+		released.countDown();
+		game.awaitTransition();
+
+		assertEquals(1, game.getLevelIndex());
+		assertEquals(0, overlaps.get());
+	}
+
+	/**
+	 * @return A supplier of driven levels that only builds the levels after
+	 * 			the first once the test releases it, and counts the builds
+	 * 			that overlap.
+	 */
+	private LevelSupplier blockedSupplier() {
+		return new LevelSupplier() {
+			@Override
+			public Level createLevel(int index) {
+				if (building.incrementAndGet() > 1) {
+					overlaps.incrementAndGet();
+				}
+				try {
+					if (index > 0) {
+						released.await();
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				building.decrementAndGet();
+				PacManSprites sprites = new PacManSprites();
+				GhostFactory ghosts = new GhostFactory(sprites);
+				LevelAssembler assembler = new LevelAssembler(new DrivenLevelFactory(sprites, ghosts),
+						new CompactBoardFactory(sprites), ghosts);
+				return assembler.parseMap(Arrays.asList("#P.#"));
+			}
+		};
+	}
+
+	/**
+	 * A level that cannot be built fails the transition to it, which is
+	 * reported to the thread waiting for the transition.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void failedLevel() {
+		MultiLevelGame game = new MultiLevelGame(player, new LevelSupplier() {
+			@Override
+			public Level createLevel(int index) {
+				if (index > 0) {
+					throw new PacmanConfigurationException("No such level.");
+				}
+				return mock(Level.class);
+			}
+		}, LEVELS);
+		game.levelWon();
+		game.awaitTransition();
+	}
+}
@@ -0,0 +1,87 @@
+package nl.tudelft.jpacman.group25.game;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.group25.HeadlessMultiLevelLauncher;
+import nl.tudelft.jpacman.group25.MultiLevelLauncher;
+import nl.tudelft.jpacman.group25.level.MapSource;
+import nl.tudelft.jpacman.level.Player;
+
+import org.junit.Test;
+
+/**
+ * This class tests recording games to a journal and playing them back.
+ */
+public class ReplayerTest {
+	private static final long SEED = 42L;
+	private static final long MAX_TICKS = 1000L;
+	private static final MapSource MAP = MultiLevelLauncher.DEFAULT_MAP;
+
+	/**
+	 * Playing back a journal ends the game exactly as it was recorded.
+	 * @throws IOException never, the journal is kept in memory.
+	 */
+	@Test
+	public void replayMatchesRecording() throws IOException {
+		MultiLevelGame game = (MultiLevelGame) new HeadlessMultiLevelLauncher(MAP).makeGame();
+		SimulationEngine engine = new SimulationEngine(game);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		JournalWriter journal = new JournalWriter(bytes, SEED);
+		engine.setJournal(journal);
+		long ticks = engine.run(new RandomPlayerController(SEED), MAX_TICKS);
+		journal.close();
+
+		GameResult result = new Replayer(MAP).replay(
+				new ByteArrayInputStream(bytes.toByteArray()));
+
+		Player player = game.getPlayers().get(0);
+		assertEquals(SEED, result.getSeed());
+		assertEquals(ticks, result.getTicks());
+		assertEquals(player.getScore(), result.getScore());
+		assertEquals(game.getLevelsWon(), result.getLevelsWon());
+		assertEquals(player.isAlive(), result.isAlive());
+	}
+
+	/**
+	 * Moves queued behind the move that wins a level are not journaled,
+	 * so playing back does not make them on the next level.
+	 * @throws IOException never, the journal is kept in memory.
+	 */
+	@Test
+	public void queuedMovesAfterWin() throws IOException {
+		MultiLevelGame game = (MultiLevelGame) new HeadlessMultiLevelLauncher(MAP).makeGame();
+		Player player = game.getPlayers().get(0);
+		SimulationEngine engine = new SimulationEngine(game);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		JournalWriter journal = new JournalWriter(bytes, SEED);
+		engine.setJournal(journal);
+		engine.resume();
+		engine.move(player, Direction.EAST);
+		engine.move(player, Direction.WEST);
+		engine.tick(null);
+		engine.run(null, 1L);
+		journal.close();
+
+		GameResult result = new Replayer(MAP).replay(
+				new ByteArrayInputStream(bytes.toByteArray()));
+
+		assertEquals(1, game.getLevelsWon());
+		assertEquals(game.getLevelsWon(), result.getLevelsWon());
+		assertEquals(player.isAlive(), result.isAlive());
+		assertEquals(player.getScore(), result.getScore());
+	}
+
+	/**
+	 * A stream that is not a journal is rejected.
+	 * @throws IOException always, the stream is not a journal.
+	 */
+	@Test(expected = IOException.class)
+	public void rejectsOtherStreams() throws IOException {
+		new Replayer(MAP).replay(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5}));
+	}
+}
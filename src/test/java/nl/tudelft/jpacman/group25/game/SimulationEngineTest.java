@@ -0,0 +1,68 @@
+package nl.tudelft.jpacman.group25.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.group25.HeadlessMultiLevelLauncher;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Player;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the headless simulation of a multi-level game.
+ * The map of every level is <code>#GP.#</code>.
+ */
+public class SimulationEngineTest {
+	private static final long MAX_TICKS = 1000L;
+	private static final int LEVELS = 3;
+	private static final int PELLET_VALUE = 10;
+
+	private MultiLevelGame game;
+	private SimulationEngine engine;
+	private Player player;
+
+	/**
+	 * Sets up a headless multi-level game.
+	 */
+	@Before
+	public void setUp() {
+		game = (MultiLevelGame) new HeadlessMultiLevelLauncher().makeGame();
+		engine = new SimulationEngine(game);
+		player = game.getPlayers().get(0);
+	}
+
+	/**
+	 * A player that keeps moving east eats the pellet of every level
+	 * before the ghost gets to move.
+	 */
+	@Test
+	public void winAllLevels() {
+		long played = engine.run(new PlayerController() {
+			@Override
+			public Direction nextMove(Level level, Player p) {
+				return Direction.EAST;
+			}
+		}, MAX_TICKS);
+
+		assertEquals(LEVELS, played);
+		assertTrue(player.isAlive());
+		assertEquals(LEVELS * PELLET_VALUE, player.getScore());
+		assertFalse(game.isInProgress());
+	}
+
+	/**
+	 * A player that does not move gets caught by the ghost next to it.
+	 */
+	@Test
+	public void caughtByGhost() {
+		long played = engine.run(null, MAX_TICKS);
+
+		assertTrue(played < MAX_TICKS);
+		assertFalse(player.isAlive());
+		assertFalse(game.isInProgress());
+		assertEquals(played * SimulationEngine.DEFAULT_TICK_LENGTH, engine.getClock());
+	}
+}
@@ -0,0 +1,108 @@
+package nl.tudelft.jpacman.group25.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.group25.HeadlessMultiLevelLauncher;
+import nl.tudelft.jpacman.group25.board.CompactBoardFactory;
+import nl.tudelft.jpacman.group25.npc.ghost.CustomGhostFactory;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * This class tests compiling text maps and loading the compiled levels.
+ */
+public class BinaryLevelLoaderTest {
+	private static final int WIDTH = 5;
+	private static final int HEIGHT = 3;
+
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * A compiled file loads into the same level as its text map.
+	 * @throws IOException when the temporary files cannot be written.
+	 */
+	@Test
+	public void loadCompiledFile() throws IOException {
+		File text = folder.newFile("map.txt");
+		File binary = folder.newFile("map.lvl");
+		Files.write(text.toPath(), Arrays.asList("#####", "#GP.#", "#####"),
+				StandardCharsets.US_ASCII);
+		LevelCompiler.compile(text.toPath(), binary.toPath());
+
+		DrivenLevel level = (DrivenLevel) new HeadlessMultiLevelLauncher(
+				new BinaryMapSource(binary.toPath())).makeLevel();
+		Board board = level.getBoard();
+
+		assertEquals(WIDTH, board.getWidth());
+		assertEquals(HEIGHT, board.getHeight());
+		assertEquals(1, level.remainingPellets());
+		assertEquals(1, level.getNpcs().size());
+		assertFalse(board.squareAt(0, 1).isAccessibleTo(null));
+	}
+
+	/**
+	 * An odd number of squares still loads every square.
+	 */
+	@Test
+	public void loadOddSquares() {
+		ByteBuffer compiled = LevelCompiler.compile(Arrays.asList("P.."));
+		DrivenLevel level = (DrivenLevel) BinaryLevelLoader.load(compiled,
+				assembler());
+
+		assertEquals(2, level.remainingPellets());
+		assertTrue(level.getNpcs().isEmpty());
+	}
+
+	/**
+	 * Bytes that do not start with the magic number are rejected.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void invalidMagic() {
+		ByteBuffer compiled = LevelCompiler.compile(Arrays.asList("P.."));
+		compiled.put(0, (byte) 0);
+		BinaryLevelLoader.load(compiled, assembler());
+	}
+
+	/**
+	 * A level missing some of its squares is rejected.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void invalidTruncated() {
+		ByteBuffer compiled = LevelCompiler.compile(Arrays.asList("P....."));
+		compiled.limit(compiled.limit() - 1);
+		BinaryLevelLoader.load(compiled, assembler());
+	}
+
+	/**
+	 * A map with an unknown character cannot be compiled.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void invalidChar() {
+		LevelCompiler.compile(Arrays.asList("C  "));
+	}
+
+	/**
+	 * @return An assembler of headless levels.
+	 */
+	private static LevelAssembler assembler() {
+		PacManSprites sprites = new PacManSprites();
+		GhostFactory ghosts = new CustomGhostFactory(sprites, true);
+		return new LevelAssembler(new DrivenLevelFactory(sprites, ghosts),
+				new CompactBoardFactory(sprites), ghosts);
+	}
+}
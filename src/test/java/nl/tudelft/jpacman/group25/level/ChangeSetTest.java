@@ -0,0 +1,98 @@
+package nl.tudelft.jpacman.group25.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.group25.HeadlessMultiLevelLauncher;
+import nl.tudelft.jpacman.group25.game.MultiLevelGame;
+import nl.tudelft.jpacman.group25.game.PlayerController;
+import nl.tudelft.jpacman.group25.game.SimulationEngine;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.Player;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the changes a driven level publishes every tick.
+ * The map of the level is <code>#GP.#</code>.
+ */
+public class ChangeSetTest {
+	private static final int PELLET_VALUE = 10;
+
+	private MultiLevelGame game;
+	private DrivenLevel level;
+	private Player player;
+	private Square start;
+	private Square pelletSquare;
+	private int ticks;
+
+	/**
+	 * Sets up a headless game.
+	 */
+	@Before
+	public void setUp() {
+		game = (MultiLevelGame) new HeadlessMultiLevelLauncher().makeGame();
+		level = (DrivenLevel) game.getLevel();
+		player = game.getPlayers().get(0);
+		start = player.getSquare();
+		pelletSquare = start.getSquareAt(Direction.EAST);
+	}
+
+	/**
+	 * Eating the pellet shows up as a move of the player, an eaten pellet
+	 * and a higher score, and the next tick starts empty.
+	 */
+	@Test
+	public void eatPellet() {
+		level.addChangeListener(new ChangeListener() {
+			@Override
+			public void tickCompleted(DrivenLevel changed, ChangeSet changes) {
+				ticks++;
+				assertSame(level, changed);
+				assertEquals(1, changes.getMoveCount());
+				assertSame(player, changes.getUnit(0));
+				assertEquals(0, changes.getUnitIndex(0));
+				assertSame(start, changes.getFrom(0));
+				assertSame(pelletSquare, changes.getTo(0));
+				assertEquals(1, changes.getEatenCount());
+				assertSame(pelletSquare, changes.getEatenSquare(0));
+				assertEquals(PELLET_VALUE, changes.getPointsEaten());
+				assertEquals(PELLET_VALUE, changes.getScoreDelta(0));
+			}
+		});
+		SimulationEngine engine = new SimulationEngine(game);
+		engine.resume();
+		engine.tick(new PlayerController() {
+			@Override
+			public Direction nextMove(Level current, Player p) {
+				return Direction.EAST;
+			}
+		});
+		assertEquals(1, ticks);
+	}
+
+	/**
+	 * Moves into a wall and ticks without moves are not changes.
+	 */
+	@Test
+	public void nothingChanged() {
+		final ChangeSet[] published = new ChangeSet[1];
+		level.addChangeListener(new ChangeListener() {
+			@Override
+			public void tickCompleted(DrivenLevel changed, ChangeSet changes) {
+				assertTrue(changes.isEmpty());
+				assertEquals(0, changes.getScoreDelta(0));
+				published[0] = changes;
+			}
+		});
+		level.start();
+		level.move(player, Direction.NORTH);
+		level.publishChanges();
+		level.publishChanges();
+		assertTrue(published[0].isEmpty());
+	}
+}
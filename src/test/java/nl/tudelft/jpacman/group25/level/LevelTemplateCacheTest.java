@@ -0,0 +1,107 @@
+package nl.tudelft.jpacman.group25.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import nl.tudelft.jpacman.group25.board.CompactBoardFactory;
+import nl.tudelft.jpacman.group25.npc.ghost.CustomGhostFactory;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * This class tests remembering map layouts and copying levels from them.
+ */
+public class LevelTemplateCacheTest {
+	private static final int LEVELS = 3;
+	private static final int FILE_PELLETS = 4;
+
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+
+	private LevelTemplateCache cache;
+	private PacManSprites sprites;
+	private GhostFactory ghosts;
+
+	/**
+	 * Sets up an empty cache that remembers one map.
+	 */
+	@Before
+	public void setUp() {
+		cache = new LevelTemplateCache(1);
+		sprites = new PacManSprites();
+		ghosts = new CustomGhostFactory(sprites, true);
+	}
+
+	/**
+	 * A map is only loaded once, later levels are copies with their own units.
+	 */
+	@Test
+	public void loadOnce() {
+		MapSource map = spy(new GridMapSource("#####", "#GP.#", "#####"));
+		DrivenLevel first = (DrivenLevel) cache.load(map, assembler());
+		for (int i = 1; i < LEVELS; i++) {
+			DrivenLevel copy = (DrivenLevel) cache.load(map, assembler());
+			assertEquals(1, copy.remainingPellets());
+			assertNotSame(first.getNpcs().get(0), copy.getNpcs().get(0));
+		}
+		verify(map, times(1)).load(any(LevelAssembler.class));
+		assertTrue(cache.contains(map));
+	}
+
+	/**
+	 * Loading another map drops the least recently used one.
+	 */
+	@Test
+	public void evictOldest() {
+		MapSource first = new GridMapSource("P.");
+		MapSource second = new GridMapSource(".P");
+		cache.load(first, assembler());
+		cache.load(second, assembler());
+
+		assertEquals(1, cache.size());
+		assertFalse(cache.contains(first));
+		assertTrue(cache.contains(second));
+	}
+
+	/**
+	 * A text file is only read and parsed once, later levels are copies.
+	 * @throws IOException when the map file cannot be written.
+	 */
+	@Test
+	public void loadFileOnce() throws IOException {
+		File file = folder.newFile("map.txt");
+		Files.write(file.toPath(), Arrays.asList("#G.P#", "#...#"), StandardCharsets.UTF_8);
+		MapSource map = spy(new FileMapSource(file.toPath()));
+		for (int i = 0; i < LEVELS; i++) {
+			DrivenLevel level = (DrivenLevel) cache.load(map, assembler());
+			assertEquals(FILE_PELLETS, level.remainingPellets());
+			assertEquals(1, level.getNpcs().size());
+		}
+		verify(map, times(1)).load(any(LevelAssembler.class));
+		assertTrue(cache.contains(map));
+	}
+
+	/**
+	 * @return An assembler of headless levels.
+	 */
+	private LevelAssembler assembler() {
+		return new LevelAssembler(new DrivenLevelFactory(sprites, ghosts),
+				new CompactBoardFactory(sprites), ghosts);
+	}
+}
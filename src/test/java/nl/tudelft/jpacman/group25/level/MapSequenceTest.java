@@ -0,0 +1,96 @@
+package nl.tudelft.jpacman.group25.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.group25.HeadlessMultiLevelLauncher;
+import nl.tudelft.jpacman.group25.game.MultiLevelGame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * This class tests walking the maps of a campaign.
+ */
+public class MapSequenceTest {
+	private static final MapSource FIRST = new GridMapSource("#P.#");
+	private static final MapSource SECOND = new GridMapSource("#P..#");
+	private static final MapSource THIRD = new GridMapSource("#P...#");
+	private static final int FIRST_WIDTH = 4;
+	private static final int SECOND_WIDTH = 5;
+	private static final int MAZE_SIZE = 9;
+	private static final int LATE_LEVEL = 1000;
+
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Levels are looked up forwards and backwards, and levels past the end
+	 * of the campaign have no map.
+	 */
+	@Test
+	public void lookUpLevels() {
+		MapSequence maps = new MapSequence(Arrays.asList(FIRST, SECOND, THIRD));
+		assertEquals(FIRST, maps.get(0));
+		assertEquals(THIRD, maps.get(2));
+		assertEquals(THIRD, maps.get(2));
+		assertEquals(SECOND, maps.get(1));
+		assertNull(maps.get(3));
+		assertEquals(FIRST, maps.get(0));
+	}
+
+	/**
+	 * The maps of a directory are ordered by file name, skipping other files.
+	 * @throws IOException when the temporary files cannot be written.
+	 */
+	@Test
+	public void directory() throws IOException {
+		List<String> map = Arrays.asList("#P.#");
+		Files.write(folder.newFile("b.txt").toPath(), map, StandardCharsets.US_ASCII);
+		Files.write(folder.newFile("a.txt").toPath(), map, StandardCharsets.US_ASCII);
+		folder.newFile("notes.md");
+		MapSequence maps = new MapSequence(MapSequence.directory(folder.getRoot().toPath()));
+
+		assertEquals(new FileMapSource(folder.getRoot().toPath().resolve("a.txt")),
+				maps.get(0));
+		assertEquals(new FileMapSource(folder.getRoot().toPath().resolve("b.txt")),
+				maps.get(1));
+		assertNull(maps.get(2));
+	}
+
+	/**
+	 * Generated campaigns never run out and give every level its own maze.
+	 */
+	@Test
+	public void endlessMazes() {
+		MapSequence maps = new MapSequence(MapSequence.mazes(MAZE_SIZE, MAZE_SIZE, 1L));
+		assertEquals(new MazeGenerator(MAZE_SIZE, MAZE_SIZE, 1L + LATE_LEVEL),
+				maps.get(LATE_LEVEL));
+		assertTrue(!maps.get(0).equals(maps.get(1)));
+	}
+
+	/**
+	 * A game of a campaign plays its levels in order and ends after the last.
+	 */
+	@Test
+	public void playCampaign() {
+		MultiLevelGame game = (MultiLevelGame) new HeadlessMultiLevelLauncher(
+				Arrays.asList(FIRST, SECOND)).makeGame();
+		assertEquals(FIRST_WIDTH, game.getLevel().getBoard().getWidth());
+		game.levelWon();
+		game.awaitTransition();
+		assertEquals(SECOND_WIDTH, game.getLevel().getBoard().getWidth());
+		game.levelWon();
+		game.awaitTransition();
+
+		assertEquals(1, game.getLevelIndex());
+		assertEquals(2, game.getLevelsWon());
+	}
+}
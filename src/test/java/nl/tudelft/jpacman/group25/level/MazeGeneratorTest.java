@@ -0,0 +1,161 @@
+package nl.tudelft.jpacman.group25.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.group25.HeadlessMultiLevelLauncher;
+import nl.tudelft.jpacman.group25.board.CompactBoardFactory;
+import nl.tudelft.jpacman.group25.npc.ghost.CustomGhostFactory;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Test;
+
+/**
+ * This class tests generating mazes from a seed.
+ */
+public class MazeGeneratorTest {
+	private static final int WIDTH = 41;
+	private static final int HEIGHT = 30;
+	private static final long SEED = 42L;
+	private static final int GHOSTS = 6;
+
+	/**
+	 * The same seed gives the same maze, another seed gives another maze.
+	 */
+	@Test
+	public void sameSeedSameMaze() {
+		MazeGenerator maze = new MazeGenerator(WIDTH, HEIGHT, SEED);
+		assertEquals(render(maze), render(new MazeGenerator(WIDTH, HEIGHT, SEED)));
+		assertFalse(render(maze).equals(render(new MazeGenerator(WIDTH, HEIGHT, SEED + 1))));
+		assertEquals(maze, new MazeGenerator(WIDTH, HEIGHT, SEED));
+	}
+
+	/**
+	 * Every open square of a maze without loops can be reached from the start,
+	 * which is the only player square, and the maze is closed by walls.
+	 */
+	@Test
+	public void connectedAndClosed() {
+		MazeGenerator maze = new MazeGenerator(WIDTH, HEIGHT, 0.0, GHOSTS, 1.0, SEED);
+		int open = 0;
+		int players = 0;
+		int ghosts = 0;
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				char c = maze.charAt(x, y);
+				boolean border = x == 0 || y == 0 || x == WIDTH - 1 || y == HEIGHT - 1;
+				assertTrue(!border || c == '#');
+				if (c != '#') {
+					open++;
+				}
+				if (c == 'P') {
+					players++;
+				}
+				if (c == 'G') {
+					ghosts++;
+				}
+			}
+		}
+		assertEquals(1, players);
+		assertEquals(GHOSTS, ghosts);
+		assertEquals(open, reachable(maze));
+	}
+
+	/**
+	 * A dense maze opens more squares than a maze without loops.
+	 */
+	@Test
+	public void corridorDensity() {
+		MazeGenerator sparse = new MazeGenerator(WIDTH, HEIGHT, 0.0, 0, 0.0, SEED);
+		MazeGenerator dense = new MazeGenerator(WIDTH, HEIGHT, 1.0, 0, 0.0, SEED);
+		assertTrue(reachable(dense) > reachable(sparse));
+		assertEquals(' ', dense.charAt(2, 1));
+	}
+
+	/**
+	 * A generated maze loads into a level with the requested pellets and ghosts.
+	 */
+	@Test
+	public void loadLevel() {
+		MazeGenerator maze = new MazeGenerator(WIDTH, HEIGHT, 0.0, GHOSTS, 1.0, SEED);
+		DrivenLevel level = (DrivenLevel) new HeadlessMultiLevelLauncher(maze).makeLevel();
+		Board board = level.getBoard();
+
+		assertEquals(WIDTH, board.getWidth());
+		assertEquals(HEIGHT, board.getHeight());
+		assertEquals(GHOSTS, level.getNpcs().size());
+		assertEquals(reachable(maze) - GHOSTS - 1, level.remainingPellets());
+	}
+
+	/**
+	 * Generated mazes are never remembered by a template cache.
+	 */
+	@Test
+	public void notCached() {
+		PacManSprites sprites = new PacManSprites();
+		GhostFactory ghosts = new CustomGhostFactory(sprites, true);
+		LevelAssembler assembler = new LevelAssembler(new DrivenLevelFactory(sprites, ghosts),
+				new CompactBoardFactory(sprites), ghosts);
+		LevelTemplateCache cache = new LevelTemplateCache();
+		MazeGenerator maze = new MazeGenerator(WIDTH, HEIGHT, SEED);
+
+		assertEquals(WIDTH, cache.load(maze, assembler).getBoard().getWidth());
+		assertFalse(cache.contains(maze));
+		assertEquals(0, cache.size());
+	}
+
+	/**
+	 * Mazes smaller than a single room are rejected.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void tooSmall() {
+		new MazeGenerator(2, HEIGHT, SEED);
+	}
+
+	/**
+	 * @param maze	a maze
+	 * @return The number of open squares that can be reached from the start.
+	 */
+	private static int reachable(MazeGenerator maze) {
+		boolean[][] seen = new boolean[WIDTH][HEIGHT];
+		Deque<int[]> queue = new ArrayDeque<int[]>();
+		queue.add(new int[] {1, 1});
+		seen[1][1] = true;
+		int count = 0;
+		int[][] steps = {{0, 1}, {1, 0}, {0, -1}, {-1, 0}};
+		while (!queue.isEmpty()) {
+			int[] cell = queue.poll();
+			count++;
+			for (int[] step : steps) {
+				int x = cell[0] + step[0];
+				int y = cell[1] + step[1];
+				if (!seen[x][y] && maze.charAt(x, y) != '#') {
+					seen[x][y] = true;
+					queue.add(new int[] {x, y});
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @param maze	a maze
+	 * @return The maze as text.
+	 */
+	private static String render(MazeGenerator maze) {
+		StringBuilder text = new StringBuilder();
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				text.append(maze.charAt(x, y));
+			}
+			text.append('\n');
+		}
+		return text.toString();
+	}
+}
@@ -0,0 +1,74 @@
+package nl.tudelft.jpacman.group25.level;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.util.Arrays;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.group25.board.CompactBoardFactory;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * This class tests telling listeners about the moves on a driven level,
+ * which is what decides the squares the UI repaints.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MoveListenerTest {
+	private DrivenLevel level;
+	private Board board;
+	private Player player;
+
+	@Mock private MoveListener listener;
+
+	/**
+	 * Creates a level with a player next to a pellet, and a listener.
+	 */
+	@Before
+	public void setUp() {
+		PacManSprites sprites = new PacManSprites();
+		GhostFactory ghosts = new GhostFactory(sprites);
+		LevelAssembler assembler = new LevelAssembler(
+				new DrivenLevelFactory(sprites, ghosts),
+				new CompactBoardFactory(sprites), ghosts);
+		level = (DrivenLevel) assembler.parseMap(Arrays.asList("#P. #"));
+		board = level.getBoard();
+		player = new PlayerFactory(sprites).createPacMan();
+		level.addMoveListener(listener);
+	}
+
+	/**
+	 * Placing the player and moving it are both reported.
+	 */
+	@Test
+	public void registerAndMove() {
+		level.registerPlayer(player);
+		level.start();
+		level.move(player, Direction.EAST);
+
+		verify(listener).unitMoved(player, null, null, board.squareAt(1, 0));
+		verify(listener).unitMoved(player, Direction.EAST, board.squareAt(1, 0),
+				board.squareAt(2, 0));
+	}
+
+	/**
+	 * A removed listener is told nothing.
+	 */
+	@Test
+	public void removed() {
+		level.removeMoveListener(listener);
+		level.registerPlayer(player);
+
+		verifyNoMoreInteractions(listener);
+	}
+}
@@ -0,0 +1,96 @@
+package nl.tudelft.jpacman.group25.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.Level;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * This class tests submitting moves from several threads and applying
+ * them from one.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MoveQueueTest {
+	private static final int THREADS = 8;
+	private static final int MOVES = 1000;
+	private static final long TIMEOUT = 10L;
+
+	private MoveQueue queue;
+
+	@Mock private Level level;
+	@Mock private Unit unit;
+
+	/**
+	 * Sets up an empty queue.
+	 */
+	@Before
+	public void setUp() {
+		queue = new MoveQueue();
+	}
+
+	/**
+	 * Moves are applied once each, in the order they were submitted.
+	 */
+	@Test
+	public void applyInOrder() {
+		queue.submit(unit, Direction.EAST);
+		queue.submit(unit, Direction.NORTH);
+
+		assertEquals(2, queue.apply(level));
+		assertEquals(0, queue.apply(level));
+		InOrder order = inOrder(level);
+		order.verify(level).move(unit, Direction.EAST);
+		order.verify(level).move(unit, Direction.NORTH);
+	}
+
+	/**
+	 * No move is lost when many threads submit at the same time.
+	 * @throws InterruptedException when interrupted while waiting for the threads.
+	 */
+	@Test
+	public void concurrentSubmit() throws InterruptedException {
+		ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+		for (int t = 0; t < THREADS; t++) {
+			threads.execute(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = 0; i < MOVES; i++) {
+						queue.submit(unit, Direction.WEST);
+					}
+				}
+			});
+		}
+		threads.shutdown();
+		threads.awaitTermination(TIMEOUT, TimeUnit.SECONDS);
+
+		assertEquals(THREADS * MOVES, queue.size());
+		assertEquals(THREADS * MOVES, queue.apply(level));
+		verify(level, times(THREADS * MOVES)).move(unit, Direction.WEST);
+	}
+
+	/**
+	 * Cleared moves are never applied.
+	 */
+	@Test
+	public void clear() {
+		queue.submit(unit, Direction.SOUTH);
+		queue.clear();
+
+		assertEquals(0, queue.apply(level));
+	}
+}
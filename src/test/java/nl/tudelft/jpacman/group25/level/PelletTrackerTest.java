@@ -0,0 +1,130 @@
+package nl.tudelft.jpacman.group25.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.group25.board.CompactBoardFactory;
+import nl.tudelft.jpacman.group25.board.OccupancyIndex;
+import nl.tudelft.jpacman.group25.board.SightIndex;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests counting the pellets of a driven level as they are eaten,
+ * on compact boards and on regular boards.
+ */
+public class PelletTrackerTest {
+	private static final int PELLET_VALUE = 10;
+	private static final int PELLETS = 3;
+
+	private PacManSprites sprites;
+	private GhostFactory ghosts;
+
+	/**
+	 * Sets up the sprites and ghosts of the levels.
+	 */
+	@Before
+	public void setUp() {
+		sprites = new PacManSprites();
+		ghosts = new GhostFactory(sprites);
+	}
+
+	/**
+	 * Pellets absorbed by compact ground are counted and eaten like units.
+	 */
+	@Test
+	public void compactBoard() {
+		playLevel(new CompactBoardFactory(sprites));
+	}
+
+	/**
+	 * Regular pellets are counted and eaten.
+	 */
+	@Test
+	public void regularBoard() {
+		playLevel(new BoardFactory(sprites));
+	}
+
+	/**
+	 * Restoring a snapshot puts back the pellets on a compact board and keeps
+	 * the indices built before up to date.
+	 */
+	@Test
+	public void restoreCompactBoard() {
+		restoreLevel(new CompactBoardFactory(sprites));
+	}
+
+	/**
+	 * Restoring a snapshot puts back the pellets on a regular board and keeps
+	 * the indices built before up to date.
+	 */
+	@Test
+	public void restoreRegularBoard() {
+		restoreLevel(new BoardFactory(sprites));
+	}
+
+	/**
+	 * Lets a player eat a pellet and checks the count and the points.
+	 * @param boardFactory	the factory of the board
+	 */
+	private void playLevel(BoardFactory boardFactory) {
+		LevelAssembler assembler = new LevelAssembler(
+				new DrivenLevelFactory(sprites, ghosts), boardFactory, ghosts);
+		DrivenLevel level = (DrivenLevel) assembler.parseMap(Arrays.asList("#P...#"));
+		Player player = new PlayerFactory(sprites).createPacMan();
+		level.registerPlayer(player);
+		level.start();
+		assertEquals(PELLETS, level.remainingPellets());
+
+		level.move(player, Direction.EAST);
+		level.move(player, Direction.WEST);
+
+		assertEquals(PELLETS - 1, level.remainingPellets());
+		assertEquals(PELLET_VALUE, level.getPointsEaten());
+		assertEquals(PELLET_VALUE, player.getScore());
+	}
+
+	/**
+	 * Lets a player eat a pellet, restores the level from before and checks
+	 * the pellets and the indices.
+	 * @param boardFactory	the factory of the board
+	 */
+	private void restoreLevel(BoardFactory boardFactory) {
+		LevelAssembler assembler = new LevelAssembler(
+				new DrivenLevelFactory(sprites, ghosts), boardFactory, ghosts);
+		DrivenLevel level = (DrivenLevel) assembler.parseMap(Arrays.asList("#P...#"));
+		Player player = new PlayerFactory(sprites).createPacMan();
+		level.registerPlayer(player);
+		level.start();
+		Square start = player.getSquare();
+		Square pellet = start.getSquareAt(Direction.EAST);
+		OccupancyIndex occupancy = level.getOccupancy();
+		SightIndex sight = level.getSightIndex();
+		LevelSnapshot snapshot = level.snapshot();
+
+		level.move(player, Direction.EAST);
+		assertFalse(occupancy.holds(pellet, Pellet.class));
+		level.restore(snapshot);
+
+		assertEquals(PELLETS, level.remainingPellets());
+		assertSame(occupancy, level.getOccupancy());
+		assertSame(sight, level.getSightIndex());
+		assertTrue(occupancy.holds(pellet, Pellet.class));
+		assertTrue(occupancy.holds(start, Player.class));
+		assertFalse(occupancy.holds(pellet, Player.class));
+		assertEquals(1, sight.distanceTo(start, Direction.EAST, Pellet.class));
+	}
+}
@@ -0,0 +1,101 @@
+package nl.tudelft.jpacman.group25.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.npc.NPC;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * This class tests moving the NPCs of several levels on one shared scheduler.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SharedNpcSchedulerTest {
+	private static final long INTERVAL = 5L;
+	private static final long TIMEOUT = 2000L;
+	private static final int MOVES = 3;
+
+	private SharedNpcScheduler scheduler;
+
+	@Mock private DrivenLevel first;
+	@Mock private DrivenLevel second;
+	@Mock private NPC npc;
+
+	/**
+	 * Sets up a single-threaded scheduler and two levels sharing one NPC.
+	 */
+	@Before
+	public void setUp() {
+		scheduler = new SharedNpcScheduler(1);
+		when(npc.getInterval()).thenReturn(INTERVAL);
+		when(npc.nextMove()).thenReturn(Direction.EAST);
+		when(first.getNpcs()).thenReturn(Arrays.asList(npc));
+		when(second.getNpcs()).thenReturn(Arrays.asList(npc));
+	}
+
+	/**
+	 * Stops the levels that are still scheduled.
+	 */
+	@After
+	public void tearDown() {
+		scheduler.stop(first);
+		scheduler.stop(second);
+	}
+
+	/**
+	 * One thread keeps moving the NPCs of every started level.
+	 */
+	@Test
+	public void moveSeveralLevels() {
+		scheduler.start(first);
+		scheduler.start(second);
+
+		assertEquals(2, scheduler.getScheduledLevels());
+		verify(first, timeout(TIMEOUT).atLeast(MOVES)).move(npc, Direction.EAST);
+		verify(second, timeout(TIMEOUT).atLeast(MOVES)).move(npc, Direction.EAST);
+		verify(first, atLeast(1)).applySubmittedMoves();
+	}
+
+	/**
+	 * Submitted moves are made right away, even on a level without NPCs that
+	 * has nothing else to schedule.
+	 */
+	@Test
+	public void wakeOnSubmittedMoves() {
+		when(first.getNpcs()).thenReturn(Collections.<NPC>emptyList());
+		scheduler.start(first);
+		verify(first, timeout(TIMEOUT)).applySubmittedMoves();
+
+		scheduler.movesSubmitted(first);
+		verify(first, timeout(TIMEOUT).times(2)).applySubmittedMoves();
+	}
+
+	/**
+	 * A stopped level is no longer scheduled, starting it twice schedules it once.
+	 */
+	@Test
+	public void startTwiceStopOnce() {
+		scheduler.start(first);
+		scheduler.start(first);
+		assertTrue(scheduler.isScheduled(first));
+		assertEquals(1, scheduler.getScheduledLevels());
+
+		scheduler.stop(first);
+		assertFalse(scheduler.isScheduled(first));
+	}
+}
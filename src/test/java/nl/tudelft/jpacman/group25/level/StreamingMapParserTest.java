@@ -0,0 +1,148 @@
+package nl.tudelft.jpacman.group25.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import nl.tudelft.jpacman.PacmanConfigurationException;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.npc.NPC;
+import nl.tudelft.jpacman.npc.ghost.Ghost;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * This class tests the streaming map parser, reading from a channel
+ * and from a memory-mapped file.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class StreamingMapParserTest {
+	private static final String MAP = "P #\r\nG .\n";
+	private static final int GROUND = 5;
+
+	private StreamingMapParser parser;
+
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+
+	@Mock private LevelFactory levelCreator;
+	@Mock private BoardFactory boardCreator;
+	@Mock private GhostFactory ghostCreator;
+	@Mock private Ghost ghost;
+	@Mock private Pellet pellet;
+	@Mock private Square square;
+
+	@Captor private ArgumentCaptor<Square[][]> grid;
+	@Captor private ArgumentCaptor<List<Square>> starts;
+
+	/**
+	 * Sets up the parser and the mocked factories.
+	 */
+	@Before
+	public void setUp() {
+		parser = new StreamingMapParser(levelCreator, boardCreator, ghostCreator);
+
+		when(ghostCreator.createBlinky()).thenReturn(ghost);
+		when(levelCreator.createPellet()).thenReturn(pellet);
+		when(boardCreator.createGround()).thenReturn(square);
+		when(boardCreator.createWall()).thenReturn(square);
+	}
+
+	/**
+	 * Reading from a channel creates every square and unit of the map once.
+	 * @throws IOException never, the map is read from memory.
+	 */
+	@Test
+	public void readChannel() throws IOException {
+		parser.parseMap(channel(MAP));
+		verifyMap();
+	}
+
+	/**
+	 * Reading a memory-mapped file gives the same result as reading a channel.
+	 * @throws IOException when the temporary file cannot be written.
+	 */
+	@Test
+	public void readMappedFile() throws IOException {
+		File file = folder.newFile("map.txt");
+		Files.write(file.toPath(), MAP.getBytes(StandardCharsets.US_ASCII));
+		parser.parseMap(file.toPath());
+		verifyMap();
+	}
+
+	/**
+	 * A map with an unknown character is rejected.
+	 * @throws IOException never, the map is read from memory.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void invalidChar() throws IOException {
+		parser.parseMap(channel("C \n  \n"));
+	}
+
+	/**
+	 * A map with lines of different lengths is rejected.
+	 * @throws IOException never, the map is read from memory.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void invalidSize() throws IOException {
+		parser.parseMap(channel("  \n   \n"));
+	}
+
+	/**
+	 * An empty map is rejected.
+	 * @throws IOException never, the map is read from memory.
+	 */
+	@Test(expected = PacmanConfigurationException.class)
+	public void invalidEmpty() throws IOException {
+		parser.parseMap(channel(""));
+	}
+
+	/**
+	 * Checks that the parsed map was <code>P #</code> over <code>G .</code>.
+	 */
+	private void verifyMap() {
+		verify(boardCreator, times(GROUND)).createGround();
+		verify(boardCreator, times(1)).createWall();
+		verify(ghostCreator, times(1)).createBlinky();
+		verify(levelCreator, times(1)).createPellet();
+		verify(boardCreator).createBoard(grid.capture());
+		verify(levelCreator).createLevel(any(Board.class), anyListOf(NPC.class),
+				starts.capture());
+		assertEquals(3, grid.getValue().length);
+		assertEquals(2, grid.getValue()[0].length);
+		assertEquals(1, starts.getValue().size());
+	}
+
+	/**
+	 * @param map	the text of a map
+	 * @return A channel reading the map.
+	 */
+	private static ReadableByteChannel channel(String map) {
+		return Channels.newChannel(
+				new ByteArrayInputStream(map.getBytes(StandardCharsets.US_ASCII)));
+	}
+}
@@ -0,0 +1,78 @@
+package nl.tudelft.jpacman.group25.level;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.level.Player;
+import nl.tudelft.jpacman.npc.ghost.Ghost;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * This class tests looking up collision handlers by the classes of the units.
+ * The mocks are subclasses of the registered classes, so every lookup goes
+ * through the search for the closest registered pair.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TypeIndexedCollisionsTest {
+	private static final int PELLET_VALUE = 10;
+
+	private TypeIndexedCollisions collisions;
+
+	@Mock private Player player;
+	@Mock private Ghost ghost;
+	@Mock private Pellet pellet;
+
+	/**
+	 * Sets up the player collision rules.
+	 */
+	@Before
+	public void setUp() {
+		collisions = TypeIndexedCollisions.playerCollisions();
+		when(pellet.getValue()).thenReturn(PELLET_VALUE);
+	}
+
+	/**
+	 * A player moving onto a ghost dies.
+	 */
+	@Test
+	public void playerOntoGhost() {
+		collisions.collide(player, ghost);
+		verify(player).setAlive(false);
+	}
+
+	/**
+	 * A ghost moving onto a player kills the player too.
+	 */
+	@Test
+	public void ghostOntoPlayer() {
+		collisions.collide(ghost, player);
+		verify(player).setAlive(false);
+	}
+
+	/**
+	 * A player eats the pellet it moves onto, also when asked twice.
+	 */
+	@Test
+	public void playerOntoPellet() {
+		collisions.collide(player, pellet);
+		collisions.collide(player, pellet);
+		verify(player, times(2)).addPoints(PELLET_VALUE);
+	}
+
+	/**
+	 * Nothing happens when a ghost moves onto a pellet.
+	 */
+	@Test
+	public void ghostOntoPellet() {
+		collisions.collide(ghost, pellet);
+		verifyZeroInteractions(pellet);
+	}
+}
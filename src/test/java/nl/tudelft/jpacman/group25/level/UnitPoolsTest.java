@@ -0,0 +1,115 @@
+package nl.tudelft.jpacman.group25.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.group25.board.CompactBoardFactory;
+import nl.tudelft.jpacman.group25.npc.ghost.CustomGhostFactory;
+import nl.tudelft.jpacman.group25.npc.ghost.RoutedBlinky;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * This class tests the pools of reusable units, and recycling levels into them.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class UnitPoolsTest {
+	private static final int CAPACITY = 1;
+	private static final List<String> MAP = Arrays.asList("#GP.#");
+
+	@Mock private Pellet pellet;
+	@Mock private Pellet otherPellet;
+	@Mock private Square square;
+	@Mock private Sprite sprite;
+	@Mock private Sprite otherSprite;
+
+	/**
+	 * An empty pool has nothing to give.
+	 */
+	@Test
+	public void emptyPool() {
+		assertNull(new UnitPools(CAPACITY).acquire(Pellet.class));
+	}
+
+	/**
+	 * A released unit is taken off its square and given out again.
+	 */
+	@Test
+	public void reuseReleased() {
+		UnitPools pools = new UnitPools(CAPACITY);
+		when(pellet.getSquare()).thenReturn(square);
+
+		assertTrue(pools.release(pellet));
+
+		verify(pellet).leaveSquare();
+		assertEquals(1, pools.size(pellet.getClass()));
+		assertSame(pellet, pools.acquire(pellet.getClass()));
+		assertEquals(0, pools.size(pellet.getClass()));
+	}
+
+	/**
+	 * A full pool does not keep any more units.
+	 */
+	@Test
+	public void boundedPool() {
+		UnitPools pools = new UnitPools(CAPACITY);
+		assertTrue(pools.release(pellet));
+		assertFalse(pools.release(otherPellet));
+		assertEquals(CAPACITY, pools.size(pellet.getClass()));
+	}
+
+	/**
+	 * Pooled units are only given out for the sprites they were made with.
+	 */
+	@Test
+	public void separateSprites() {
+		UnitPools pools = new UnitPools(CAPACITY);
+		CompactPellet compact = new CompactPellet(CompactLevelFactory.PELLET_VALUE, sprite);
+		assertTrue(pools.release(compact));
+
+		assertNull(pools.acquire(CompactPellet.class, otherSprite));
+		assertSame(compact, pools.acquire(CompactPellet.class, sprite));
+	}
+
+	/**
+	 * A compact board keeps no pellet units, a recycled level gives its
+	 * Blinky back, and the next level takes it from the pools.
+	 */
+	@Test
+	public void recycleLevel() {
+		PacManSprites sprites = new PacManSprites();
+		UnitPools pools = new UnitPools(CAPACITY);
+		MapParser parser = new MapParser(
+				new DrivenLevelFactory(sprites, new CustomGhostFactory(sprites, true, pools),
+						null, pools),
+				new CompactBoardFactory(sprites));
+		DrivenLevel level = (DrivenLevel) parser.parseMap(MAP);
+		RoutedBlinky blinky = (RoutedBlinky) level.getNpcs().get(0);
+		assertEquals(1, pools.size(CompactPellet.class));
+
+		assertTrue(level.recycle());
+		assertFalse(level.recycle());
+		level.start();
+
+		assertFalse(level.isInProgress());
+		assertEquals(1, pools.size(RoutedBlinky.class));
+		DrivenLevel next = (DrivenLevel) parser.parseMap(MAP);
+		assertSame(blinky, next.getNpcs().get(0));
+	}
+}
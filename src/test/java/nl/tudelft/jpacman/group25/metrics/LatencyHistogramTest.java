@@ -0,0 +1,79 @@
+package nl.tudelft.jpacman.group25.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests recording durations and reading percentiles from them.
+ */
+public class LatencyHistogramTest {
+	private static final int SAMPLES = 1000;
+	private static final double MEDIAN = 50.0;
+	private static final double ALL = 100.0;
+	private static final double PRECISION = 1.0 / LatencyHistogram.SUB_BUCKETS;
+
+	private LatencyHistogram histogram;
+
+	/**
+	 * Enables metrics and creates an empty histogram.
+	 */
+	@Before
+	public void setUp() {
+		GameMetrics.setEnabled(true);
+		histogram = new LatencyHistogram("test");
+	}
+
+	/**
+	 * Disables metrics again.
+	 */
+	@After
+	public void tearDown() {
+		GameMetrics.setEnabled(false);
+	}
+
+	/**
+	 * Percentiles are within the precision of the buckets.
+	 */
+	@Test
+	public void percentiles() {
+		for (int i = 1; i <= SAMPLES; i++) {
+			histogram.record(i * SAMPLES);
+		}
+		long median = histogram.getPercentile(MEDIAN);
+		long expected = SAMPLES * SAMPLES / 2;
+
+		assertEquals(SAMPLES, histogram.getCount());
+		assertEquals((long) SAMPLES * SAMPLES, histogram.getPercentile(ALL));
+		assertTrue(median >= expected);
+		assertTrue(median <= expected * (1 + PRECISION));
+	}
+
+	/**
+	 * Every bucket starts right after the one before it.
+	 */
+	@Test
+	public void bucketsAreContiguous() {
+		for (long value = 0; value < SAMPLES * SAMPLES; value++) {
+			int bucket = LatencyHistogram.bucketOf(value);
+			assertTrue(value <= LatencyHistogram.highestOf(bucket));
+			assertTrue(bucket == 0 || value > LatencyHistogram.highestOf(bucket - 1));
+		}
+	}
+
+	/**
+	 * Nothing is recorded while metrics are disabled.
+	 */
+	@Test
+	public void disabled() {
+		GameMetrics.setEnabled(false);
+		histogram.recordSince(GameMetrics.startTimer());
+		histogram.record(SAMPLES);
+
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, GameMetrics.startTimer());
+	}
+}
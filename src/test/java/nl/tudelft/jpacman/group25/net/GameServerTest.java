@@ -0,0 +1,146 @@
+package nl.tudelft.jpacman.group25.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.group25.level.GridMapSource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests the game server with clients on the loopback interface.
+ * The map of every level is <code>#P.#</code>.
+ */
+public class GameServerTest {
+	private static final long TICK_PERIOD = 5L;
+	private static final int MAX_FRAMES = 1000;
+	private static final int PELLET_VALUE = 10;
+	private static final int START_CELL = 1;
+	private static final int PELLET_CELL = 2;
+	private static final int WIDTH = 4;
+
+	private GameServer server;
+	private InetSocketAddress address;
+
+	/**
+	 * Starts a server on a free port of the loopback interface.
+	 * @throws IOException when the server cannot be started.
+	 */
+	@Before
+	public void setUp() throws IOException {
+		server = new GameServer(new GridMapSource("#P.#"), TICK_PERIOD);
+		address = server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+		server.start();
+	}
+
+	/**
+	 * Stops the server.
+	 */
+	@After
+	public void tearDown() {
+		server.close();
+	}
+
+	/**
+	 * A client learns its level from the server, sees its player eat the
+	 * pellet after moving, and is sent the next level.
+	 * @throws IOException when the connection breaks.
+	 */
+	@Test
+	public void playLevel() throws IOException {
+		try (GameClient client = new GameClient(address)) {
+			client.join();
+			assertEquals(Protocol.LEVEL, client.readFrame());
+			assertEquals(0, client.getLevelIndex());
+			assertEquals(WIDTH, client.getWidth());
+			assertTrue(client.isWall(0));
+			assertTrue(client.isWall(WIDTH - 1));
+			assertTrue(client.hasPellet(PELLET_CELL));
+			assertEquals(Protocol.DELTA, client.readFrame());
+			assertEquals(START_CELL, client.getUnitCell(0));
+			assertTrue(client.isInProgress());
+
+			client.move(Direction.EAST);
+			readUntilLevel(client, 1);
+
+			assertEquals(PELLET_VALUE, client.getScore());
+			assertTrue(client.isAlive());
+			assertTrue(client.hasPellet(PELLET_CELL));
+		}
+	}
+
+	/**
+	 * Every client gets a game of its own.
+	 * @throws IOException when the connection breaks.
+	 */
+	@Test
+	public void gamePerClient() throws IOException {
+		try (GameClient first = new GameClient(address);
+				GameClient second = new GameClient(address)) {
+			first.join();
+			second.join();
+			first.readFrame();
+			second.readFrame();
+
+			assertNotEquals(first.getGameId(), second.getGameId());
+			assertEquals(2, server.getSessionCount());
+		}
+	}
+
+	/**
+	 * A client that leaves has its session ended.
+	 * @throws IOException when the connection breaks.
+	 * @throws InterruptedException when the test is interrupted.
+	 */
+	@Test
+	public void leave() throws IOException, InterruptedException {
+		try (GameClient client = new GameClient(address)) {
+			client.join();
+			client.readFrame();
+		}
+		for (int i = 0; i < MAX_FRAMES && server.getSessionCount() > 0; i++) {
+			Thread.sleep(TICK_PERIOD);
+		}
+		assertEquals(0, server.getSessionCount());
+	}
+
+	/**
+	 * A client that resets its connection right after connecting does not
+	 * stop the server from serving others.
+	 * @throws IOException when the connection breaks.
+	 */
+	@Test
+	public void resetClient() throws IOException {
+		try (Socket reset = new Socket(address.getAddress(), address.getPort())) {
+			reset.setSoLinger(true, 0);
+		}
+		try (GameClient client = new GameClient(address)) {
+			client.join();
+			assertEquals(Protocol.LEVEL, client.readFrame());
+			assertEquals(0, client.getLevelIndex());
+		}
+	}
+
+	/**
+	 * Reads frames until a level starts.
+	 * @param client	the client to read with
+	 * @param level		the number of the level
+	 * @throws IOException when the connection breaks.
+	 */
+	private static void readUntilLevel(GameClient client, int level) throws IOException {
+		for (int i = 0; i < MAX_FRAMES && client.getLevelIndex() != level; i++) {
+			client.readFrame();
+		}
+		assertEquals(level, client.getLevelIndex());
+		assertEquals(1, client.getRemainingPellets());
+	}
+}
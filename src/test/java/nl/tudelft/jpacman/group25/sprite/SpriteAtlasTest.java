@@ -0,0 +1,94 @@
+package nl.tudelft.jpacman.group25.sprite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import nl.tudelft.jpacman.sprite.ImageSprite;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class tests packing sprites into an atlas and drawing them scaled.
+ */
+public class SpriteAtlasTest {
+	private static final int SIZE = 2;
+	private static final int SCALE = 4;
+
+	private SpriteAtlas atlas;
+	private Sprite red;
+	private Sprite blue;
+
+	/**
+	 * Packs a red and a blue sprite into a new atlas.
+	 */
+	@Before
+	public void setUp() {
+		atlas = new SpriteAtlas();
+		red = atlas.add(new ImageSprite(square(Color.RED)));
+		blue = atlas.add(new ImageSprite(square(Color.BLUE)));
+	}
+
+	/**
+	 * Sprites keep their size and their own pixels, also when scaled.
+	 */
+	@Test
+	public void drawScaled() {
+		BufferedImage target = new BufferedImage(SIZE * SCALE * 2, SIZE * SCALE,
+				BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = target.createGraphics();
+		red.draw(g, 0, 0, SIZE * SCALE, SIZE * SCALE);
+		blue.draw(g, SIZE * SCALE, 0, SIZE * SCALE, SIZE * SCALE);
+		g.dispose();
+
+		assertEquals(SIZE, red.getWidth());
+		assertEquals(Color.RED.getRGB(), target.getRGB(SIZE * SCALE - 1, SIZE * SCALE - 1));
+		assertEquals(Color.BLUE.getRGB(), target.getRGB(SIZE * SCALE, 0));
+	}
+
+	/**
+	 * The atlas is scaled once per size, however many sprites are drawn at it.
+	 */
+	@Test
+	public void scaleOnce() {
+		BufferedImage target = new BufferedImage(SIZE * SCALE, SIZE * SCALE,
+				BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = target.createGraphics();
+		for (int i = 0; i < SCALE; i++) {
+			red.draw(g, 0, 0, SIZE * SCALE, SIZE * SCALE);
+			blue.draw(g, 0, 0, SIZE * SCALE, SIZE * SCALE);
+		}
+		g.dispose();
+
+		assertEquals(1, atlas.getScaledVariants());
+	}
+
+	/**
+	 * Splitting a sprite gives a region of the same atlas.
+	 */
+	@Test
+	public void split() {
+		Sprite half = red.split(0, 0, 1, SIZE);
+		assertTrue(half instanceof AtlasSprite);
+		assertEquals(1, half.getWidth());
+		assertEquals(0, red.split(SIZE, 0, 1, 1).getWidth());
+	}
+
+	/**
+	 * @param color	a color
+	 * @return A small image filled with the color.
+	 */
+	private static BufferedImage square(Color color) {
+		BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		g.setColor(color);
+		g.fillRect(0, 0, SIZE, SIZE);
+		g.dispose();
+		return image;
+	}
+}